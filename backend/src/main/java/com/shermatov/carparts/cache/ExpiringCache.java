@@ -0,0 +1,161 @@
+package com.shermatov.carparts.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Small bounded map with a time-to-live per entry.
+ *
+ * <p>Reads are a single {@link ConcurrentHashMap} lookup plus a reference mark. When the
+ * map is full, one writer frees a batch of about a tenth of the capacity in a single
+ * pass: expired entries go first, then entries not read since the previous pass (a
+ * second-chance clock), so hot entries survive and the scan cost is amortised over the
+ * following puts. Concurrent misses for the same key may both load; the last writer
+ * wins.</p>
+ */
+public class ExpiringCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final int evictionBatch;
+    private final long ttlNanos;
+    private final Object evictionLock = new Object();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ExpiringCache(int maxEntries, Duration ttl) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.evictionBatch = Math.max(1, maxEntries / 10);
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || entry.isExpired(System.nanoTime())) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        entry.markReferenced();
+        return entry.value();
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, ttlNanos);
+    }
+
+    /**
+     * Stores the value for at most {@code ttl}, capped by the cache-wide time-to-live.
+     * Useful for values that carry their own expiry.
+     */
+    public void put(K key, V value, Duration ttl) {
+        put(key, value, Math.min(ttl.toNanos(), ttlNanos));
+    }
+
+    private void put(K key, V value, long entryTtlNanos) {
+        if (entryTtlNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            evictBatch(now);
+        }
+        entries.put(key, new Entry<>(value, now + entryTtlNanos));
+    }
+
+    public void evict(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    private void evictBatch(long now) {
+        synchronized (evictionLock) {
+            // Another writer may have made room while this one waited
+            if (entries.size() < maxEntries) {
+                return;
+            }
+            int target = maxEntries - evictionBatch;
+            // The first pass drops expired entries and gives referenced ones a second chance;
+            // the second only runs if everything left was read since the last batch
+            for (int pass = 0; pass < 2 && entries.size() > target; pass++) {
+                Iterator<Entry<V>> it = entries.values().iterator();
+                while (it.hasNext()) {
+                    Entry<V> entry = it.next();
+                    if (entry.isExpired(now)) {
+                        it.remove();
+                    } else if (entries.size() > target && !entry.clearReferenced()) {
+                        it.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long expiresAtNanos;
+        private volatile boolean referenced;
+
+        Entry(V value, long expiresAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        V value() {
+            return value;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+
+        void markReferenced() {
+            // Skip the write when already set so hot entries do not bounce a cache line
+            if (!referenced) {
+                referenced = true;
+            }
+        }
+
+        // Returns whether the entry had been read since the last clear
+        boolean clearReferenced() {
+            boolean was = referenced;
+            referenced = false;
+            return was;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.shermatov.carparts.cache;
+
+import com.shermatov.carparts.domain.User;
+import com.shermatov.carparts.security.AuthenticatedUser;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Authenticated users by email, so the JWT filter does not hit the database on every request.
+ *
+ * <p>Entries are immutable {@link AuthenticatedUser} snapshots, never the entity, so concurrent
+ * requests share nothing mutable. Writes that change what a principal may do (profile and role
+ * updates, deletion, password reset) evict the user, again after their transaction commits; a
+ * load that overlapped an eviction is served but not kept, so a row read before the write
+ * cannot be cached past it. The short TTL bounds anything else. Hits and misses are published
+ * as {@code cache.gets{cache=principals}}.</p>
+ */
+@Component
+public class PrincipalCache {
+
+    private static final String CACHE_NAME = "principals";
+
+    private final ExpiringCache<String, AuthenticatedUser> cache;
+    private final AtomicLong evictions = new AtomicLong();
+
+    public PrincipalCache(@Value("${app.security.principal-cache.max-entries:10000}") int maxEntries,
+                          @Value("${app.security.principal-cache.ttl:60s}") Duration ttl,
+                          MeterRegistry meterRegistry) {
+        this.cache = new ExpiringCache<>(maxEntries, ttl);
+
+        FunctionCounter.builder("cache.gets", cache, ExpiringCache::hitCount)
+                .tag("cache", CACHE_NAME).tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", cache, ExpiringCache::missCount)
+                .tag("cache", CACHE_NAME).tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", cache, ExpiringCache::size)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached principal, loading it on a miss. Users the loader cannot find are
+     * not remembered.
+     */
+    public AuthenticatedUser get(String email, Function<String, User> loader) {
+        AuthenticatedUser cached = cache.get(email);
+        if (cached != null) {
+            return cached;
+        }
+        long evictionsBefore = evictions.get();
+        User user = loader.apply(email);
+        if (user == null) {
+            return null;
+        }
+        AuthenticatedUser principal = AuthenticatedUser.of(user);
+        if (evictions.get() == evictionsBefore) {
+            cache.put(email, principal);
+        }
+        return principal;
+    }
+
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        evictNow(email);
+        // Inside a transaction the write is not visible yet, so a load racing it could re-cache the old row
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(email);
+                }
+            });
+        }
+    }
+
+    private void evictNow(String email) {
+        evictions.incrementAndGet();
+        cache.evict(email);
+    }
+
+    public long hitCount() {
+        return cache.hitCount();
+    }
+
+    public long missCount() {
+        return cache.missCount();
+    }
+}
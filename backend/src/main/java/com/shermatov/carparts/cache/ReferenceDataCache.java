@@ -0,0 +1,158 @@
+package com.shermatov.carparts.cache;
+
+import com.shermatov.carparts.domain.Base.BaseEntity;
+import com.shermatov.carparts.domain.Brand;
+import com.shermatov.carparts.domain.Category;
+import com.shermatov.carparts.repository.BrandRepository;
+import com.shermatov.carparts.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-mostly snapshot of the brand and category dictionaries.
+ *
+ * <p>Each refresh reads both tables and publishes a new immutable {@link Snapshot}
+ * through a single volatile write, so lookups never lock and never see a half-built
+ * state. The brand and category write paths refresh it after every change; the
+ * scheduled refresh picks up changes made by other instances.</p>
+ *
+ * <p>Cached entities are detached and shared between threads: treat them as
+ * read-only and use {@code getReferenceById} when an association is needed.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataCache {
+
+    private final BrandRepository brandRepository;
+    private final CategoryRepository categoryRepository;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.reference-data.refresh-ms:300000}",
+            initialDelayString = "${app.reference-data.refresh-ms:300000}")
+    public synchronized void refresh() {
+        // Serialised so an older read can never overwrite a newer snapshot
+        Dictionary<Brand> brands = index(brandRepository.findAll(), Brand::getName);
+        Dictionary<Category> categories = index(categoryRepository.findAll(), Category::getName);
+        snapshot = new Snapshot(brands, categories,
+                31 * fingerprint(brands.sorted(), Brand::getName) + fingerprint(categories.sorted(), Category::getName));
+    }
+
+    /**
+     * Changes whenever a brand or category is added, renamed or removed; part of the
+     * ETag of responses that embed their names.
+     */
+    public long fingerprint() {
+        return snapshot.fingerprint();
+    }
+
+    public Optional<Brand> findBrand(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(snapshot.brands().byId().get(id));
+    }
+
+    public Optional<Category> findCategory(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(snapshot.categories().byId().get(id));
+    }
+
+    /**
+     * Like {@link #findBrand}, but a brand that is missing from the snapshot and present in
+     * the database, e.g. one just created on another instance, refreshes the snapshot first.
+     */
+    public Optional<Brand> resolveBrand(Long id) {
+        Optional<Brand> brand = findBrand(id);
+        if (brand.isEmpty() && id != null && brandRepository.existsById(id)) {
+            refresh();
+            brand = findBrand(id);
+        }
+        return brand;
+    }
+
+    /**
+     * Like {@link #findCategory}, refreshing the snapshot first when the category exists in the
+     * database but not yet here.
+     */
+    public Optional<Category> resolveCategory(Long id) {
+        Optional<Category> category = findCategory(id);
+        if (category.isEmpty() && id != null && categoryRepository.existsById(id)) {
+            refresh();
+            category = findCategory(id);
+        }
+        return category;
+    }
+
+    public Optional<Long> findBrandId(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(snapshot.brands().idByName().get(key(name)));
+    }
+
+    public Optional<Long> findCategoryId(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(snapshot.categories().idByName().get(key(name)));
+    }
+
+    public String brandName(Long id) {
+        return findBrand(id).map(Brand::getName).orElse(null);
+    }
+
+    public String categoryName(Long id) {
+        return findCategory(id).map(Category::getName).orElse(null);
+    }
+
+    public Set<Long> brandIds() {
+        return snapshot.brands().byId().keySet();
+    }
+
+    public Set<Long> categoryIds() {
+        return snapshot.categories().byId().keySet();
+    }
+
+    public List<Brand> brands() {
+        return snapshot.brands().sorted();
+    }
+
+    public List<Category> categories() {
+        return snapshot.categories().sorted();
+    }
+
+    // Names differing only in case are rejected by the schema; should any remain, the oldest wins
+    private static <T extends BaseEntity> Dictionary<T> index(List<T> entities, Function<T, String> name) {
+        return new Dictionary<>(
+                Map.copyOf(entities.stream().collect(Collectors.toMap(BaseEntity::getId, Function.identity()))),
+                Map.copyOf(entities.stream().collect(Collectors.toMap(e -> key(name.apply(e)), BaseEntity::getId, Math::min))),
+                entities.stream().sorted(Comparator.comparing(name)).toList());
+    }
+
+    private static <T extends BaseEntity> long fingerprint(List<T> entities, Function<T, String> name) {
+        long hash = 17;
+        for (T entity : entities) {
+            hash = 31 * hash + entity.getId();
+            hash = 31 * hash + name.apply(entity).hashCode();
+        }
+        return hash;
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Dictionary<T>(Map<Long, T> byId, Map<String, Long> idByName, List<T> sorted) {
+    }
+
+    private record Snapshot(Dictionary<Brand> brands, Dictionary<Category> categories, long fingerprint) {
+        static final Snapshot EMPTY = new Snapshot(
+                new Dictionary<>(Map.of(), Map.of(), List.of()),
+                new Dictionary<>(Map.of(), Map.of(), List.of()),
+                0);
+    }
+}
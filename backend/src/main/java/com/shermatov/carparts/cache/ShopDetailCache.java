@@ -0,0 +1,52 @@
+package com.shermatov.carparts.cache;
+
+import com.shermatov.carparts.dto.response.ShopDetailResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Per-shop cache of the shop detail together with its first product page.
+ *
+ * <p>Shop, product and stock writes evict the affected shop once their transaction commits, so a
+ * concurrent read cannot cache the pre-commit state for a full TTL. The reservation expiry sweep
+ * touches arbitrary shops and clears the whole cache instead.</p>
+ */
+@Component
+public class ShopDetailCache {
+
+    private final ExpiringCache<Long, ShopDetailResponse> cache;
+
+    public ShopDetailCache(@Value("${app.shops.detail-cache.max-entries:1000}") int maxEntries,
+                           @Value("${app.shops.detail-cache.ttl:30s}") Duration ttl) {
+        this.cache = new ExpiringCache<>(maxEntries, ttl);
+    }
+
+    public ShopDetailResponse get(Long shopId, Function<Long, ShopDetailResponse> loader) {
+        return cache.get(shopId, loader);
+    }
+
+    public void evict(Long shopId) {
+        if (shopId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(shopId);
+                }
+            });
+        } else {
+            cache.evict(shopId);
+        }
+    }
+
+    public void evictAll() {
+        cache.clear();
+    }
+}
@@ -0,0 +1,23 @@
+package com.shermatov.carparts.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    // Shop deletions are long and IO-bound; a small pool keeps them from crowding out requests.
+    // Jobs that do not fit the queue stay PENDING and are picked up by the resume sweep.
+    @Bean(name = "shopDeletionExecutor")
+    public ThreadPoolTaskExecutor shopDeletionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("shop-deletion-");
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
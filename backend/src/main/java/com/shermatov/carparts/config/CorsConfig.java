@@ -88,6 +88,9 @@ public class CorsConfig {
         // Allow all headers (including Authorization for JWT)
         configuration.setAllowedHeaders(List.of("*"));
 
+        // Let browser clients read validators for conditional GETs
+        configuration.setExposedHeaders(List.of("ETag", "Last-Modified"));
+
         // Allow credentials (cookies, authorization headers)
         // This is required for JWT authentication with Authorization header
         configuration.setAllowCredentials(true);
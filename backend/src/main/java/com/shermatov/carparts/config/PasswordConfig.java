@@ -1,5 +1,8 @@
 package com.shermatov.carparts.config;
 
+import com.shermatov.carparts.security.PasswordHashingPool;
+import com.shermatov.carparts.security.PooledPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -8,8 +11,10 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 public class PasswordConfig {
 
+    // Raising the strength re-hashes existing passwords at their owner's next login
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingPool passwordHashingPool,
+                                           @Value("${app.security.bcrypt-strength:10}") int strength){
+        return new PooledPasswordEncoder(new BCryptPasswordEncoder(strength), passwordHashingPool);
     }
 }
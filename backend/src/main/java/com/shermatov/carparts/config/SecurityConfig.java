@@ -5,6 +5,7 @@ import com.shermatov.carparts.security.JwtAuthenticationFilter;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -95,6 +96,8 @@ public class SecurityConfig {
                            ======================= */
                         .requestMatchers(
                                 "/api/auth/login",
+                                "/api/auth/refresh",
+                                "/api/auth/logout",
                                 "/api/auth/register",
                                 "/api/auth/forgot-password",
                                 "/api/auth/reset-password",
@@ -108,11 +111,27 @@ public class SecurityConfig {
                         .requestMatchers(
                                 "/api/users",
                                 "/api/users/search",
+                                "/api/users/list",
+                                "/api/users/bulk",
+                                "/api/users/tokens/revoke",
                                 "/api/users/admins-only",
                                 "/api/users/{email}",
                                 "/api/users/users-only"
                         ).hasRole("ADMIN")
 
+                        /* =======================
+                           REFERENCE DATA ENDPOINTS
+                           ======================= */
+                        .requestMatchers(
+                                HttpMethod.GET,
+                                "/api/brands/**",
+                                "/api/categories/**"
+                        ).hasAnyRole("USER", "ADMIN")
+                        .requestMatchers(
+                                "/api/brands/**",
+                                "/api/categories/**"
+                        ).hasRole("ADMIN")
+
                         /* =======================
                            SHOP ENDPOINTS
                            ======================= */
@@ -2,6 +2,8 @@ package com.shermatov.carparts.controller;
 
 import com.shermatov.carparts.dto.request.ForgotPasswordRequest;
 import com.shermatov.carparts.dto.request.LoginRequestDto;
+import com.shermatov.carparts.dto.request.LogoutRequest;
+import com.shermatov.carparts.dto.request.RefreshTokenRequest;
 import com.shermatov.carparts.dto.request.RegisterRequest;
 import com.shermatov.carparts.dto.request.ResetPasswordRequest;
 import com.shermatov.carparts.dto.response.LoginResponseDto;
@@ -9,8 +11,11 @@ import com.shermatov.carparts.dto.response.MessageResponse;
 import com.shermatov.carparts.dto.response.UserResponse;
 import com.shermatov.carparts.service.AuthService;
 import com.shermatov.carparts.service.PasswordResetService;
+import com.shermatov.carparts.service.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,6 +27,7 @@ public class AuthController {
 
     private final AuthService authService;
     private final PasswordResetService passwordResetService;
+    private final TokenRevocationService tokenRevocationService;
 
     @PostMapping("/register")
     public ResponseEntity<UserResponse> register(
@@ -35,15 +41,34 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponseDto> login(@Valid @RequestBody LoginRequestDto loginRequestDto)
+    public ResponseEntity<LoginResponseDto> login(@Valid @RequestBody LoginRequestDto loginRequestDto,
+                                                  HttpServletRequest httpRequest)
     {
-        LoginResponseDto response = authService.login(loginRequestDto);
+        LoginResponseDto response = authService.login(loginRequestDto, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponseDto> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
+    // Public like the rest of /api/auth, so an already expired session can still log out
+    @PostMapping("/logout")
+    public ResponseEntity<MessageResponse> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) LogoutRequest request) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7) : null;
+        tokenRevocationService.logout(accessToken, request != null ? request.refreshToken() : null);
+        return ResponseEntity.ok(new MessageResponse("Logged out."));
+    }
+
     @PostMapping("/forgot-password")
-    public ResponseEntity<MessageResponse> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request){
-        passwordResetService.forgotPassword(request.email());
+    public ResponseEntity<MessageResponse> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request,
+                                                          HttpServletRequest httpRequest){
+        // Behind a proxy, set server.forward-headers-strategy so this is the real client address
+        passwordResetService.forgotPassword(request.email(), httpRequest.getRemoteAddr());
         return ResponseEntity.ok(new MessageResponse("Password reset link will be sent in few minutes."));
     }
 
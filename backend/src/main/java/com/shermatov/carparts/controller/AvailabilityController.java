@@ -0,0 +1,32 @@
+package com.shermatov.carparts.controller;
+
+import com.shermatov.carparts.dto.response.PartAvailabilityResponse;
+import com.shermatov.carparts.index.AvailabilitySort;
+import com.shermatov.carparts.index.PartAvailabilityIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/products/availability")
+@RequiredArgsConstructor
+public class AvailabilityController {
+
+    private static final int MAX_OFFERS = 50;
+
+    private final PartAvailabilityIndex partAvailabilityIndex;
+
+    // Shops that have a part in stock, cheapest or closest first, served from memory
+    @GetMapping
+    public ResponseEntity<List<PartAvailabilityResponse>> findAvailability(
+            @RequestParam String part,
+            @RequestParam(defaultValue = "price") String sort,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(partAvailabilityIndex.findOffers(
+                part, AvailabilitySort.fromParam(sort), lat, lon, Math.min(limit, MAX_OFFERS)));
+    }
+}
@@ -0,0 +1,55 @@
+package com.shermatov.carparts.controller;
+
+import com.shermatov.carparts.dto.request.BrandRequest;
+import com.shermatov.carparts.dto.response.BrandResponse;
+import com.shermatov.carparts.service.BrandService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/brands")
+@RequiredArgsConstructor
+public class BrandController {
+
+    private final BrandService brandService;
+
+    // Create a brand
+    @PostMapping
+    public ResponseEntity<BrandResponse> createBrand(@Valid @RequestBody BrandRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(brandService.createBrand(request));
+    }
+
+    // Rename a brand
+    @PutMapping("/{brandId}")
+    public ResponseEntity<BrandResponse> updateBrand(
+            @PathVariable Long brandId,
+            @Valid @RequestBody BrandRequest request) {
+        return ResponseEntity.ok(brandService.updateBrand(brandId, request));
+    }
+
+    // Get all brands, served from the reference-data cache
+    @GetMapping
+    public ResponseEntity<List<BrandResponse>> getAllBrands() {
+        return ResponseEntity.ok(brandService.getAllBrands());
+    }
+
+    // Get a brand by id
+    @GetMapping("/{brandId}")
+    public ResponseEntity<BrandResponse> getBrandById(@PathVariable Long brandId) {
+        return ResponseEntity.ok(brandService.getBrandById(brandId));
+    }
+
+    // Delete a brand that no product uses
+    @DeleteMapping("/{brandId}")
+    public ResponseEntity<Void> deleteBrand(@PathVariable Long brandId) {
+        brandService.deleteBrand(brandId);
+        return ResponseEntity.noContent().build();
+    }
+}
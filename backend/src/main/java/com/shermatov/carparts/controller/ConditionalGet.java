@@ -0,0 +1,55 @@
+package com.shermatov.carparts.controller;
+
+import com.shermatov.carparts.repository.projection.ResourceVersion;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.ZoneId;
+
+/**
+ * ETag / Last-Modified handling for read endpoints.
+ *
+ * <p>Controllers look up a {@link ResourceVersion} first and return {@code null} when
+ * this reports "not modified": Spring then answers 304 before the body is loaded,
+ * mapped or serialized.</p>
+ */
+final class ConditionalGet {
+
+    // Clients may keep the response but must revalidate it before every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * @param salt extra state the representation depends on, such as embedded reference data
+     */
+    static boolean isNotModified(ServletWebRequest request, ResourceVersion version, long salt) {
+        if (version == null) {
+            return false;
+        }
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            // Set before Spring Security's default no-store headers get a chance to apply
+            response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE.getHeaderValue());
+        }
+        return request.checkNotModified(etag(version, salt), lastModifiedMillis(version));
+    }
+
+    static String etag(ResourceVersion version, long salt) {
+        long modified = version.lastModified() == null
+                ? 0
+                : version.lastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() * 1000
+                        + version.lastModified().getNano() / 1000 % 1000;
+        long count = version.count() == null ? 0 : version.count();
+        return "W/\"" + Long.toHexString(modified) + '-' + Long.toHexString(count) + '-' + Long.toHexString(salt) + '"';
+    }
+
+    private static long lastModifiedMillis(ResourceVersion version) {
+        return version.lastModified() == null
+                ? -1
+                : version.lastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
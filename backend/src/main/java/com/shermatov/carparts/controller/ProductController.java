@@ -1,23 +1,59 @@
 package com.shermatov.carparts.controller;
 
+import com.shermatov.carparts.dto.request.ProductFilter;
 import com.shermatov.carparts.dto.request.ProductRequest;
+import com.shermatov.carparts.dto.response.CursorPageResponse;
+import com.shermatov.carparts.dto.response.FacetedProductResponse;
+import com.shermatov.carparts.dto.response.ProductImportResponse;
 import com.shermatov.carparts.dto.response.ProductResponse;
+import com.shermatov.carparts.dto.response.ProductSuggestion;
+import com.shermatov.carparts.cache.ReferenceDataCache;
+import com.shermatov.carparts.exception.BadRequestException;
+import com.shermatov.carparts.index.ProductNameIndex;
+import com.shermatov.carparts.pagination.ProductSortKey;
+import com.shermatov.carparts.service.ProductExportService;
+import com.shermatov.carparts.service.ProductImportService;
 import com.shermatov.carparts.service.ProductService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int MAX_SUGGESTIONS = 20;
+
     private final ProductService productService;
+    private final ProductExportService productExportService;
+    private final ProductImportService productImportService;
+    private final ProductNameIndex productNameIndex;
+    private final ReferenceDataCache referenceDataCache;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService,
+                             ProductExportService productExportService,
+                             ProductImportService productImportService,
+                             ProductNameIndex productNameIndex,
+                             ReferenceDataCache referenceDataCache) {
         this.productService = productService;
+        this.productExportService = productExportService;
+        this.productImportService = productImportService;
+        this.productNameIndex = productNameIndex;
+        this.referenceDataCache = referenceDataCache;
     }
 
     // Create a product for a shop
@@ -28,6 +64,15 @@ public class ProductController {
         return ResponseEntity.ok(productService.createProduct(shopId, request));
     }
 
+    // Bulk import a CSV file or JSON array of products into a shop
+    @PostMapping(value = "/shop/{shopId}/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ProductImportResponse> importProducts(
+            @PathVariable Long shopId,
+            HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(productImportService.importProducts(
+                shopId, MediaType.parseMediaType(request.getContentType()), request.getInputStream()));
+    }
+
     // Update a product
     @PutMapping("/{productId}")
     public ResponseEntity<ProductResponse> updateProduct(
@@ -49,15 +94,75 @@ public class ProductController {
         return ResponseEntity.ok(productService.getAllProducts());
     }
 
+    // Get a catalog page using an opaque keyset cursor
+    @GetMapping("/catalog")
+    public ResponseEntity<CursorPageResponse<ProductResponse>> getCatalogPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction) {
+        return ResponseEntity.ok(productService.getCatalogPage(
+                cursor, size, ProductSortKey.fromParam(sort), parseDirection(direction)));
+    }
+
+    private static Sort.Direction parseDirection(String direction) {
+        return Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new BadRequestException("Unsupported sort direction: " + direction));
+    }
+
+    // Full-text search over product name and description, ranked by relevance
+    @GetMapping("/search")
+    public ResponseEntity<Page<ProductResponse>> searchProducts(
+            @RequestParam String q,
+            @RequestParam(required = false) Long shopId,
+            Pageable pageable) {
+        return ResponseEntity.ok(productService.searchProducts(q, shopId, pageable));
+    }
+
+    // Filter by brand, category, price range and stock, with facet counts for the matching set
+    @GetMapping("/filter")
+    public ResponseEntity<FacetedProductResponse> filterProducts(
+            @Valid ProductFilter filter,
+            Pageable pageable) {
+        return ResponseEntity.ok(productService.filterProducts(filter, pageable));
+    }
+
+    // Autocomplete part names from the in-memory index (no database access)
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestion>> suggestProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productNameIndex.suggest(q, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
+    // Stream the whole catalog as NDJSON, one product per line
+    @GetMapping(value = "/export", produces = NDJSON)
+    public void exportProducts(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        productExportService.exportCatalog(response.getOutputStream());
+    }
+
     // Get products by shop
     @GetMapping("/shop/{shopId}")
-    public ResponseEntity<List<ProductResponse>> getProductsByShop(@PathVariable Long shopId) {
+    public ResponseEntity<List<ProductResponse>> getProductsByShop(@PathVariable Long shopId,
+                                                                   ServletWebRequest request) {
+        // Brand and category names are part of the body, so their version is part of the ETag
+        if (ConditionalGet.isNotModified(request, productService.getShopProductsVersion(shopId),
+                referenceDataCache.fingerprint())) {
+            return null;
+        }
         return ResponseEntity.ok(productService.getProductsByShop(shopId));
     }
 
     @GetMapping("/{productId}")
     public ResponseEntity<ProductResponse> getProductById(
-            @PathVariable Long productId) {
+            @PathVariable Long productId,
+            ServletWebRequest request) {
+        if (ConditionalGet.isNotModified(request, productService.getProductVersion(productId),
+                referenceDataCache.fingerprint())) {
+            return null;
+        }
         return ResponseEntity.ok(productService.getProductById(productId));
     }
 }
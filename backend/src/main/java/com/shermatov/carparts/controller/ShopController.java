@@ -1,11 +1,17 @@
 package com.shermatov.carparts.controller;
 
 import com.shermatov.carparts.dto.request.ShopRequest;
+import com.shermatov.carparts.dto.response.NearbyShopResponse;
+import com.shermatov.carparts.dto.response.ShopDeletionResponse;
+import com.shermatov.carparts.dto.response.ShopDetailResponse;
 import com.shermatov.carparts.dto.response.ShopResponse;
+import com.shermatov.carparts.index.ShopSpatialIndex;
 import com.shermatov.carparts.service.ShopService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -14,11 +20,14 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ShopController {
 
+    private static final int MAX_NEAREST = 50;
+
     private final ShopService shopService;
+    private final ShopSpatialIndex shopSpatialIndex;
 
     // Create a shop
     @PostMapping
-    public ResponseEntity<ShopResponse> createShop(@RequestBody ShopRequest request) {
+    public ResponseEntity<ShopResponse> createShop(@Valid @RequestBody ShopRequest request) {
         return ResponseEntity.ok(shopService.createShop(request));
     }
 
@@ -26,24 +35,52 @@ public class ShopController {
     @PutMapping("/{shopId}")
     public ResponseEntity<ShopResponse> updateShop(
             @PathVariable Long shopId,
-            @RequestBody ShopRequest request) {
+            @Valid @RequestBody ShopRequest request) {
         return ResponseEntity.ok(shopService.updateShop(shopId, request));
     }
 
     // Get all shops
     @GetMapping
-    public ResponseEntity<List<ShopResponse>> getAllShops() {
+    public ResponseEntity<List<ShopResponse>> getAllShops(ServletWebRequest request) {
+        if (ConditionalGet.isNotModified(request, shopService.getShopsVersion(), 0)) {
+            return null;
+        }
         return ResponseEntity.ok(shopService.getAllShops());
     }
 
+    // Get a shop, optionally with its first page of products in the same response
+    @GetMapping("/{shopId:\\d+}")
+    public ResponseEntity<ShopDetailResponse> getShopById(
+            @PathVariable Long shopId,
+            @RequestParam(defaultValue = "false") boolean includeProducts,
+            @RequestParam(defaultValue = "20") int productLimit) {
+        return ResponseEntity.ok(shopService.getShopById(shopId, includeProducts, productLimit));
+    }
+
+    // Get the shops closest to a point, answered from the in-memory spatial index
+    @GetMapping("/nearest")
+    public ResponseEntity<List<NearbyShopResponse>> getNearestShops(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(shopSpatialIndex.nearest(lat, lon, Math.min(limit, MAX_NEAREST)));
+    }
+
     // Get shops of current user
     @GetMapping("/my")
     public ResponseEntity<List<ShopResponse>> getMyShops() {
         return ResponseEntity.ok(shopService.getMyShops());
     }
+
+    // Delete a shop: it is hidden at once and its products are removed in the background
     @DeleteMapping("{shopId}")
-    public ResponseEntity<ShopResponse> deleteShop(@PathVariable Long shopId) {
-        shopService.deleteShop(shopId);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<ShopDeletionResponse> deleteShop(@PathVariable Long shopId) {
+        return ResponseEntity.accepted().body(shopService.deleteShop(shopId));
+    }
+
+    // Get the progress of a shop deletion
+    @GetMapping("/{shopId:\\d+}/deletion")
+    public ResponseEntity<ShopDeletionResponse> getShopDeletion(@PathVariable Long shopId) {
+        return ResponseEntity.ok(shopService.getShopDeletion(shopId));
     }
 }
@@ -0,0 +1,49 @@
+package com.shermatov.carparts.controller;
+
+import com.shermatov.carparts.dto.request.ReservationRequest;
+import com.shermatov.carparts.dto.request.StockUpdateRequest;
+import com.shermatov.carparts.dto.response.ReservationResponse;
+import com.shermatov.carparts.dto.response.StockUpdateResponse;
+import com.shermatov.carparts.service.StockService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/products/stock")
+@RequiredArgsConstructor
+public class StockController {
+
+    private final StockService stockService;
+
+    // Apply absolute quantities or deltas to many products at once
+    @PatchMapping
+    public ResponseEntity<StockUpdateResponse> updateStock(@Valid @RequestBody List<@Valid StockUpdateRequest> updates) {
+        return ResponseEntity.ok(stockService.updateStock(updates));
+    }
+
+    // Hold units of a product for the current user; they return to stock on release or expiry
+    @PostMapping("/reservations")
+    public ResponseEntity<ReservationResponse> reserve(@Valid @RequestBody ReservationRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(stockService.reserve(request));
+    }
+
+    // Turn a reservation into a sale; the units stay off stock
+    @PostMapping("/reservations/{reservationId}/confirm")
+    public ResponseEntity<ReservationResponse> confirm(@PathVariable Long reservationId) {
+        return ResponseEntity.ok(stockService.confirm(reservationId));
+    }
+
+    // Give the reserved units back to stock
+    @DeleteMapping("/reservations/{reservationId}")
+    public ResponseEntity<Void> release(@PathVariable Long reservationId) {
+        stockService.release(reservationId);
+        return ResponseEntity.noContent().build();
+    }
+}
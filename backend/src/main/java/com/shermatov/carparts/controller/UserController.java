@@ -1,9 +1,15 @@
 package com.shermatov.carparts.controller;
 
+import com.shermatov.carparts.domain.Role;
 import com.shermatov.carparts.domain.User;
+import com.shermatov.carparts.dto.request.RevokeTokenRequest;
 import com.shermatov.carparts.dto.request.UserCreateRequestDto;
 import com.shermatov.carparts.dto.request.UserUpdateRequestDto;
+import com.shermatov.carparts.dto.response.BulkUserCreateResponse;
 import com.shermatov.carparts.dto.response.UserResponseDto;
+import com.shermatov.carparts.dto.response.UserSliceResponse;
+import com.shermatov.carparts.service.TokenRevocationService;
+import com.shermatov.carparts.service.UserProvisioningService;
 import com.shermatov.carparts.service.UserService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
@@ -14,12 +20,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.util.List;
 
 @RestController
 @RequestMapping("api/users")
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final UserProvisioningService userProvisioningService;
+    private final TokenRevocationService tokenRevocationService;
 
     @GetMapping("/search")
     public Page<User> searchUsers(@RequestParam String query, Pageable pageable) {
@@ -39,6 +48,16 @@ public class UserController {
         return userService.getUsers(pageable);
     }
 
+    // Lean admin listing: displayed columns only, keyset pages, no COUNT(*)
+    @GetMapping("/list")
+    public ResponseEntity<UserSliceResponse> listUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Role role,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        return ResponseEntity.ok(userService.listUsers(cursor, size, role, withTotal));
+    }
+
     @GetMapping("/users-only")
     public Page<User> getUsersOnly(Pageable pageable) {
         return userService.getUsersOnly(pageable);
@@ -57,6 +76,19 @@ public class UserController {
         return ResponseEntity.created(location).body(response);
     }
 
+    // Create up to 1000 users in one call; each entry gets its own result
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkUserCreateResponse> createUsers(@RequestBody List<UserCreateRequestDto> requests) {
+        return ResponseEntity.ok(userProvisioningService.createUsers(requests));
+    }
+
+    // Blocks one access token (by its jti) before it expires, on every instance
+    @PostMapping("/tokens/revoke")
+    public ResponseEntity<Void> revokeToken(@RequestBody @Valid RevokeTokenRequest request) {
+        tokenRevocationService.revoke(request.tokenId());
+        return ResponseEntity.ok().build();
+    }
+
     @PutMapping("/{email}")
     public ResponseEntity<UserResponseDto> updateUser(@PathVariable @Valid String email,
                                                       @RequestBody @Valid UserUpdateRequestDto request) {
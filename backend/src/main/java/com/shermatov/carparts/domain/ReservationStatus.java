@@ -0,0 +1,8 @@
+package com.shermatov.carparts.domain;
+
+public enum ReservationStatus {
+    ACTIVE,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
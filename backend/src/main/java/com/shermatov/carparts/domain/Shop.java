@@ -31,6 +31,10 @@ public class Shop extends BaseEntity {
     @Column(length = 500)
     private String description;
 
+    private Double latitude;
+
+    private Double longitude;
+
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", nullable = false, unique = true)
     private User owner;
@@ -0,0 +1,37 @@
+package com.shermatov.carparts.domain;
+
+import com.shermatov.carparts.domain.Base.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "shop_deletions")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+// Tracks the background removal of a shop's products; the shop itself is already hidden.
+public class ShopDeletion extends BaseEntity {
+
+    @Column(name = "shop_id", nullable = false, unique = true)
+    private Long shopId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ShopDeletionStatus status;
+
+    @Column(name = "total_products", nullable = false)
+    private Long totalProducts;
+
+    @Column(name = "deleted_products", nullable = false)
+    private Long deletedProducts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
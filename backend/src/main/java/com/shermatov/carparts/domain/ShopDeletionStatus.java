@@ -0,0 +1,8 @@
+package com.shermatov.carparts.domain;
+
+public enum ShopDeletionStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -32,7 +32,8 @@ public class User extends BaseEntity implements UserDetails {
         return List.of(new SimpleGrantedAuthority("ROLE_" + this.role.name()));
     }
 
-    @Column (unique = true, nullable = false)
+    // Unique among live users only (partial index), see V19
+    @Column (nullable = false)
     private String email;
 
     @Column (nullable = false)
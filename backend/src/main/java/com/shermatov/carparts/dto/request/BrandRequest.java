@@ -0,0 +1,13 @@
+package com.shermatov.carparts.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class BrandRequest {
+
+    @NotBlank(message = "Brand name is required")
+    @Size(max = 100)
+    private String name;
+}
@@ -0,0 +1,5 @@
+package com.shermatov.carparts.dto.request;
+
+public record LogoutRequest
+        (String refreshToken)
+{}
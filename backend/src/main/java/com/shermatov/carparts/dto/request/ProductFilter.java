@@ -0,0 +1,12 @@
+package com.shermatov.carparts.dto.request;
+
+import jakarta.validation.constraints.PositiveOrZero;
+
+public record ProductFilter(
+        Long brandId,
+        Long categoryId,
+        @PositiveOrZero Double minPrice,
+        @PositiveOrZero Double maxPrice,
+        Boolean inStock
+) {
+}
@@ -0,0 +1,8 @@
+package com.shermatov.carparts.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequest
+        (@NotBlank
+         String refreshToken)
+{}
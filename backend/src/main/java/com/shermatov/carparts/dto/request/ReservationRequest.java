@@ -0,0 +1,10 @@
+package com.shermatov.carparts.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record ReservationRequest(
+        @NotNull Long productId,
+        @NotNull @Positive Integer quantity
+) {
+}
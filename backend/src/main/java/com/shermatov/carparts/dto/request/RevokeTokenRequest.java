@@ -0,0 +1,10 @@
+package com.shermatov.carparts.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record RevokeTokenRequest
+        (@NotNull
+         UUID tokenId)
+{}
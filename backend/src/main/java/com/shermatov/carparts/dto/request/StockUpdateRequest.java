@@ -0,0 +1,22 @@
+package com.shermatov.carparts.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * Stock change for one product: either an absolute {@code quantity} or a relative {@code delta}.
+ */
+public record StockUpdateRequest(
+        @NotNull Long productId,
+        @PositiveOrZero Integer quantity,
+        Integer delta
+) {
+
+    @JsonIgnore
+    @AssertTrue(message = "exactly one of quantity or delta is required")
+    public boolean isQuantityOrDelta() {
+        return (quantity == null) != (delta == null);
+    }
+}
@@ -0,0 +1,12 @@
+package com.shermatov.carparts.dto.response;
+
+import java.util.List;
+
+public record BulkUserCreateResponse(
+        int received,
+        int created,
+        int failed,
+        List<BulkUserResult> results,
+        long durationMillis
+) {
+}
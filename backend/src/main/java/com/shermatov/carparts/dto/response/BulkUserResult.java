@@ -0,0 +1,8 @@
+package com.shermatov.carparts.dto.response;
+
+/**
+ * Outcome for one entry of a bulk user request; {@code id} is set when the user was
+ * created, {@code error} otherwise.
+ */
+public record BulkUserResult(int index, String email, Long id, String error) {
+}
@@ -0,0 +1,12 @@
+package com.shermatov.carparts.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CategoryResponse {
+
+    private Long id;
+    private String name;
+}
@@ -0,0 +1,6 @@
+package com.shermatov.carparts.dto.response;
+
+import java.util.List;
+
+public record CursorPageResponse<T>(List<T> items, String nextCursor, boolean hasNext) {
+}
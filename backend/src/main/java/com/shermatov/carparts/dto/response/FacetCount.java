@@ -0,0 +1,4 @@
+package com.shermatov.carparts.dto.response;
+
+public record FacetCount(Long id, String name, long count) {
+}
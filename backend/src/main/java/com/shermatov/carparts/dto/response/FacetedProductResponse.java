@@ -0,0 +1,13 @@
+package com.shermatov.carparts.dto.response;
+
+import java.util.List;
+
+public record FacetedProductResponse(
+        List<ProductResponse> items,
+        long totalElements,
+        int page,
+        int size,
+        List<FacetCount> brands,
+        List<FacetCount> categories
+) {
+}
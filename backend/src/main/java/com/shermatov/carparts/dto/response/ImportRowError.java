@@ -0,0 +1,4 @@
+package com.shermatov.carparts.dto.response;
+
+public record ImportRowError(long row, String message) {
+}
@@ -9,4 +9,5 @@ import lombok.Getter;
 public class LoginResponseDto
 {
     private String token;   // JWT token returned to the client
+    private String refreshToken;   // Opaque, single-use token for POST /api/auth/refresh
 }
@@ -0,0 +1,11 @@
+package com.shermatov.carparts.dto.response;
+
+public record NearbyShopResponse(
+        Long id,
+        String name,
+        String address,
+        double latitude,
+        double longitude,
+        double distanceKm
+) {
+}
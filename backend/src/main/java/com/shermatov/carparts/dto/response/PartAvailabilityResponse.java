@@ -0,0 +1,10 @@
+package com.shermatov.carparts.dto.response;
+
+public record PartAvailabilityResponse(
+        Long productId,
+        Long shopId,
+        double price,
+        int quantity,
+        Double distanceKm
+) {
+}
@@ -0,0 +1,18 @@
+package com.shermatov.carparts.dto.response;
+
+import java.time.LocalDateTime;
+
+public record ProductExportRow(
+        Long id,
+        String name,
+        String description,
+        Double price,
+        Integer quantity,
+        Long shopId,
+        Long brandId,
+        String brandName,
+        Long categoryId,
+        String categoryName,
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,14 @@
+package com.shermatov.carparts.dto.response;
+
+import java.util.List;
+
+public record ProductImportResponse(
+        long received,
+        long imported,
+        long failed,
+        List<ImportRowError> errors,
+        boolean errorsTruncated,
+        long durationMillis,
+        long rowsPerSecond
+) {
+}
@@ -1,12 +1,8 @@
 package com.shermatov.carparts.dto.response;
 
-import com.shermatov.carparts.domain.Brand;
-import com.shermatov.carparts.domain.Category;
 import lombok.Builder;
 import lombok.Data;
 
-import java.time.LocalDateTime;
-
 @Data
 @Builder
 public class ProductResponse {
@@ -16,6 +12,8 @@ public class ProductResponse {
     private String description;
     private Double price;
     private Integer quantity;
-    private Category category;
-    private Brand brand;
+    private Long brandId;
+    private String brandName;
+    private Long categoryId;
+    private String categoryName;
 }
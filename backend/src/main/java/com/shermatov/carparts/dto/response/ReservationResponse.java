@@ -0,0 +1,14 @@
+package com.shermatov.carparts.dto.response;
+
+import com.shermatov.carparts.domain.ReservationStatus;
+
+import java.time.LocalDateTime;
+
+public record ReservationResponse(
+        Long id,
+        Long productId,
+        Integer quantity,
+        ReservationStatus status,
+        LocalDateTime expiresAt
+) {
+}
@@ -0,0 +1,16 @@
+package com.shermatov.carparts.dto.response;
+
+import com.shermatov.carparts.domain.ShopDeletionStatus;
+
+import java.time.LocalDateTime;
+
+public record ShopDeletionResponse(
+        Long shopId,
+        ShopDeletionStatus status,
+        Long totalProducts,
+        Long deletedProducts,
+        LocalDateTime startedAt,
+        LocalDateTime completedAt,
+        String lastError
+) {
+}
@@ -0,0 +1,23 @@
+package com.shermatov.carparts.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder(toBuilder = true)
+public class ShopDetailResponse {
+
+    private Long id;
+    private String name;
+    private String address;
+    private String phone;
+    private String description;
+    private Double latitude;
+    private Double longitude;
+
+    // Only present when the first product page was requested
+    private List<ProductResponse> products;
+    private Boolean hasMoreProducts;
+}
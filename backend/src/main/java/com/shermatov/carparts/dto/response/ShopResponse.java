@@ -14,4 +14,6 @@ public class ShopResponse {
     private String address;
     private String phone;
     private String description;
+    private Double latitude;
+    private Double longitude;
 }
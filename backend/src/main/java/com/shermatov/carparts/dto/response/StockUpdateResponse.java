@@ -0,0 +1,10 @@
+package com.shermatov.carparts.dto.response;
+
+import java.util.List;
+
+/**
+ * @param updated  new quantities of the products that were changed
+ * @param rejected products that do not exist or would have gone below zero
+ */
+public record StockUpdateResponse(List<StockLevel> updated, List<Long> rejected) {
+}
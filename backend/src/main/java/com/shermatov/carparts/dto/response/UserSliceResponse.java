@@ -0,0 +1,12 @@
+package com.shermatov.carparts.dto.response;
+
+import com.shermatov.carparts.repository.projection.UserListRow;
+
+import java.util.List;
+
+/**
+ * A keyset page of users. {@code approximateTotal} is only filled in when asked for and
+ * comes from PostgreSQL statistics, so it is an estimate, not a count.
+ */
+public record UserSliceResponse(List<UserListRow> items, String nextCursor, boolean hasNext, Long approximateTotal) {
+}
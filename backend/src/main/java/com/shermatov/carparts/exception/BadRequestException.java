@@ -0,0 +1,10 @@
+package com.shermatov.carparts.exception;
+
+/**
+ * The request itself is invalid; the message is safe to show to the client.
+ */
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
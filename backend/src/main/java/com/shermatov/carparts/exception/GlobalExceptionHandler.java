@@ -2,14 +2,17 @@ package com.shermatov.carparts.exception;
 
 import com.shermatov.carparts.dto.response.ErrorResponseDto;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.time.LocalDateTime;
 import java.util.stream.Collectors;
@@ -32,13 +35,17 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler({UserAlreadyExistsException.class,
                       EmailAlreadyUsedException.class,
-                      DuplicateBoardTitleException.class})
+                      DuplicateBoardTitleException.class,
+                      InsufficientStockException.class,
+                      ReservationNotActiveException.class,
+                      ReferenceDataConflictException.class})
     public ResponseEntity<?> handleConflict(RuntimeException ex) {
         ErrorResponseDto error = createResponse(ex, HttpStatus.CONFLICT.value());
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
-    @ExceptionHandler({BadCredentialsException.class, AuthenticationException.class})
+    @ExceptionHandler({BadCredentialsException.class, AuthenticationException.class,
+                       InvalidRefreshTokenException.class})
     public ResponseEntity<?> handleAuthenticationException(Exception ex) {
         ErrorResponseDto error = createResponse(ex, HttpStatus.UNAUTHORIZED.value());
         return new ResponseEntity<>(error, HttpStatus.UNAUTHORIZED);
@@ -66,6 +73,25 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    // Raised instead of MethodArgumentNotValidException when @Valid applies to list elements
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<?> handleHandlerMethodValidation(HandlerMethodValidationException ex) {
+        String errorMessage = ex.getParameterValidationResults()
+                .stream()
+                .flatMap(result -> result.getResolvableErrors().stream()
+                        .map(err -> (result.getContainerIndex() != null ? "[" + result.getContainerIndex() + "]." : "")
+                                + (err instanceof FieldError field ? field.getField() + ": " : "")
+                                + err.getDefaultMessage()))
+                .collect(Collectors.joining(", "));
+
+        ErrorResponseDto error = new ErrorResponseDto(
+                LocalDateTime.now(),
+                errorMessage,
+                HttpStatus.BAD_REQUEST.value()
+        );
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ErrorResponseDto> handleConstraintViolation(ConstraintViolationException ex) {
 
@@ -103,6 +129,29 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler({InvalidCursorException.class,
+                       BadRequestException.class})
+    public ResponseEntity<ErrorResponseDto> handleBadRequest(RuntimeException ex){
+        ErrorResponseDto error = createResponse(ex, HttpStatus.BAD_REQUEST.value());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ErrorResponseDto> handleServiceBusy(ServiceBusyException ex){
+        ErrorResponseDto error = createResponse(ex, HttpStatus.SERVICE_UNAVAILABLE.value());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponseDto> handleTooManyRequests(TooManyRequestsException ex){
+        ErrorResponseDto error = createResponse(ex, HttpStatus.TOO_MANY_REQUESTS.value());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
     public ErrorResponseDto createResponse(Exception ex, int status) {
         return new ErrorResponseDto(
                 LocalDateTime.now(),
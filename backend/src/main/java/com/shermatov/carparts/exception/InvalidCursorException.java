@@ -0,0 +1,7 @@
+package com.shermatov.carparts.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException() {
+        super("Invalid or malformed page cursor.");
+    }
+}
@@ -0,0 +1,8 @@
+package com.shermatov.carparts.exception;
+
+public class ReferenceDataConflictException extends RuntimeException {
+
+    public ReferenceDataConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.shermatov.carparts.exception;
+
+public class ReservationNotActiveException extends RuntimeException {
+    public ReservationNotActiveException() {
+        super("Reservation is no longer active.");
+    }
+}
@@ -0,0 +1,17 @@
+package com.shermatov.carparts.exception;
+
+import lombok.Getter;
+
+/**
+ * A bounded resource is saturated; the client should retry after {@code retryAfterSeconds}.
+ */
+@Getter
+public class ServiceBusyException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public ServiceBusyException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
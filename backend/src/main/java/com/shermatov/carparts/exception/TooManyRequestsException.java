@@ -0,0 +1,17 @@
+package com.shermatov.carparts.exception;
+
+import lombok.Getter;
+
+/**
+ * The caller used up its allowance; it may try again after {@code retryAfterSeconds}.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public TooManyRequestsException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
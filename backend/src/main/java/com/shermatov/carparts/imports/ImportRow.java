@@ -0,0 +1,21 @@
+package com.shermatov.carparts.imports;
+
+import com.shermatov.carparts.dto.request.ProductRequest;
+
+/**
+ * One parsed line of an import file.
+ *
+ * @param rowNumber 1-based position of the row in the upload (header excluded)
+ * @param request   parsed product, or {@code null} when the row could not be parsed
+ * @param error     parse error, or {@code null} when the row was parsed
+ */
+public record ImportRow(long rowNumber, ProductRequest request, String error) {
+
+    public static ImportRow parsed(long rowNumber, ProductRequest request) {
+        return new ImportRow(rowNumber, request, null);
+    }
+
+    public static ImportRow failed(long rowNumber, String error) {
+        return new ImportRow(rowNumber, null, error);
+    }
+}
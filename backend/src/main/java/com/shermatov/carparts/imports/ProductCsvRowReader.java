@@ -0,0 +1,151 @@
+package com.shermatov.carparts.imports;
+
+import com.shermatov.carparts.dto.request.ProductRequest;
+import com.shermatov.carparts.exception.BadRequestException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads a CSV catalog line by line.
+ *
+ * <p>The first line is a header naming the columns ({@code name}, {@code description},
+ * {@code price}, {@code quantity}, {@code categoryId}, {@code brandId}) in any order.
+ * Fields may be quoted with {@code "} and quotes are escaped by doubling them;
+ * quoted fields spanning several lines are not supported.</p>
+ */
+public class ProductCsvRowReader implements ProductRowReader {
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long rowNumber;
+
+    public ProductCsvRowReader(InputStream in) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            throw new BadRequestException("CSV import is empty");
+        }
+        List<String> names = split(header.replace("\uFEFF", ""));
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("name", "price", "quantity")) {
+            if (!columns.containsKey(required)) {
+                throw new BadRequestException("CSV header is missing column: " + required);
+            }
+        }
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            rowNumber++;
+        } while (line.isBlank());
+
+        try {
+            List<String> fields = split(line);
+            ProductRequest request = new ProductRequest();
+            request.setName(field(fields, "name"));
+            request.setDescription(field(fields, "description"));
+            request.setPrice(toDouble(field(fields, "price")));
+            request.setQuantity(toInteger(field(fields, "quantity")));
+            request.setCategoryId(toLong(field(fields, "categoryid")));
+            request.setBrandId(toLong(field(fields, "brandid")));
+            return ImportRow.parsed(rowNumber, request);
+        } catch (IllegalArgumentException ex) {
+            return ImportRow.failed(rowNumber, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Double.valueOf also accepts NaN and Infinity, which no price can be
+    private static Double toDouble(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            double number = Double.parseDouble(value);
+            if (Double.isFinite(number)) {
+                return number;
+            }
+        } catch (NumberFormatException ex) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid number: " + value);
+    }
+
+    private static Integer toInteger(String value) {
+        try {
+            return value == null ? null : Integer.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid integer: " + value);
+        }
+    }
+
+    private static Long toLong(String value) {
+        try {
+            return value == null ? null : Long.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid id: " + value);
+        }
+    }
+
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,56 @@
+package com.shermatov.carparts.imports;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shermatov.carparts.dto.request.ProductRequest;
+import com.shermatov.carparts.exception.BadRequestException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a JSON array of {@link ProductRequest} objects element by element. Each element is
+ * buffered as a tree before binding, so only one product is held in memory at a time.
+ */
+public class ProductJsonRowReader implements ProductRowReader {
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private long rowNumber;
+
+    public ProductJsonRowReader(ObjectMapper objectMapper, InputStream in) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(in);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new BadRequestException("JSON import must be an array of products");
+        }
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        rowNumber++;
+
+        // Read the whole element first so a bad field cannot leave the parser inside the object
+        JsonNode element = objectMapper.readTree(parser);
+        if (!element.isObject()) {
+            return ImportRow.failed(rowNumber, "Expected a product object");
+        }
+        try {
+            return ImportRow.parsed(rowNumber, objectMapper.treeToValue(element, ProductRequest.class));
+        } catch (JsonProcessingException ex) {
+            return ImportRow.failed(rowNumber, "Malformed product: " + ex.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,15 @@
+package com.shermatov.carparts.imports;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pull-based reader over an uploaded catalog; only the current row is held in memory.
+ */
+public interface ProductRowReader extends Closeable {
+
+    /**
+     * @return the next row, or {@code null} at the end of the input
+     */
+    ImportRow next() throws IOException;
+}
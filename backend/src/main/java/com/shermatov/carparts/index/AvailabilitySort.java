@@ -0,0 +1,18 @@
+package com.shermatov.carparts.index;
+
+import com.shermatov.carparts.exception.BadRequestException;
+
+import java.util.Locale;
+
+public enum AvailabilitySort {
+    PRICE,
+    DISTANCE;
+
+    public static AvailabilitySort fromParam(String param) {
+        try {
+            return valueOf(param.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unsupported sort: " + param);
+        }
+    }
+}
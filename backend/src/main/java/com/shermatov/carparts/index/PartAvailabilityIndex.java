@@ -0,0 +1,236 @@
+package com.shermatov.carparts.index;
+
+import com.shermatov.carparts.dto.response.PartAvailabilityResponse;
+import com.shermatov.carparts.exception.BadRequestException;
+import com.shermatov.carparts.repository.PartAvailabilityRepository;
+import com.shermatov.carparts.repository.projection.PartAvailabilityRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory replica of the part_availability table: for each part key, the in-stock
+ * offers of every shop, kept sorted by price.
+ *
+ * <p>Each key maps to an immutable array that writers replace copy-on-write, so a
+ * cheapest-N lookup is one hash probe plus N array reads and never locks. Product writes
+ * in {@code ProductServiceImpl} update the replica right after commit; everything else
+ * (bulk stock updates, reservations, imports, shop deletion) reaches it through a poll of
+ * rows the table trigger touched since the last sync. The trigger stamps rows when they are
+ * written, not when they commit, so a transaction committing later than the sync overlap
+ * would be missed for good; a periodic full reload repairs that.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PartAvailabilityIndex {
+
+    // Rows committed by long transactions can carry a timestamp older than the watermark
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+    private static final Duration TOMBSTONE_RETENTION = Duration.ofHours(1);
+
+    private static final Comparator<Offer> BY_PRICE = Comparator
+            .comparingDouble(Offer::price)
+            .thenComparingLong(Offer::productId);
+
+    private final PartAvailabilityRepository partAvailabilityRepository;
+    private final ShopSpatialIndex shopSpatialIndex;
+
+    private volatile Replica replica = new Replica(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    private LocalDateTime watermark;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void load() {
+        // Take the watermark first so changes made while loading are replayed by the next sync
+        LocalDateTime latest = partAvailabilityRepository.findLatestUpdate();
+
+        Map<String, List<Offer>> grouped = new HashMap<>();
+        Map<Long, String> keyByProduct = new ConcurrentHashMap<>();
+        partAvailabilityRepository.forEachInStock(row -> {
+            grouped.computeIfAbsent(row.partKey(), key -> new ArrayList<>())
+                    .add(new Offer(row.productId(), row.shopId(), row.price(), row.quantity()));
+            keyByProduct.put(row.productId(), row.partKey());
+        });
+
+        Map<String, Offer[]> offersByKey = new ConcurrentHashMap<>(grouped.size() * 2);
+        grouped.forEach((key, offers) -> {
+            Offer[] sorted = offers.toArray(Offer[]::new);
+            Arrays.sort(sorted, BY_PRICE);
+            offersByKey.put(key, sorted);
+        });
+
+        replica = new Replica(offersByKey, keyByProduct);
+        watermark = latest != null ? latest : LocalDateTime.now();
+    }
+
+    @Scheduled(fixedDelayString = "${app.availability.sync-ms:5000}")
+    public synchronized void sync() {
+        if (watermark == null) {
+            return;
+        }
+        List<PartAvailabilityRow> changes = partAvailabilityRepository.findChangedSince(watermark.minus(SYNC_OVERLAP));
+        for (PartAvailabilityRow row : changes) {
+            apply(row.productId(), row.partKey(), row.shopId(), row.price(),
+                    row.deleted() ? 0 : row.quantity());
+            if (row.updatedAt().isAfter(watermark)) {
+                watermark = row.updatedAt();
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.availability.reload-ms:900000}",
+            fixedDelayString = "${app.availability.reload-ms:900000}")
+    @Transactional(readOnly = true)
+    public void reload() {
+        load();
+    }
+
+    @Scheduled(fixedDelayString = "${app.availability.purge-ms:3600000}")
+    public void purgeTombstones() {
+        int purged = partAvailabilityRepository.purgeDeletedBefore(LocalDateTime.now().minus(TOMBSTONE_RETENTION));
+        if (purged > 0) {
+            log.debug("Purged {} deleted part availability rows", purged);
+        }
+    }
+
+    public void put(Long productId, Long shopId, String name, double price, int quantity) {
+        String key = PartKey.of(name);
+        afterCommit(() -> {
+            synchronized (this) {
+                apply(productId, key, shopId, price, quantity);
+            }
+        });
+    }
+
+    public void remove(Long productId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                apply(productId, null, 0, 0, 0);
+            }
+        });
+    }
+
+    public int size() {
+        return replica.keyByProduct.size();
+    }
+
+    public List<PartAvailabilityResponse> findOffers(String part, AvailabilitySort sort,
+                                                     Double latitude, Double longitude, int limit) {
+        Offer[] offers = replica.offersByKey.get(PartKey.of(part));
+        if (offers == null || limit <= 0) {
+            return List.of();
+        }
+
+        if (sort == AvailabilitySort.PRICE) {
+            int size = Math.min(limit, offers.length);
+            List<PartAvailabilityResponse> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(toResponse(offers[i], distance(offers[i], latitude, longitude)));
+            }
+            return result;
+        }
+
+        if (latitude == null || longitude == null) {
+            throw new BadRequestException("lat and lon are required to sort by distance.");
+        }
+        // Shops without coordinates go last, cheapest first
+        return Arrays.stream(offers)
+                .map(offer -> toResponse(offer, distance(offer, latitude, longitude)))
+                .sorted(Comparator.comparing(PartAvailabilityResponse::distanceKm,
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .limit(limit)
+                .toList();
+    }
+
+    private Double distance(Offer offer, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return null;
+        }
+        return shopSpatialIndex.distanceKm(offer.shopId(), latitude, longitude);
+    }
+
+    private static PartAvailabilityResponse toResponse(Offer offer, Double distanceKm) {
+        return new PartAvailabilityResponse(
+                offer.productId(),
+                offer.shopId(),
+                offer.price(),
+                offer.quantity(),
+                distanceKm != null ? Math.round(distanceKm * 1000) / 1000.0 : null);
+    }
+
+    // Caller holds the monitor; readers only ever see complete arrays
+    private void apply(long productId, String key, long shopId, double price, int quantity) {
+        Replica current = replica;
+        String previousKey = current.keyByProduct.remove(productId);
+        if (previousKey != null) {
+            current.offersByKey.computeIfPresent(previousKey, (k, offers) -> without(offers, productId));
+        }
+        if (key != null && !key.isEmpty() && quantity > 0) {
+            Offer offer = new Offer(productId, shopId, price, quantity);
+            current.keyByProduct.put(productId, key);
+            current.offersByKey.merge(key, new Offer[]{offer}, (offers, single) -> with(offers, offer));
+        }
+    }
+
+    private static Offer[] without(Offer[] offers, long productId) {
+        for (int i = 0; i < offers.length; i++) {
+            if (offers[i].productId() == productId) {
+                if (offers.length == 1) {
+                    return null;
+                }
+                Offer[] copy = new Offer[offers.length - 1];
+                System.arraycopy(offers, 0, copy, 0, i);
+                System.arraycopy(offers, i + 1, copy, i, offers.length - i - 1);
+                return copy;
+            }
+        }
+        return offers;
+    }
+
+    private static Offer[] with(Offer[] offers, Offer offer) {
+        int insertAt = Arrays.binarySearch(offers, offer, BY_PRICE);
+        insertAt = insertAt < 0 ? -insertAt - 1 : insertAt;
+        Offer[] copy = new Offer[offers.length + 1];
+        System.arraycopy(offers, 0, copy, 0, insertAt);
+        copy[insertAt] = offer;
+        System.arraycopy(offers, insertAt, copy, insertAt + 1, offers.length - insertAt);
+        return copy;
+    }
+
+    // A rolled-back write must never show up in the replica
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Offer(long productId, long shopId, double price, int quantity) {
+    }
+
+    private record Replica(Map<String, Offer[]> offersByKey, Map<Long, String> keyByProduct) {
+    }
+}
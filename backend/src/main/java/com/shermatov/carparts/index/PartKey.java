@@ -0,0 +1,23 @@
+package com.shermatov.carparts.index;
+
+import java.util.Locale;
+
+/**
+ * Normalized part name used to match the same part across shops:
+ * lower case with everything but letters and digits removed, so
+ * {@code "Oil Filter OC-90"} and {@code "oil filter oc90"} share a key.
+ *
+ * <p>Must stay in line with the {@code part_key} SQL function from V15.</p>
+ */
+public final class PartKey {
+
+    private PartKey() {
+    }
+
+    public static String of(String name) {
+        if (name == null) {
+            return "";
+        }
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", "");
+    }
+}
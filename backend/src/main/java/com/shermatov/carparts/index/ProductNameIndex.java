@@ -0,0 +1,323 @@
+package com.shermatov.carparts.index;
+
+import com.shermatov.carparts.dto.response.ProductSuggestion;
+import com.shermatov.carparts.repository.ProductRepository;
+import com.shermatov.carparts.repository.projection.ProductNameView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index over product names used for autocomplete.
+ *
+ * <p>Every product occupies an int slot; each trigram maps to a sorted posting list
+ * of slots. Words are padded with two leading spaces, so a query token of any length
+ * matches names containing a word that starts with it. Part numbers such as
+ * {@code OC-90} are also indexed without separators ({@code oc90}).</p>
+ *
+ * <p>The index is loaded once at startup and then kept up to date by the product
+ * write paths once their transaction commits; lookups never touch the database.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductNameIndex {
+
+    private static final String WORD_PAD = "  ";
+
+    private final ProductRepository productRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private State state = new State();
+    // Writes seen while a load is reading the catalog; replayed onto the fresh state before the swap
+    private List<Consumer<State>> pendingWrites;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void load() {
+        lock.writeLock().lock();
+        try {
+            pendingWrites = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Build off to the side so suggestions keep working while the catalog is read
+        State fresh = new State();
+        boolean built = false;
+        try (Stream<ProductNameView> names = productRepository.streamAllNames()) {
+            names.forEach(view -> fresh.put(view.getId(), view.getName()));
+            built = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                // Replaying is idempotent, so writes the read already saw do no harm
+                if (built) {
+                    pendingWrites.forEach(write -> write.accept(fresh));
+                    state = fresh;
+                }
+                pendingWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public void put(Long productId, String name) {
+        afterCommit(() -> write(target -> {
+            target.remove(productId);
+            target.put(productId, name);
+        }));
+    }
+
+    public void remove(Long productId) {
+        afterCommit(() -> write(target -> target.remove(productId)));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return state.slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ProductSuggestion> suggest(String query, int limit) {
+        String[] queryTokens = tokenize(query);
+        if (queryTokens.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        String normalizedQuery = String.join(" ", queryTokens);
+
+        lock.readLock().lock();
+        try {
+            int[] candidates = state.candidates(queryTokens);
+
+            // Max-heap on rank: the worst of the current top-N sits on top and is evicted first
+            Comparator<Integer> byRank = Comparator
+                    .comparingInt((Integer slot) -> state.normalized[slot].startsWith(normalizedQuery) ? 0 : 1)
+                    .thenComparingInt(slot -> state.names[slot].length())
+                    .thenComparing(slot -> state.names[slot]);
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, byRank.reversed());
+
+            for (int slot : candidates) {
+                if (!state.matches(slot, queryTokens)) {
+                    continue;
+                }
+                top.offer(slot);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Integer> ordered = new ArrayList<>(top);
+            ordered.sort(byRank);
+            return ordered.stream()
+                    .map(slot -> new ProductSuggestion(state.ids[slot], state.names[slot]))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<State> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(state);
+            if (pendingWrites != null) {
+                pendingWrites.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // A rolled-back write must never show up in suggestions
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("\\s+")) {
+            String compact = word.replaceAll("[^\\p{L}\\p{N}]", "");
+            if (!compact.isEmpty()) {
+                tokens.add(compact);
+            }
+        }
+        return tokens.toArray(String[]::new);
+    }
+
+    private static String[] indexTokens(String name) {
+        // Index each word both compacted (oc90) and split at separators (oc, 90)
+        Set<String> tokens = new LinkedHashSet<>(Arrays.asList(tokenize(name)));
+        for (String part : name.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!part.isEmpty()) {
+                tokens.add(part);
+            }
+        }
+        return tokens.toArray(String[]::new);
+    }
+
+    private static void addTrigrams(String token, Set<Long> out) {
+        String padded = WORD_PAD + token;
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            out.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+        }
+    }
+
+    /** Mutable index contents; guarded by the enclosing lock once published. */
+    private static final class State {
+
+        private long[] ids = new long[1024];
+        private String[] names = new String[1024];
+        private String[] normalized = new String[1024];
+        private String[][] tokens = new String[1024][];
+        private int[] freeSlots = new int[16];
+        private int freeCount;
+        private int slotCount;
+
+        private final Map<Long, Integer> slotById = new HashMap<>();
+        private final Map<Long, IntPostingList> postings = new HashMap<>();
+
+        void put(Long productId, String name) {
+            if (productId == null || name == null) {
+                return;
+            }
+            int slot = allocateSlot();
+            ids[slot] = productId;
+            names[slot] = name;
+            tokens[slot] = indexTokens(name);
+            normalized[slot] = String.join(" ", tokenize(name));
+            slotById.put(productId, slot);
+
+            for (long gram : trigrams(tokens[slot])) {
+                postings.computeIfAbsent(gram, key -> new IntPostingList()).add(slot);
+            }
+        }
+
+        void remove(Long productId) {
+            Integer slot = slotById.remove(productId);
+            if (slot == null) {
+                return;
+            }
+            for (long gram : trigrams(tokens[slot])) {
+                IntPostingList list = postings.get(gram);
+                if (list != null) {
+                    list.remove(slot);
+                    if (list.size() == 0) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+            names[slot] = null;
+            normalized[slot] = null;
+            tokens[slot] = null;
+            releaseSlot(slot);
+        }
+
+        int[] candidates(String[] queryTokens) {
+            Set<Long> grams = trigrams(queryTokens);
+            List<IntPostingList> lists = new ArrayList<>(grams.size());
+            for (long gram : grams) {
+                IntPostingList list = postings.get(gram);
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+            // Intersect starting from the rarest trigram to keep the working set small
+            lists.sort(Comparator.comparingInt(IntPostingList::size));
+
+            int[] result = lists.get(0).toArray();
+            int length = result.length;
+            for (int i = 1; i < lists.size() && length > 0; i++) {
+                IntPostingList list = lists.get(i);
+                int kept = 0;
+                for (int j = 0; j < length; j++) {
+                    if (list.contains(result[j])) {
+                        result[kept++] = result[j];
+                    }
+                }
+                length = kept;
+            }
+            return Arrays.copyOf(result, length);
+        }
+
+        boolean matches(int slot, String[] queryTokens) {
+            for (String queryToken : queryTokens) {
+                boolean found = false;
+                for (String token : tokens[slot]) {
+                    if (token.startsWith(queryToken)) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static Set<Long> trigrams(String[] tokens) {
+            Set<Long> grams = new LinkedHashSet<>();
+            for (String token : tokens) {
+                addTrigrams(token, grams);
+            }
+            return grams;
+        }
+
+        private int allocateSlot() {
+            if (freeCount > 0) {
+                return freeSlots[--freeCount];
+            }
+            if (slotCount == ids.length) {
+                int capacity = slotCount * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                names = Arrays.copyOf(names, capacity);
+                normalized = Arrays.copyOf(normalized, capacity);
+                tokens = Arrays.copyOf(tokens, capacity);
+            }
+            return slotCount++;
+        }
+
+        private void releaseSlot(int slot) {
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            }
+            freeSlots[freeCount++] = slot;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.shermatov.carparts.index;
+
+import com.shermatov.carparts.dto.response.NearbyShopResponse;
+import com.shermatov.carparts.exception.BadRequestException;
+import com.shermatov.carparts.repository.ShopRepository;
+import com.shermatov.carparts.repository.projection.ShopLocationView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory k-d tree over shop coordinates for nearest-shop lookups.
+ *
+ * <p>Coordinates are stored as points on the unit sphere, so the straight-line (chord)
+ * distance orders shops exactly like the great-circle distance and the antimeridian
+ * needs no special casing. The tree lives in parallel primitive arrays laid out in
+ * median order: the node of a range {@code [lo, hi)} is its middle element.</p>
+ *
+ * <p>Shops change rarely, so every create/update/delete rebuilds the tree from
+ * {@link ShopRepository#findAllLocations()} and publishes it with a single volatile
+ * write; queries never lock and never touch the database.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ShopSpatialIndex {
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final ShopRepository shopRepository;
+
+    private volatile Tree tree = Tree.build(List.of());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void refresh() {
+        // Serialised so an older rebuild can never replace a newer one
+        tree = Tree.build(shopRepository.findAllLocations());
+    }
+
+    public int size() {
+        return tree.ids.length;
+    }
+
+    public List<NearbyShopResponse> nearest(double latitude, double longitude, int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new BadRequestException("Coordinates out of range.");
+        }
+        if (limit <= 0) {
+            return List.of();
+        }
+        return tree.nearest(latitude, longitude, limit);
+    }
+
+    /**
+     * Great-circle distance from a point to a shop, or {@code null} when the shop has no coordinates.
+     */
+    public Double distanceKm(long shopId, double latitude, double longitude) {
+        Tree current = tree;
+        Integer slot = current.slotById.get(shopId);
+        if (slot == null) {
+            return null;
+        }
+        double[][] point = new double[3][1];
+        Tree.toUnitVector(latitude, longitude, point, 0);
+        double dx = current.coords[0][slot] - point[0][0];
+        double dy = current.coords[1][slot] - point[1][0];
+        double dz = current.coords[2][slot] - point[2][0];
+        return distanceKm(Math.sqrt(dx * dx + dy * dy + dz * dz));
+    }
+
+    static double distanceKm(double chord) {
+        return 2 * Math.asin(Math.min(1.0, chord / 2)) * EARTH_RADIUS_KM;
+    }
+
+    private static final class Tree {
+
+        private final long[] ids;
+        private final String[] names;
+        private final String[] addresses;
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final double[][] coords;
+        private final Map<Long, Integer> slotById;
+
+        private Tree(int size) {
+            ids = new long[size];
+            names = new String[size];
+            addresses = new String[size];
+            latitudes = new double[size];
+            longitudes = new double[size];
+            coords = new double[3][size];
+            slotById = new HashMap<>(size * 2);
+        }
+
+        static Tree build(List<ShopLocationView> shops) {
+            int n = shops.size();
+            double[][] points = new double[3][n];
+            for (int i = 0; i < n; i++) {
+                toUnitVector(shops.get(i).latitude(), shops.get(i).longitude(), points, i);
+            }
+
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            arrange(order, points, 0, n, 0);
+
+            Tree tree = new Tree(n);
+            for (int i = 0; i < n; i++) {
+                ShopLocationView shop = shops.get(order[i]);
+                tree.ids[i] = shop.id();
+                tree.slotById.put(shop.id(), i);
+                tree.names[i] = shop.name();
+                tree.addresses[i] = shop.address();
+                tree.latitudes[i] = shop.latitude();
+                tree.longitudes[i] = shop.longitude();
+                for (int axis = 0; axis < 3; axis++) {
+                    tree.coords[axis][i] = points[axis][order[i]];
+                }
+            }
+            return tree;
+        }
+
+        List<NearbyShopResponse> nearest(double latitude, double longitude, int limit) {
+            double[][] query = new double[3][1];
+            toUnitVector(latitude, longitude, query, 0);
+
+            BoundedMaxHeap heap = new BoundedMaxHeap(Math.min(limit, ids.length));
+            search(0, ids.length, 0, query[0][0], query[1][0], query[2][0], heap);
+
+            // Popping the max-heap yields the farthest first, so fill from the back
+            NearbyShopResponse[] result = new NearbyShopResponse[heap.size];
+            for (int i = result.length - 1; i >= 0; i--) {
+                double squared = heap.topDistance();
+                int slot = heap.pop();
+                result[i] = new NearbyShopResponse(
+                        ids[slot],
+                        names[slot],
+                        addresses[slot],
+                        latitudes[slot],
+                        longitudes[slot],
+                        Math.round(distanceKm(Math.sqrt(squared)) * 1000) / 1000.0);
+            }
+            return List.of(result);
+        }
+
+        private void search(int lo, int hi, int depth, double qx, double qy, double qz, BoundedMaxHeap heap) {
+            if (lo >= hi || heap.capacity == 0) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            double dx = coords[0][mid] - qx;
+            double dy = coords[1][mid] - qy;
+            double dz = coords[2][mid] - qz;
+            heap.offer(dx * dx + dy * dy + dz * dz, mid);
+
+            int axis = depth % 3;
+            double diff = (axis == 0 ? qx : axis == 1 ? qy : qz) - coords[axis][mid];
+            if (diff < 0) {
+                search(lo, mid, depth + 1, qx, qy, qz, heap);
+                if (diff * diff < heap.bound()) {
+                    search(mid + 1, hi, depth + 1, qx, qy, qz, heap);
+                }
+            } else {
+                search(mid + 1, hi, depth + 1, qx, qy, qz, heap);
+                if (diff * diff < heap.bound()) {
+                    search(lo, mid, depth + 1, qx, qy, qz, heap);
+                }
+            }
+        }
+
+        private static void toUnitVector(double latitude, double longitude, double[][] out, int i) {
+            double lat = Math.toRadians(latitude);
+            double lon = Math.toRadians(longitude);
+            out[0][i] = Math.cos(lat) * Math.cos(lon);
+            out[1][i] = Math.cos(lat) * Math.sin(lon);
+            out[2][i] = Math.sin(lat);
+        }
+
+        // Puts the median of each range at its middle, splitting on x, y, z in turn
+        private static void arrange(int[] order, double[][] points, int lo, int hi, int depth) {
+            if (hi - lo <= 1) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            select(order, points[depth % 3], lo, hi - 1, mid);
+            arrange(order, points, lo, mid, depth + 1);
+            arrange(order, points, mid + 1, hi, depth + 1);
+        }
+
+        private static void select(int[] order, double[] values, int left, int right, int k) {
+            while (right > left) {
+                int pivotIndex = (left + right) >>> 1;
+                double pivot = values[order[pivotIndex]];
+                swap(order, pivotIndex, right);
+                int store = left;
+                for (int i = left; i < right; i++) {
+                    if (values[order[i]] < pivot) {
+                        swap(order, store++, i);
+                    }
+                }
+                swap(order, store, right);
+                if (store == k) {
+                    return;
+                }
+                if (store < k) {
+                    left = store + 1;
+                } else {
+                    right = store - 1;
+                }
+            }
+        }
+
+        private static void swap(int[] values, int i, int j) {
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    /** Keeps the k closest candidates seen so far; the farthest of them sits on top. */
+    private static final class BoundedMaxHeap {
+
+        private final int capacity;
+        private final double[] distances;
+        private final int[] slots;
+        private int size;
+
+        BoundedMaxHeap(int capacity) {
+            this.capacity = capacity;
+            this.distances = new double[capacity];
+            this.slots = new int[capacity];
+        }
+
+        double bound() {
+            return size < capacity ? Double.POSITIVE_INFINITY : distances[0];
+        }
+
+        double topDistance() {
+            return distances[0];
+        }
+
+        void offer(double distance, int slot) {
+            if (size < capacity) {
+                distances[size] = distance;
+                slots[size] = slot;
+                siftUp(size++);
+            } else if (distance < distances[0]) {
+                distances[0] = distance;
+                slots[0] = slot;
+                siftDown(0);
+            }
+        }
+
+        int pop() {
+            int slot = slots[0];
+            size--;
+            distances[0] = distances[size];
+            slots[0] = slots[size];
+            siftDown(0);
+            return slot;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (distances[parent] >= distances[i]) {
+                    return;
+                }
+                swapEntries(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int largest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && distances[left] > distances[largest]) {
+                    largest = left;
+                }
+                if (right < size && distances[right] > distances[largest]) {
+                    largest = right;
+                }
+                if (largest == i) {
+                    return;
+                }
+                swapEntries(i, largest);
+                i = largest;
+            }
+        }
+
+        private void swapEntries(int i, int j) {
+            double distance = distances[i];
+            distances[i] = distances[j];
+            distances[j] = distance;
+            int slot = slots[i];
+            slots[i] = slots[j];
+            slots[j] = slot;
+        }
+    }
+}
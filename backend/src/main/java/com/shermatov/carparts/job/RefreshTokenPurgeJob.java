@@ -0,0 +1,27 @@
+package com.shermatov.carparts.job;
+
+import com.shermatov.carparts.service.RefreshTokenService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenPurgeJob {
+
+    private final RefreshTokenService refreshTokenService;
+
+    // Every refresh adds a row, so expired ones are dropped to keep the table small.
+    // A day of slack keeps recently expired tokens around for reuse detection.
+    @Scheduled(cron = "${app.security.refresh-token-purge-cron:0 45 3 * * *}")
+    public void purgeExpired() {
+        int purged = refreshTokenService.purgeExpired(LocalDateTime.now().minusDays(1));
+        if (purged > 0) {
+            log.info("Purged {} expired refresh token(s)", purged);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.shermatov.carparts.job;
+
+import com.shermatov.carparts.service.StockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationExpiryJob {
+
+    private final StockService stockService;
+
+    @Scheduled(fixedDelayString = "${app.reservations.expiry-sweep-ms:60000}")
+    public void expireReservations() {
+        int batches = stockService.expireReservations();
+        if (batches > 0) {
+            log.info("Expired overdue stock reservations in {} batch(es)", batches);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.shermatov.carparts.job;
+
+import com.shermatov.carparts.service.ShopDeletionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShopDeletionResumeJob {
+
+    private final ShopDeletionService shopDeletionService;
+
+    // Picks up deletions interrupted by a restart, and any that did not fit the executor queue
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.shops.deletion-sweep-ms:120000}",
+               fixedDelayString = "${app.shops.deletion-sweep-ms:120000}")
+    public void resumeDeletions() {
+        int resumed = shopDeletionService.resumeUnfinished();
+        if (resumed > 0) {
+            log.info("Resumed {} unfinished shop deletion(s)", resumed);
+        }
+    }
+}
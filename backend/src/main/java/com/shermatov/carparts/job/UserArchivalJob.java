@@ -0,0 +1,30 @@
+package com.shermatov.carparts.job;
+
+import com.shermatov.carparts.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserArchivalJob {
+
+    private final UserService userService;
+
+    @Value("${app.archive.user-retention-days:90}")
+    private int retentionDays;
+
+    // Keeps users and its indexes sized to live accounts as soft deletes pile up
+    @Scheduled(cron = "${app.archive.user-cron:0 30 3 * * *}")
+    public void archiveDeletedUsers() {
+        int archived = userService.archiveDeletedUsers(LocalDateTime.now().minusDays(retentionDays));
+        if (archived > 0) {
+            log.info("Archived {} user(s) deleted more than {} days ago", archived, retentionDays);
+        }
+    }
+}
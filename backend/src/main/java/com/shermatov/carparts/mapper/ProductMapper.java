@@ -1,14 +1,23 @@
 package com.shermatov.carparts.mapper;
 
 
+import com.shermatov.carparts.cache.ReferenceDataCache;
+import com.shermatov.carparts.domain.Brand;
+import com.shermatov.carparts.domain.Category;
 import com.shermatov.carparts.domain.Product;
 import com.shermatov.carparts.dto.request.ProductRequest;
+import com.shermatov.carparts.dto.response.ProductExportRow;
 import com.shermatov.carparts.dto.response.ProductResponse;
+import com.shermatov.carparts.repository.projection.ProductListingRow;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 @Component
+@RequiredArgsConstructor
 public class ProductMapper {
 
+    private final ReferenceDataCache referenceDataCache;
+
     public Product toEntity(ProductRequest request) {
         if (request == null) return null;
 
@@ -24,17 +33,55 @@ public class ProductMapper {
     public ProductResponse toResponse(Product product) {
         if (product == null) return null;
 
+        // Reading the id of a lazy proxy does not initialise it; names come from the cache
+        Long brandId = product.getBrand() != null ? product.getBrand().getId() : null;
+        Long categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
+
         return ProductResponse.builder()
                 .id(product.getId())
                 .name(product.getName())
                 .price(product.getPrice())
                 .description(product.getDescription())
                 .quantity(product.getQuantity())
-                .brand((product.getBrand()))
-                .category(product.getCategory())
+                .brandId(brandId)
+                .brandName(referenceDataCache.brandName(brandId))
+                .categoryId(categoryId)
+                .categoryName(referenceDataCache.categoryName(categoryId))
                 .build();
     }
 
+    public ProductResponse toResponse(ProductListingRow row) {
+        return ProductResponse.builder()
+                .id(row.id())
+                .name(row.name())
+                .price(row.price())
+                .description(row.description())
+                .quantity(row.quantity())
+                .brandId(row.brandId())
+                .brandName(row.brandName())
+                .categoryId(row.categoryId())
+                .categoryName(row.categoryName())
+                .build();
+    }
+
+    public ProductExportRow toExportRow(Product product) {
+        Brand brand = product.getBrand();
+        Category category = product.getCategory();
+
+        return new ProductExportRow(
+                product.getId(),
+                product.getName(),
+                product.getDescription(),
+                product.getPrice(),
+                product.getQuantity(),
+                product.getShop().getId(),
+                brand != null ? brand.getId() : null,
+                brand != null ? brand.getName() : null,
+                category != null ? category.getId() : null,
+                category != null ? category.getName() : null,
+                product.getUpdatedAt());
+    }
+
     public void updateEntity(Product product, ProductRequest request) {
         product.setName(request.getName());
         product.setPrice(request.getPrice());
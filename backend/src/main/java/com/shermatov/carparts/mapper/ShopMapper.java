@@ -2,9 +2,13 @@ package com.shermatov.carparts.mapper;
 
 import com.shermatov.carparts.domain.Shop;
 import com.shermatov.carparts.dto.request.ShopRequest;
+import com.shermatov.carparts.dto.response.ProductResponse;
+import com.shermatov.carparts.dto.response.ShopDetailResponse;
 import com.shermatov.carparts.dto.response.ShopResponse;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 
 @Component
 public class ShopMapper {
@@ -16,9 +20,24 @@ public class ShopMapper {
                 .phone(shop.getPhone())
                 .address(shop.getAddress())
                 .description(shop.getDescription())
+                .latitude(shop.getLatitude())
+                .longitude(shop.getLongitude())
                 .build();
     }
 
+    public ShopDetailResponse toDetailResponse(Shop shop, List<ProductResponse> products, boolean hasMoreProducts) {
+        return ShopDetailResponse.builder()
+                .id(shop.getId())
+                .name(shop.getName())
+                .phone(shop.getPhone())
+                .address(shop.getAddress())
+                .description(shop.getDescription())
+                .latitude(shop.getLatitude())
+                .longitude(shop.getLongitude())
+                .products(products)
+                .hasMoreProducts(hasMoreProducts)
+                .build();
+    }
 
     public Shop toEntity(ShopRequest request) {
         if (request == null) return null;
@@ -32,5 +51,7 @@ public class ShopMapper {
         shop.setName(request.getName());
         shop.setAddress(request.getAddress());
         shop.setDescription(request.getDescription());
+        shop.setLatitude(request.getLatitude());
+        shop.setLongitude(request.getLongitude());
     }
 }
@@ -0,0 +1,41 @@
+package com.shermatov.carparts.pagination;
+
+import com.shermatov.carparts.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Encodes keyset positions into opaque, URL-safe cursors and back.
+ *
+ * <p>A cursor is simply the list of values of the last row on a page
+ * joined with {@code '|'} and Base64 encoded. The last part may contain
+ * the separator itself, so free-text keys must always come last.</p>
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {}
+
+    public static String encode(List<String> parts) {
+        String raw = String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static List<String> decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, expectedParts);
+            if (parts.length != expectedParts) {
+                throw new InvalidCursorException();
+            }
+            return List.of(parts);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException();
+        }
+    }
+}
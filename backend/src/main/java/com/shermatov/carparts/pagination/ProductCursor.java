@@ -0,0 +1,36 @@
+package com.shermatov.carparts.pagination;
+
+import com.shermatov.carparts.exception.InvalidCursorException;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * Position of the last product on a catalog page.
+ *
+ * @param sortKey   sort key the page was produced with
+ * @param direction sort direction the page was produced with
+ * @param id        id of the last row (tie-breaker)
+ * @param value     value of the sort column of the last row
+ */
+public record ProductCursor(ProductSortKey sortKey, Sort.Direction direction, Long id, Object value) {
+
+    public String encode() {
+        return CursorCodec.encode(List.of(
+                sortKey.param(), direction.name(), id.toString(), String.valueOf(value)));
+    }
+
+    public static ProductCursor decode(String cursor) {
+        List<String> parts = CursorCodec.decode(cursor, 4);
+        try {
+            ProductSortKey sortKey = ProductSortKey.fromParam(parts.get(0));
+            return new ProductCursor(
+                    sortKey,
+                    Sort.Direction.fromString(parts.get(1)),
+                    Long.valueOf(parts.get(2)),
+                    sortKey.parse(parts.get(3)));
+        } catch (RuntimeException ex) {
+            throw new InvalidCursorException();
+        }
+    }
+}
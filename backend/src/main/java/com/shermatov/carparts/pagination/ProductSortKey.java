@@ -0,0 +1,50 @@
+package com.shermatov.carparts.pagination;
+
+import com.shermatov.carparts.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Sort keys accepted by the product catalog.
+ *
+ * <p>Every key is paired with {@code id} as a tie-breaker and is backed by a
+ * matching {@code (column, id)} index, so a keyset page is a single index range scan.</p>
+ */
+public enum ProductSortKey {
+
+    ID("id", "id", Long::valueOf),
+    PRICE("price", "price", Double::valueOf),
+    NAME("name", "name", value -> value),
+    UPDATED_AT("updated_at", "updatedAt", LocalDateTime::parse);
+
+    private final String param;
+    private final String property;
+    private final Function<String, Object> parser;
+
+    ProductSortKey(String param, String property, Function<String, Object> parser) {
+        this.param = param;
+        this.property = property;
+        this.parser = parser;
+    }
+
+    public String param() {
+        return param;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public Object parse(String value) {
+        return parser.apply(value);
+    }
+
+    public static ProductSortKey fromParam(String param) {
+        return Arrays.stream(values())
+                .filter(key -> key.param.equalsIgnoreCase(param))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException("Unsupported sort key: " + param));
+    }
+}
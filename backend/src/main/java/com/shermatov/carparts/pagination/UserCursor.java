@@ -0,0 +1,36 @@
+package com.shermatov.carparts.pagination;
+
+import com.shermatov.carparts.domain.Role;
+import com.shermatov.carparts.exception.InvalidCursorException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Position of the last user on an admin listing page, newest first.
+ *
+ * @param role      role filter the page was produced with, {@code null} for all users
+ * @param createdAt creation time of the last row
+ * @param id        id of the last row (tie-breaker)
+ */
+public record UserCursor(Role role, LocalDateTime createdAt, Long id) {
+
+    private static final String ALL_ROLES = "ALL";
+
+    public String encode() {
+        return CursorCodec.encode(List.of(
+                role == null ? ALL_ROLES : role.name(), createdAt.toString(), id.toString()));
+    }
+
+    public static UserCursor decode(String cursor) {
+        List<String> parts = CursorCodec.decode(cursor, 3);
+        try {
+            return new UserCursor(
+                    ALL_ROLES.equals(parts.get(0)) ? null : Role.valueOf(parts.get(0)),
+                    LocalDateTime.parse(parts.get(1)),
+                    Long.valueOf(parts.get(2)));
+        } catch (RuntimeException ex) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.shermatov.carparts.repository;
+
+import com.shermatov.carparts.repository.projection.PartAvailabilityRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Access to the part_availability table, which a trigger on products maintains.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PartAvailabilityRepository {
+
+    // Rows of a shop that is being deleted read as deleted until the job removes its products
+    private static final String SELECT = """
+            SELECT pa.product_id, pa.part_key, pa.shop_id, pa.price, pa.quantity,
+                   pa.deleted OR s.deleted_at IS NOT NULL AS deleted, pa.updated_at
+            FROM part_availability pa
+            LEFT JOIN shops s ON s.id = pa.shop_id
+            """;
+
+    private static final RowMapper<PartAvailabilityRow> ROW_MAPPER = (rs, rowNum) -> new PartAvailabilityRow(
+            rs.getLong("product_id"),
+            rs.getString("part_key"),
+            rs.getLong("shop_id"),
+            rs.getDouble("price"),
+            rs.getInt("quantity"),
+            rs.getBoolean("deleted"),
+            rs.getObject("updated_at", LocalDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LocalDateTime findLatestUpdate() {
+        return jdbcTemplate.queryForObject(
+                "SELECT max(updated_at) FROM part_availability", LocalDateTime.class);
+    }
+
+    // Call inside a transaction so PostgreSQL streams with the fetch size instead of buffering
+    public void forEachInStock(Consumer<PartAvailabilityRow> consumer) {
+        jdbcTemplate.query(con -> {
+            var statement = con.prepareStatement(
+                    SELECT + "WHERE pa.quantity > 0 AND NOT pa.deleted AND s.deleted_at IS NULL");
+            statement.setFetchSize(1000);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(ROW_MAPPER.mapRow(rs, 0)));
+    }
+
+    public List<PartAvailabilityRow> findChangedSince(LocalDateTime since) {
+        return jdbcTemplate.query(
+                SELECT + "WHERE pa.updated_at > ? ORDER BY pa.updated_at",
+                ROW_MAPPER,
+                since);
+    }
+
+    public int purgeDeletedBefore(LocalDateTime before) {
+        return jdbcTemplate.update(
+                "DELETE FROM part_availability WHERE deleted AND updated_at < ?", before);
+    }
+}
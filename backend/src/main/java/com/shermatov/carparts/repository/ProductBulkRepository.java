@@ -0,0 +1,32 @@
+package com.shermatov.carparts.repository;
+
+import com.shermatov.carparts.dto.request.ProductRequest;
+import com.shermatov.carparts.repository.projection.ProductIdName;
+import com.shermatov.carparts.repository.projection.StockChange;
+
+import java.util.List;
+
+public interface ProductBulkRepository {
+
+    /**
+     * Inserts all products for the shop in a single statement and returns their new ids.
+     */
+    List<ProductIdName> insertAll(Long shopId, List<ProductRequest> products);
+
+    /**
+     * Sets {@code quantity = coalesce(absolute, quantity) + delta} for every product in one statement.
+     * Rows that would go below zero are left untouched and are missing from the result; the others
+     * come back with their new quantity and owning shop.
+     *
+     * @param ids       product ids, without duplicates
+     * @param absolutes new absolute quantity per id, or {@code null} to keep the current one
+     * @param deltas    amount to add per id after the absolute value is applied
+     */
+    List<StockChange> updateQuantities(Long[] ids, Integer[] absolutes, Integer[] deltas);
+
+    /**
+     * Deletes up to {@code limit} products of a shop, lowest ids first, together with their
+     * stock reservations, and returns the ids that were removed.
+     */
+    List<Long> deleteChunkByShopId(Long shopId, int limit);
+}
@@ -0,0 +1,114 @@
+package com.shermatov.carparts.repository;
+
+import com.shermatov.carparts.dto.request.ProductRequest;
+import com.shermatov.carparts.repository.projection.ProductIdName;
+import com.shermatov.carparts.repository.projection.StockChange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ProductBulkRepositoryImpl implements ProductBulkRepository {
+
+    // Columns travel as one array each, so a chunk of any size is a single round trip and a single plan
+    private static final String INSERT_SQL = """
+            INSERT INTO products (name, description, price, quantity, shop_id, category_id, brand_id)
+            SELECT t.name, t.description, t.price, t.quantity, ?, t.category_id, t.brand_id
+            FROM unnest(?::varchar[], ?::varchar[], ?::float8[], ?::int4[], ?::int8[], ?::int8[])
+                 AS t(name, description, price, quantity, category_id, brand_id)
+            RETURNING id, name
+            """;
+
+    private static final String UPDATE_QUANTITY_SQL = """
+            UPDATE products p
+            SET quantity = COALESCE(v.absolute, p.quantity) + v.delta,
+                updated_at = LOCALTIMESTAMP
+            FROM unnest(?::int8[], ?::int4[], ?::int4[]) AS v(id, absolute, delta)
+            WHERE p.id = v.id
+              AND COALESCE(v.absolute, p.quantity)::int8 + v.delta BETWEEN 0 AND 2147483647
+            RETURNING p.id, p.shop_id, p.quantity
+            """;
+
+    private static final String DELETE_RESERVATIONS_SQL = """
+            DELETE FROM stock_reservations WHERE product_id = ANY(?::int8[])
+            """;
+
+    private static final String DELETE_PRODUCTS_SQL = """
+            DELETE FROM products WHERE id = ANY(?::int8[]) RETURNING id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<ProductIdName> insertAll(Long shopId, List<ProductRequest> products) {
+        if (products.isEmpty()) {
+            return List.of();
+        }
+        int size = products.size();
+        String[] names = new String[size];
+        String[] descriptions = new String[size];
+        Double[] prices = new Double[size];
+        Integer[] quantities = new Integer[size];
+        Long[] categoryIds = new Long[size];
+        Long[] brandIds = new Long[size];
+
+        for (int i = 0; i < size; i++) {
+            ProductRequest product = products.get(i);
+            names[i] = product.getName();
+            descriptions[i] = product.getDescription();
+            prices[i] = product.getPrice();
+            quantities[i] = product.getQuantity();
+            categoryIds[i] = product.getCategoryId();
+            brandIds[i] = product.getBrandId();
+        }
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_SQL);
+            ps.setLong(1, shopId);
+            ps.setArray(2, connection.createArrayOf("varchar", names));
+            ps.setArray(3, connection.createArrayOf("varchar", descriptions));
+            ps.setArray(4, connection.createArrayOf("float8", prices));
+            ps.setArray(5, connection.createArrayOf("int4", quantities));
+            ps.setArray(6, connection.createArrayOf("int8", categoryIds));
+            ps.setArray(7, connection.createArrayOf("int8", brandIds));
+            return ps;
+        }, (rs, rowNum) -> new ProductIdName(rs.getLong("id"), rs.getString("name")));
+    }
+
+    @Override
+    public List<StockChange> updateQuantities(Long[] ids, Integer[] absolutes, Integer[] deltas) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(UPDATE_QUANTITY_SQL);
+            ps.setArray(1, connection.createArrayOf("int8", ids));
+            ps.setArray(2, connection.createArrayOf("int4", absolutes));
+            ps.setArray(3, connection.createArrayOf("int4", deltas));
+            return ps;
+        }, (rs, rowNum) -> new StockChange(rs.getLong("id"), rs.getLong("shop_id"), rs.getInt("quantity")));
+    }
+
+    @Override
+    public List<Long> deleteChunkByShopId(Long shopId, int limit) {
+        Long[] ids = jdbcTemplate.queryForList(
+                "SELECT id FROM products WHERE shop_id = ? ORDER BY id LIMIT ?", Long.class, shopId, limit)
+                .toArray(Long[]::new);
+        if (ids.length == 0) {
+            return List.of();
+        }
+        // Reservations reference products without a cascade, so they go first
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(DELETE_RESERVATIONS_SQL);
+            ps.setArray(1, connection.createArrayOf("int8", ids));
+            return ps;
+        });
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(DELETE_PRODUCTS_SQL);
+            ps.setArray(1, connection.createArrayOf("int8", ids));
+            return ps;
+        }, (rs, rowNum) -> rs.getLong("id"));
+    }
+}
@@ -0,0 +1,18 @@
+package com.shermatov.carparts.repository;
+
+import com.shermatov.carparts.domain.Product;
+import com.shermatov.carparts.pagination.ProductCursor;
+import com.shermatov.carparts.pagination.ProductSortKey;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+public interface ProductCatalogRepository {
+
+    /**
+     * Returns up to {@code limit} products ordered by {@code (sortKey, id)} that come
+     * strictly after the given cursor. A {@code null} cursor starts from the first row.
+     */
+    List<Product> findCatalogPage(ProductSortKey sortKey, Sort.Direction direction,
+                                  ProductCursor after, int limit);
+}
@@ -0,0 +1,53 @@
+package com.shermatov.carparts.repository;
+
+import com.shermatov.carparts.domain.Product;
+import com.shermatov.carparts.pagination.ProductCursor;
+import com.shermatov.carparts.pagination.ProductSortKey;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+public class ProductCatalogRepositoryImpl implements ProductCatalogRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Product> findCatalogPage(ProductSortKey sortKey, Sort.Direction direction,
+                                         ProductCursor after, int limit) {
+        String column = "p." + sortKey.property();
+        String order = direction.isAscending() ? "asc" : "desc";
+        String comparison = direction.isAscending() ? ">" : "<";
+
+        // Fetch-join the to-one associations so mapping a page never falls back to lazy selects
+        StringBuilder jpql = new StringBuilder(
+                "select p from Product p left join fetch p.brand left join fetch p.category"
+                        + " where p.shop.deletedAt is null");
+        if (after != null) {
+            // Row-value comparison lets PostgreSQL seek straight into the (column, id) index
+            if (sortKey == ProductSortKey.ID) {
+                jpql.append(" and p.id ").append(comparison).append(" :id");
+            } else {
+                jpql.append(" and (").append(column).append(", p.id) ")
+                        .append(comparison).append(" (:value, :id)");
+            }
+        }
+        jpql.append(" order by ").append(column).append(' ').append(order);
+        if (sortKey != ProductSortKey.ID) {
+            jpql.append(", p.id ").append(order);
+        }
+
+        TypedQuery<Product> query = entityManager.createQuery(jpql.toString(), Product.class)
+                .setMaxResults(limit);
+        if (after != null) {
+            query.setParameter("id", after.id());
+            if (sortKey != ProductSortKey.ID) {
+                query.setParameter("value", after.value());
+            }
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,15 @@
+package com.shermatov.carparts.repository;
+
+import com.shermatov.carparts.dto.request.ProductFilter;
+import com.shermatov.carparts.repository.projection.ProductFacetPage;
+
+public interface ProductFacetRepository {
+
+    /**
+     * Returns one page of products matching the filter together with the total
+     * and per-brand / per-category counts, all in a single SQL statement. Each
+     * dimension's counts ignore that dimension's own filter, so the other brands
+     * (or categories) stay visible with the number of parts they would show.
+     */
+    ProductFacetPage findFacetPage(ProductFilter filter, int limit, long offset);
+}
@@ -0,0 +1,152 @@
+package com.shermatov.carparts.repository;
+
+import com.shermatov.carparts.dto.request.ProductFilter;
+import com.shermatov.carparts.dto.response.FacetCount;
+import com.shermatov.carparts.repository.projection.ProductFacetPage;
+import com.shermatov.carparts.repository.projection.ProductListingRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ProductFacetRepositoryImpl implements ProductFacetRepository {
+
+    // Row kinds in the facet part of the result
+    private static final int BY_BRAND = 1;
+    private static final int BY_CATEGORY = 2;
+    private static final int TOTAL = 3;
+
+    // Facets are disjunctive: each dimension is counted with every predicate except its own, so a
+    // buyer who picked brand 5 still sees how many parts each other brand would show. The base
+    // set therefore only carries the shared predicates, and the brand and category ones are
+    // evaluated per row.
+    private static final String FACET_SQL = """
+            WITH base AS (
+                SELECT p.id, p.name, p.description, p.price, p.quantity, p.brand_id, p.category_id,
+                       (%s) AS brand_match, (%s) AS category_match
+                FROM products p
+                JOIN shops s ON s.id = p.shop_id
+                WHERE %s
+            ),
+            filtered AS (
+                SELECT * FROM base WHERE brand_match AND category_match
+            ),
+            page AS (
+                SELECT f.*, row_number() OVER (ORDER BY f.price, f.id) AS pos
+                FROM filtered f
+                ORDER BY f.price, f.id
+                LIMIT :limit OFFSET :offset
+            ),
+            facets AS (
+                SELECT brand_id, CAST(NULL AS BIGINT) AS category_id, 1 AS grp, count(*) AS cnt
+                FROM base WHERE category_match
+                GROUP BY brand_id
+                UNION ALL
+                SELECT NULL, category_id, 2, count(*)
+                FROM base WHERE brand_match
+                GROUP BY category_id
+                UNION ALL
+                SELECT NULL, NULL, 3, count(*)
+                FROM filtered
+            )
+            SELECT pg.pos, pg.id, pg.name, pg.description, pg.price, pg.quantity,
+                   pg.brand_id, b.name AS brand_name, pg.category_id, c.name AS category_name,
+                   CAST(NULL AS INT) AS grp, CAST(NULL AS BIGINT) AS cnt
+            FROM page pg
+            LEFT JOIN brands b ON b.id = pg.brand_id
+            LEFT JOIN categories c ON c.id = pg.category_id
+            UNION ALL
+            SELECT NULL, NULL, NULL, NULL, NULL, NULL,
+                   f.brand_id, b.name, f.category_id, c.name,
+                   f.grp, f.cnt
+            FROM facets f
+            LEFT JOIN brands b ON b.id = f.brand_id
+            LEFT JOIN categories c ON c.id = f.category_id
+            ORDER BY 1 NULLS LAST
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public ProductFacetPage findFacetPage(ProductFilter filter, int limit, long offset) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+
+        String brandMatch = "TRUE";
+        if (filter.brandId() != null) {
+            brandMatch = "p.brand_id = :brandId";
+            params.addValue("brandId", filter.brandId());
+        }
+        String categoryMatch = "TRUE";
+        if (filter.categoryId() != null) {
+            categoryMatch = "p.category_id = :categoryId";
+            params.addValue("categoryId", filter.categoryId());
+        }
+        // Only present predicates are rendered, so the planner can use the price index when one is given
+        List<String> conditions = new ArrayList<>();
+        conditions.add("s.deleted_at IS NULL");
+        if (filter.minPrice() != null) {
+            conditions.add("p.price >= :minPrice");
+            params.addValue("minPrice", filter.minPrice());
+        }
+        if (filter.maxPrice() != null) {
+            conditions.add("p.price <= :maxPrice");
+            params.addValue("maxPrice", filter.maxPrice());
+        }
+        if (Boolean.TRUE.equals(filter.inStock())) {
+            conditions.add("p.quantity > 0");
+        }
+        String where = String.join(" AND ", conditions);
+
+        List<ProductListingRow> rows = new ArrayList<>();
+        List<FacetCount> brands = new ArrayList<>();
+        List<FacetCount> categories = new ArrayList<>();
+        long[] total = {0};
+
+        jdbcTemplate.query(FACET_SQL.formatted(brandMatch, categoryMatch, where), params, (RowCallbackHandler) rs -> {
+            long count = rs.getLong("cnt");
+            if (rs.wasNull()) {
+                rows.add(mapRow(rs));
+                return;
+            }
+            switch (rs.getInt("grp")) {
+                case BY_BRAND -> addFacet(brands, rs.getObject("brand_id", Long.class), rs.getString("brand_name"), count);
+                case BY_CATEGORY -> addFacet(categories, rs.getObject("category_id", Long.class), rs.getString("category_name"), count);
+                case TOTAL -> total[0] = count;
+                default -> { }
+            }
+        });
+
+        brands.sort(Comparator.comparingLong(FacetCount::count).reversed());
+        categories.sort(Comparator.comparingLong(FacetCount::count).reversed());
+        return new ProductFacetPage(rows, total[0], brands, categories);
+    }
+
+    private static void addFacet(List<FacetCount> facets, Long id, String name, long count) {
+        // Products without a brand/category are counted in the total only
+        if (id != null) {
+            facets.add(new FacetCount(id, name, count));
+        }
+    }
+
+    private static ProductListingRow mapRow(ResultSet rs) throws SQLException {
+        return new ProductListingRow(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getString("description"),
+                rs.getDouble("price"),
+                rs.getInt("quantity"),
+                rs.getObject("brand_id", Long.class),
+                rs.getString("brand_name"),
+                rs.getObject("category_id", Long.class),
+                rs.getString("category_name"));
+    }
+}
@@ -1,13 +1,134 @@
 package com.shermatov.carparts.repository;
 
 import com.shermatov.carparts.domain.Product;
+import com.shermatov.carparts.repository.projection.ProductListingRow;
+import com.shermatov.carparts.repository.projection.ResourceVersion;
+import com.shermatov.carparts.repository.projection.ProductNameView;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
 
-    List<Product> findByShopId(Long shopId);
-}
+public interface ProductRepository extends JpaRepository<Product, Long>,
+        ProductCatalogRepository, ProductFacetRepository, ProductBulkRepository {
+
+    long countByShopId(Long shopId);
+
+    boolean existsByBrandId(Long brandId);
+
+    boolean existsByCategoryId(Long categoryId);
+
+    // Aggregates over the shop_id index; no product rows are loaded
+    @Query("""
+SELECT new com.shermatov.carparts.repository.projection.ResourceVersion(max(p.updatedAt), count(p))
+FROM Product p
+WHERE p.shop.id = :shopId AND p.shop.deletedAt IS NULL
+""")
+    ResourceVersion findShopVersion(@Param("shopId") Long shopId);
+
+    @Query("""
+SELECT new com.shermatov.carparts.repository.projection.ResourceVersion(p.updatedAt, 1L)
+FROM Product p
+WHERE p.id = :id AND p.shop.deletedAt IS NULL
+""")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    // Brand and category names are joined into the row, so a listing is exactly one statement.
+    // Products of a shop that is being deleted are hidden like the shop itself.
+    String LISTING_ROW_SELECT = """
+SELECT new com.shermatov.carparts.repository.projection.ProductListingRow(
+    p.id, p.name, p.description, p.price, p.quantity, b.id, b.name, c.id, c.name)
+FROM Product p
+JOIN p.shop s
+LEFT JOIN p.brand b
+LEFT JOIN p.category c
+WHERE s.deletedAt IS NULL
+""";
+
+    @Query(LISTING_ROW_SELECT + "ORDER BY p.id")
+    List<ProductListingRow> findAllListingRows();
+
+    @Query(LISTING_ROW_SELECT + "AND s.id = :shopId ORDER BY p.id")
+    List<ProductListingRow> findListingRowsByShopId(@Param("shopId") Long shopId);
 
+    // Pageable only limits the rows here: a List return type skips the count query
+    @Query(LISTING_ROW_SELECT + "AND s.id = :shopId ORDER BY p.id")
+    List<ProductListingRow> findListingRowsByShopId(@Param("shopId") Long shopId, Pageable pageable);
+
+    @Query(LISTING_ROW_SELECT + "AND p.id = :id")
+    Optional<ProductListingRow> findListingRowById(@Param("id") Long id);
+
+    // Must be consumed inside a transaction: PostgreSQL only honours the fetch size with autocommit off
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+SELECT p FROM Product p
+JOIN p.shop s
+LEFT JOIN FETCH p.brand
+LEFT JOIN FETCH p.category
+WHERE s.deletedAt IS NULL
+ORDER BY p.id
+""")
+    Stream<Product> streamAllForExport();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.id AS id, p.name AS name FROM Product p WHERE p.shop.deletedAt IS NULL")
+    Stream<ProductNameView> streamAllNames();
+
+    @Query("SELECT p.id FROM Product p WHERE p.shop.id = :shopId")
+    List<Long> findIdsByShopId(@Param("shopId") Long shopId);
+
+    @Query("SELECT p.shop.id FROM Product p WHERE p.id = :id")
+    Optional<Long> findShopIdById(@Param("id") Long id);
+
+    // Ranked full-text search backed by the GIN index on the generated search_vector column
+    @Query(value = """
+SELECT p.* FROM products p
+JOIN shops s ON s.id = p.shop_id AND s.deleted_at IS NULL,
+websearch_to_tsquery('english', :q) query
+WHERE p.search_vector @@ query
+  AND (CAST(:shopId AS BIGINT) IS NULL OR p.shop_id = :shopId)
+ORDER BY ts_rank(p.search_vector, query) DESC, p.id
+""",
+            countQuery = """
+SELECT count(*) FROM products p
+JOIN shops s ON s.id = p.shop_id AND s.deleted_at IS NULL
+WHERE p.search_vector @@ websearch_to_tsquery('english', :q)
+  AND (CAST(:shopId AS BIGINT) IS NULL OR p.shop_id = :shopId)
+""",
+            nativeQuery = true)
+    Page<Product> search(@Param("q") String q, @Param("shopId") Long shopId, Pageable pageable);
+
+    // Check-and-decrement in one statement: concurrent buyers serialise on the row lock, never oversell
+    @Modifying
+    @Query(value = """
+UPDATE products
+SET quantity = quantity - :amount, updated_at = LOCALTIMESTAMP
+WHERE id = :id AND quantity >= :amount
+""", nativeQuery = true)
+    int decrementStock(@Param("id") Long id, @Param("amount") int amount);
+
+    @Modifying
+    @Query(value = """
+UPDATE products
+SET quantity = quantity + :amount, updated_at = LOCALTIMESTAMP
+WHERE id = :id
+""", nativeQuery = true)
+    int incrementStock(@Param("id") Long id, @Param("amount") int amount);
+}
@@ -0,0 +1,52 @@
+package com.shermatov.carparts.repository;
+
+import com.shermatov.carparts.domain.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    // The user is needed to sign the next access token, so it comes back in the same query
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") byte[] tokenHash);
+
+    // Conditional, so of two concurrent refreshes with the same token only one can rotate it
+    @Transactional
+    @Modifying
+    @Query(value = """
+UPDATE refresh_tokens
+SET used_at = LOCALTIMESTAMP, updated_at = LOCALTIMESTAMP
+WHERE id = :id AND used_at IS NULL AND revoked_at IS NULL AND expires_at > LOCALTIMESTAMP
+""", nativeQuery = true)
+    int markUsed(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+UPDATE refresh_tokens
+SET revoked_at = LOCALTIMESTAMP, updated_at = LOCALTIMESTAMP
+WHERE family_id = :familyId AND revoked_at IS NULL
+""", nativeQuery = true)
+    int revokeFamily(@Param("familyId") UUID familyId);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+UPDATE refresh_tokens
+SET revoked_at = LOCALTIMESTAMP, updated_at = LOCALTIMESTAMP
+WHERE user_id = :userId AND revoked_at IS NULL AND expires_at > LOCALTIMESTAMP
+""", nativeQuery = true)
+    int revokeAllForUser(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE expires_at < :cutoff", nativeQuery = true)
+    int deleteExpiredBefore(@Param("cutoff") LocalDateTime cutoff);
+}
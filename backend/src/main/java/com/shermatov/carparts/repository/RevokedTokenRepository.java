@@ -0,0 +1,51 @@
+package com.shermatov.carparts.repository;
+
+import com.shermatov.carparts.repository.projection.RevokedTokenRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Access to the revoked_tokens table, which backs the in-memory revocation list.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RevokedTokenRepository {
+
+    private static final RowMapper<RevokedTokenRow> ROW_MAPPER = (rs, rowNum) -> new RevokedTokenRow(
+            rs.getObject("token_id", UUID.class),
+            rs.getObject("expires_at", LocalDateTime.class),
+            rs.getObject("revoked_at", LocalDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Revoking twice is harmless, so a repeated logout does not fail
+    public void insert(UUID tokenId, LocalDateTime expiresAt) {
+        jdbcTemplate.update(
+                "INSERT INTO revoked_tokens (token_id, expires_at) VALUES (?, ?) ON CONFLICT (token_id) DO NOTHING",
+                tokenId, expiresAt);
+    }
+
+    public List<RevokedTokenRow> findUnexpired(LocalDateTime now) {
+        return jdbcTemplate.query(
+                "SELECT token_id, expires_at, revoked_at FROM revoked_tokens WHERE expires_at > ?",
+                ROW_MAPPER,
+                now);
+    }
+
+    public List<RevokedTokenRow> findRevokedSince(LocalDateTime since) {
+        return jdbcTemplate.query(
+                "SELECT token_id, expires_at, revoked_at FROM revoked_tokens WHERE revoked_at > ? ORDER BY revoked_at",
+                ROW_MAPPER,
+                since);
+    }
+
+    public int deleteExpiredBefore(LocalDateTime before) {
+        return jdbcTemplate.update("DELETE FROM revoked_tokens WHERE expires_at < ?", before);
+    }
+}
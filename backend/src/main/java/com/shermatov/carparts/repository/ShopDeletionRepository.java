@@ -0,0 +1,43 @@
+package com.shermatov.carparts.repository;
+
+import com.shermatov.carparts.domain.ShopDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ShopDeletionRepository extends JpaRepository<ShopDeletion, Long> {
+
+    Optional<ShopDeletion> findByShopId(Long shopId);
+
+    @Query("""
+SELECT d.id FROM ShopDeletion d
+WHERE d.status = com.shermatov.carparts.domain.ShopDeletionStatus.PENDING
+   OR (d.status = com.shermatov.carparts.domain.ShopDeletionStatus.RUNNING AND d.updatedAt < :staleBefore)
+ORDER BY d.id
+""")
+    List<Long> findResumableIds(@Param("staleBefore") LocalDateTime staleBefore);
+
+    // Claiming is a conditional update, so only one worker (or instance) runs a deletion at a time
+    @Modifying
+    @Query(value = """
+UPDATE shop_deletions
+SET status = 'RUNNING', updated_at = LOCALTIMESTAMP
+WHERE id = :id
+  AND (status = 'PENDING' OR (status = 'RUNNING' AND updated_at < :staleBefore))
+""", nativeQuery = true)
+    int claim(@Param("id") Long id, @Param("staleBefore") LocalDateTime staleBefore);
+
+    // Progress and heartbeat in one write
+    @Modifying
+    @Query(value = """
+UPDATE shop_deletions
+SET deleted_products = deleted_products + :deleted, updated_at = LOCALTIMESTAMP
+WHERE id = :id
+""", nativeQuery = true)
+    int addProgress(@Param("id") Long id, @Param("deleted") int deleted);
+}
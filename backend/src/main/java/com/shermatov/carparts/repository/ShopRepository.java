@@ -1,13 +1,45 @@
 package com.shermatov.carparts.repository;
 
 import com.shermatov.carparts.domain.Shop;
+import com.shermatov.carparts.repository.projection.ResourceVersion;
+import com.shermatov.carparts.repository.projection.ShopLocationView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ShopRepository extends JpaRepository<Shop, Long> {
 
-    List<Shop> findByOwnerId(Long ownerId);
+    // Shops with deletedAt set are being removed in the background and are hidden from reads
+    List<Shop> findAllByDeletedAtIsNull();
+
+    List<Shop> findByOwnerIdAndDeletedAtIsNull(Long ownerId);
+
+    Optional<Shop> findByIdAndDeletedAtIsNull(Long id);
+
+    boolean existsByIdAndDeletedAtIsNull(Long id);
+
+    // FOR UPDATE conflicts with the key-share lock a product insert takes on its shop, so no
+    // product can be added to the shop until the locking transaction ends
+    @Query(value = "SELECT id FROM shops WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+
+    @Query("""
+SELECT new com.shermatov.carparts.repository.projection.ResourceVersion(max(s.updatedAt), count(s))
+FROM Shop s
+WHERE s.deletedAt IS NULL
+""")
+    ResourceVersion findVersion();
+
+    @Query("""
+SELECT new com.shermatov.carparts.repository.projection.ShopLocationView(
+    s.id, s.name, s.address, s.latitude, s.longitude)
+FROM Shop s
+WHERE s.latitude IS NOT NULL AND s.longitude IS NOT NULL AND s.deletedAt IS NULL
+""")
+    List<ShopLocationView> findAllLocations();
 }
 
 
@@ -0,0 +1,51 @@
+package com.shermatov.carparts.repository;
+
+import com.shermatov.carparts.domain.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    // Status transitions are conditional so release, confirm and expiry can never both win
+    @Modifying
+    @Query(value = """
+UPDATE stock_reservations
+SET status = :target, updated_at = LOCALTIMESTAMP
+WHERE id = :id AND status = 'ACTIVE' AND expires_at > LOCALTIMESTAMP
+""", nativeQuery = true)
+    int transitionActive(@Param("id") Long id, @Param("target") String target);
+
+    /**
+     * Expires up to {@code batchSize} overdue reservations and returns their units to stock,
+     * all in one statement. Rows locked by a concurrent release are skipped for this round.
+     *
+     * @return number of products whose stock was restored
+     */
+    @Modifying
+    @Query(value = """
+WITH expired AS (
+    UPDATE stock_reservations r
+    SET status = 'EXPIRED', updated_at = LOCALTIMESTAMP
+    WHERE r.id IN (
+        SELECT id FROM stock_reservations
+        WHERE status = 'ACTIVE' AND expires_at <= LOCALTIMESTAMP
+        ORDER BY expires_at
+        LIMIT :batchSize
+        FOR UPDATE SKIP LOCKED
+    )
+    RETURNING r.product_id, r.quantity
+)
+UPDATE products p
+SET quantity = p.quantity + e.total, updated_at = LOCALTIMESTAMP
+FROM (SELECT product_id, SUM(quantity) AS total FROM expired GROUP BY product_id) e
+WHERE p.id = e.product_id
+""", nativeQuery = true)
+    int expireOverdue(@Param("batchSize") int batchSize);
+
+    // The product is going away, so active holds are dropped rather than returned to its stock
+    @Modifying
+    @Query(value = "DELETE FROM stock_reservations WHERE product_id = :productId", nativeQuery = true)
+    int deleteByProductId(@Param("productId") Long productId);
+}
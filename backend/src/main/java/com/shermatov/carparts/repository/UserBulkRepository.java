@@ -0,0 +1,16 @@
+package com.shermatov.carparts.repository;
+
+import com.shermatov.carparts.repository.projection.UserIdEmail;
+
+import java.util.List;
+
+public interface UserBulkRepository {
+
+    /**
+     * Inserts all users with the USER role in a single statement and returns the ids of
+     * the rows written. Emails that are already taken are skipped and missing from the result.
+     *
+     * @param passwords encoded passwords, never raw ones
+     */
+    List<UserIdEmail> insertAll(String[] emails, String[] passwords, String[] firstNames, String[] lastNames);
+}
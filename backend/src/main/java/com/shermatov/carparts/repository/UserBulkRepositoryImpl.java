@@ -0,0 +1,40 @@
+package com.shermatov.carparts.repository;
+
+import com.shermatov.carparts.repository.projection.UserIdEmail;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class UserBulkRepositoryImpl implements UserBulkRepository {
+
+    // Same shape as the product import: one array per column, one round trip per chunk.
+    // ON CONFLICT covers emails registered between the duplicate check and the insert.
+    private static final String INSERT_SQL = """
+            INSERT INTO users (email, password, first_name, last_name, role, created_at, updated_at)
+            SELECT t.email, t.password, t.first_name, t.last_name, 'USER', LOCALTIMESTAMP, LOCALTIMESTAMP
+            FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[])
+                 AS t(email, password, first_name, last_name)
+            ON CONFLICT DO NOTHING
+            RETURNING id, email
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<UserIdEmail> insertAll(String[] emails, String[] passwords, String[] firstNames, String[] lastNames) {
+        if (emails.length == 0) {
+            return List.of();
+        }
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_SQL);
+            ps.setArray(1, connection.createArrayOf("varchar", emails));
+            ps.setArray(2, connection.createArrayOf("varchar", passwords));
+            ps.setArray(3, connection.createArrayOf("varchar", firstNames));
+            ps.setArray(4, connection.createArrayOf("varchar", lastNames));
+            return ps;
+        }, (rs, rowNum) -> new UserIdEmail(rs.getLong("id"), rs.getString("email")));
+    }
+}
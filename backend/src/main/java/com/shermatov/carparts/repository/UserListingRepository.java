@@ -0,0 +1,22 @@
+package com.shermatov.carparts.repository;
+
+import com.shermatov.carparts.domain.Role;
+import com.shermatov.carparts.pagination.UserCursor;
+import com.shermatov.carparts.repository.projection.UserListRow;
+import org.springframework.data.domain.Slice;
+
+public interface UserListingRepository {
+
+    /**
+     * Returns up to {@code size} active users, newest first, that come strictly after the
+     * given cursor. A {@code null} cursor starts from the newest user; a {@code null} role
+     * lists everyone. No count query is issued.
+     */
+    Slice<UserListRow> findListingSlice(Role role, UserCursor after, int size);
+
+    /**
+     * Planner row estimate for the same filter, taken from table statistics rather than
+     * counted, so it costs the same on any table size and may lag recent writes.
+     */
+    long estimateListingCount(Role role);
+}
@@ -0,0 +1,65 @@
+package com.shermatov.carparts.repository;
+
+import com.shermatov.carparts.domain.Role;
+import com.shermatov.carparts.pagination.UserCursor;
+import com.shermatov.carparts.repository.projection.UserListRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class UserListingRepositoryImpl implements UserListingRepository {
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<UserListRow> findListingSlice(Role role, UserCursor after, int size) {
+        StringBuilder jpql = new StringBuilder("""
+                select new com.shermatov.carparts.repository.projection.UserListRow(
+                    u.id, u.email, u.firstName, u.lastName, u.role, u.createdAt)
+                from User u
+                where u.deletedAt is null""");
+        if (role != null) {
+            jpql.append(" and u.role = :role");
+        }
+        if (after != null) {
+            // Row-value comparison lets PostgreSQL seek straight into the (created_at, id) index
+            jpql.append(" and (u.createdAt, u.id) < (:createdAt, :id)");
+        }
+        jpql.append(" order by u.createdAt desc, u.id desc");
+
+        // One extra row tells whether another slice exists
+        TypedQuery<UserListRow> query = entityManager.createQuery(jpql.toString(), UserListRow.class)
+                .setMaxResults(size + 1);
+        if (role != null) {
+            query.setParameter("role", role);
+        }
+        if (after != null) {
+            query.setParameter("createdAt", after.createdAt());
+            query.setParameter("id", after.id());
+        }
+
+        List<UserListRow> rows = query.getResultList();
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, PageRequest.of(0, size), hasNext);
+    }
+
+    @Override
+    public long estimateListingCount(Role role) {
+        // The role is an enum constant, never user text, so it is safe to inline into EXPLAIN
+        String sql = "EXPLAIN SELECT 1 FROM users WHERE deleted_at IS NULL"
+                + (role != null ? " AND role = '" + role.name() + "'" : "");
+        List<?> plan = entityManager.createNativeQuery(sql).getResultList();
+        Matcher matcher = PLAN_ROWS.matcher(plan.isEmpty() ? "" : plan.get(0).toString());
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0L;
+    }
+}
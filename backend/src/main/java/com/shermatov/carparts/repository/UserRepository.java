@@ -6,28 +6,86 @@ import org.jspecify.annotations.NonNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserListingRepository, UserBulkRepository {
     Optional<User> findByEmailAndDeletedAtIsNull(String email);
     boolean existsByEmailAndDeletedAtIsNull(String email);
     Page<User> findAllByRoleEqualsAndDeletedAtIsNull(Role role, @NonNull Pageable pageable);
 
-    @Query("""
-SELECT u FROM User u
-WHERE u.deletedAt IS NULL AND
-(
-   LOWER(u.firstName) LIKE LOWER(CONCAT('%', :q, '%'))
-   OR LOWER(u.lastName) LIKE LOWER(CONCAT('%', :q, '%'))
-   OR LOWER(u.email) LIKE LOWER(CONCAT('%', :q, '%'))
-) AND u.role = :role
-""")
-    Page<User> search(@Param("q") String q, @Param("role") Role role, Pageable pageable);
+    // Matches the partial unique index on email, which only covers live users
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails AND u.deletedAt IS NULL")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Substring search over first name, last name and email, best matches first.
+     * Each LIKE is answered by a trigram GIN index on the same lower(...) expression.
+     *
+     * @param pattern lower-case {@code %q%} pattern with LIKE wildcards in q escaped
+     * @param q       lower-case search text used for ranking
+     */
+    @Query(value = """
+SELECT u.* FROM users u
+WHERE u.deleted_at IS NULL
+  AND u.role = :role
+  AND (lower(u.first_name) LIKE :pattern
+       OR lower(u.last_name) LIKE :pattern
+       OR lower(u.email) LIKE :pattern)
+ORDER BY greatest(word_similarity(:q, lower(u.first_name)),
+                  word_similarity(:q, lower(u.last_name)),
+                  word_similarity(:q, lower(u.email))) DESC,
+         u.id
+""",
+            countQuery = """
+SELECT count(*) FROM users u
+WHERE u.deleted_at IS NULL
+  AND u.role = :role
+  AND (lower(u.first_name) LIKE :pattern
+       OR lower(u.last_name) LIKE :pattern
+       OR lower(u.email) LIKE :pattern)
+""",
+            nativeQuery = true)
+    Page<User> search(@Param("pattern") String pattern, @Param("q") String q,
+                      @Param("role") String role, Pageable pageable);
 
     Page<User> findAllByDeletedAtIsNull(@NonNull Pageable pageable);
+
+    /**
+     * Moves up to {@code batchSize} users deleted before {@code cutoff} into users_archive,
+     * dropping their password reset tokens, in one statement and its own transaction.
+     * Users still referenced by a shop or a stock reservation stay where they are.
+     *
+     * @return number of users archived
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+WITH candidates AS (
+    SELECT u.id FROM users u
+    WHERE u.deleted_at < :cutoff
+      AND NOT EXISTS (SELECT 1 FROM shops s WHERE s.owner_id = u.id)
+      AND NOT EXISTS (SELECT 1 FROM stock_reservations r WHERE r.user_id = u.id)
+    ORDER BY u.deleted_at
+    LIMIT :batchSize
+    FOR UPDATE SKIP LOCKED
+), tokens AS (
+    DELETE FROM password_reset_tokens t USING candidates c WHERE t.user_id = c.id
+), moved AS (
+    DELETE FROM users u USING candidates c WHERE u.id = c.id
+    RETURNING u.id, u.email, u.first_name, u.last_name, u.role, u.created_at, u.updated_at, u.deleted_at
+)
+INSERT INTO users_archive (id, email, first_name, last_name, role, created_at, updated_at, deleted_at)
+SELECT id, email, first_name, last_name, role, created_at, updated_at, deleted_at FROM moved
+""", nativeQuery = true)
+    int archiveDeleted(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 }
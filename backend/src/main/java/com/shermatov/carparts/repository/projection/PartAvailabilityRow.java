@@ -0,0 +1,17 @@
+package com.shermatov.carparts.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the part_availability read model.
+ */
+public record PartAvailabilityRow(
+        long productId,
+        String partKey,
+        long shopId,
+        double price,
+        int quantity,
+        boolean deleted,
+        LocalDateTime updatedAt
+) {
+}
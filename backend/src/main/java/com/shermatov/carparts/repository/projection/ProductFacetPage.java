@@ -0,0 +1,13 @@
+package com.shermatov.carparts.repository.projection;
+
+import com.shermatov.carparts.dto.response.FacetCount;
+
+import java.util.List;
+
+public record ProductFacetPage(
+        List<ProductListingRow> rows,
+        long total,
+        List<FacetCount> brands,
+        List<FacetCount> categories
+) {
+}
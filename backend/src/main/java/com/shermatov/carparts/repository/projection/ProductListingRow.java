@@ -0,0 +1,17 @@
+package com.shermatov.carparts.repository.projection;
+
+/**
+ * Flat product row with brand and category names already joined in.
+ */
+public record ProductListingRow(
+        Long id,
+        String name,
+        String description,
+        Double price,
+        Integer quantity,
+        Long brandId,
+        String brandName,
+        Long categoryId,
+        String categoryName
+) {
+}
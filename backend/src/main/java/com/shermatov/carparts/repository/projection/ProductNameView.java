@@ -0,0 +1,6 @@
+package com.shermatov.carparts.repository.projection;
+
+public interface ProductNameView {
+    Long getId();
+    String getName();
+}
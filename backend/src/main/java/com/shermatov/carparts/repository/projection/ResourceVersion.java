@@ -0,0 +1,13 @@
+package com.shermatov.carparts.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap validator for a resource or collection: the newest {@code updated_at} and the
+ * number of rows. A delete lowers the count; any other write moves the timestamp.
+ */
+public record ResourceVersion(
+        LocalDateTime lastModified,
+        Long count
+) {
+}
@@ -0,0 +1,7 @@
+package com.shermatov.carparts.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record RevokedTokenRow(UUID tokenId, LocalDateTime expiresAt, LocalDateTime revokedAt) {
+}
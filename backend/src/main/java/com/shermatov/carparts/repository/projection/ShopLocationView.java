@@ -0,0 +1,13 @@
+package com.shermatov.carparts.repository.projection;
+
+/**
+ * What the spatial index needs to answer a nearest-shops query on its own.
+ */
+public record ShopLocationView(
+        Long id,
+        String name,
+        String address,
+        Double latitude,
+        Double longitude
+) {
+}
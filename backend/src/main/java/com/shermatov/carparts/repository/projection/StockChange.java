@@ -0,0 +1,4 @@
+package com.shermatov.carparts.repository.projection;
+
+public record StockChange(Long productId, Long shopId, Integer quantity) {
+}
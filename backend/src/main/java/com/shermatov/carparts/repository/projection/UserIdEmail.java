@@ -0,0 +1,4 @@
+package com.shermatov.carparts.repository.projection;
+
+public record UserIdEmail(Long id, String email) {
+}
@@ -0,0 +1,18 @@
+package com.shermatov.carparts.repository.projection;
+
+import com.shermatov.carparts.domain.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns shown in the admin user list, selected without loading the entity.
+ */
+public record UserListRow(
+        Long id,
+        String email,
+        String firstName,
+        String lastName,
+        Role role,
+        LocalDateTime createdAt
+) {
+}
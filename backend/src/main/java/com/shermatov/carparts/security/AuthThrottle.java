@@ -0,0 +1,124 @@
+package com.shermatov.carparts.security;
+
+import com.shermatov.carparts.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Rate limits for the unauthenticated endpoints that cost a password hash or an email.
+ *
+ * <p>Every attempt needs a token from its client address's bucket. Password resets also
+ * take one from the account's bucket, so nobody can flood a mailbox. Logins charge the
+ * account only for failed attempts, twice: per client address, so guessing one account
+ * from one source stays slow while a correct password from elsewhere is not locked out by
+ * somebody else's failures, and across all addresses with a much larger budget, so a run
+ * spread over many sources is still capped per account. Checks run before any database or
+ * password work, so a rejected attempt costs three hash-map probes. Publishes
+ * {@code auth.throttle.rejected{scope}} and {@code auth.throttle.keys}.</p>
+ */
+@Slf4j
+@Component
+public class AuthThrottle {
+
+    private static final String MESSAGE = "Too many attempts, please try again later.";
+
+    private final TokenBucketLimiter byAccount;
+    private final TokenBucketLimiter byAccountTotal;
+    private final TokenBucketLimiter byAddress;
+    private final Counter rejectedByAccount;
+    private final Counter rejectedByAccountTotal;
+    private final Counter rejectedByAddress;
+
+    public AuthThrottle(@Value("${app.security.throttle.account-burst:5}") int accountBurst,
+                        @Value("${app.security.throttle.account-refill:60s}") Duration accountRefill,
+                        @Value("${app.security.throttle.account-total-burst:50}") int accountTotalBurst,
+                        @Value("${app.security.throttle.account-total-refill:20s}") Duration accountTotalRefill,
+                        @Value("${app.security.throttle.address-burst:30}") int addressBurst,
+                        @Value("${app.security.throttle.address-refill:2s}") Duration addressRefill,
+                        @Value("${app.security.throttle.max-keys:100000}") int maxKeys,
+                        MeterRegistry meterRegistry) {
+        this.byAccount = new TokenBucketLimiter(accountBurst, accountRefill, maxKeys, AuthThrottle::monotonicMillis);
+        this.byAccountTotal = new TokenBucketLimiter(accountTotalBurst, accountTotalRefill, maxKeys,
+                AuthThrottle::monotonicMillis);
+        this.byAddress = new TokenBucketLimiter(addressBurst, addressRefill, maxKeys, AuthThrottle::monotonicMillis);
+
+        this.rejectedByAccount = Counter.builder("auth.throttle.rejected").tag("scope", "account")
+                .register(meterRegistry);
+        this.rejectedByAccountTotal = Counter.builder("auth.throttle.rejected").tag("scope", "account-total")
+                .register(meterRegistry);
+        this.rejectedByAddress = Counter.builder("auth.throttle.rejected").tag("scope", "address")
+                .register(meterRegistry);
+        Gauge.builder("auth.throttle.keys", this, throttle -> throttle.byAccount.size() + throttle.byAccountTotal.size() + throttle.byAddress.size())
+                .register(meterRegistry);
+    }
+
+    public void checkLogin(String email, String clientAddress) {
+        acquireAddress("login", clientAddress);
+        reject(byAccount.peek(loginFailureKey(email, clientAddress)), rejectedByAccount);
+        reject(byAccountTotal.peek(loginFailureKey(email)), rejectedByAccountTotal);
+    }
+
+    // Called once the credentials were checked and did not match
+    public void loginFailed(String email, String clientAddress) {
+        byAccount.tryAcquire(loginFailureKey(email, clientAddress));
+        byAccountTotal.tryAcquire(loginFailureKey(email));
+    }
+
+    public void checkPasswordReset(String email, String clientAddress) {
+        acquireAddress("reset", clientAddress);
+        reject(byAccount.tryAcquire("reset:" + account(email)), rejectedByAccount);
+    }
+
+    // Full buckets carry no state, so dropping them only frees memory
+    @Scheduled(fixedDelayString = "${app.security.throttle.sweep-ms:60000}")
+    public void evictIdle() {
+        int evicted = byAccount.evictIdle() + byAccountTotal.evictIdle() + byAddress.evictIdle();
+        if (evicted > 0) {
+            log.debug("Dropped {} idle throttle bucket(s)", evicted);
+        }
+    }
+
+    // The address is checked first, so one source spraying many accounts spends only its own budget
+    private void acquireAddress(String action, String clientAddress) {
+        reject(byAddress.tryAcquire(action + ':' + address(clientAddress)), rejectedByAddress);
+    }
+
+    private static void reject(long wait, Counter rejected) {
+        if (wait > 0) {
+            rejected.increment();
+            throw new TooManyRequestsException(MESSAGE, retryAfterSeconds(wait));
+        }
+    }
+
+    private static String loginFailureKey(String email, String clientAddress) {
+        return loginFailureKey(email) + '|' + address(clientAddress);
+    }
+
+    private static String loginFailureKey(String email) {
+        return "login:" + account(email);
+    }
+
+    private static String account(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static String address(String clientAddress) {
+        return clientAddress != null ? clientAddress : "unknown";
+    }
+
+    private static int retryAfterSeconds(long waitMillis) {
+        return (int) Math.max(1, (waitMillis + 999) / 1000);
+    }
+
+    private static long monotonicMillis() {
+        return System.nanoTime() / 1_000_000;
+    }
+}
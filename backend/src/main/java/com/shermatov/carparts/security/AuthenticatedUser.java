@@ -0,0 +1,46 @@
+package com.shermatov.carparts.security;
+
+import com.shermatov.carparts.domain.Role;
+import com.shermatov.carparts.domain.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * The principal of an authenticated request: an immutable snapshot of the user taken when
+ * it was loaded, so one instance can be shared by every concurrent request of that user.
+ * Services that need the entity, e.g. to link it, use {@code getReferenceById(id())}.
+ *
+ * @param id          the user's id
+ * @param email       the user's email, also the principal name
+ * @param role        the user's role
+ * @param authorities computed once from the role
+ */
+public record AuthenticatedUser(Long id, String email, Role role, List<GrantedAuthority> authorities)
+        implements Principal {
+
+    public AuthenticatedUser {
+        authorities = List.copyOf(authorities);
+    }
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole(), List.copyOf(user.getAuthorities()));
+    }
+
+    /**
+     * The principal of the current request; only valid behind the JWT filter.
+     */
+    public static AuthenticatedUser current() {
+        return (AuthenticatedUser) SecurityContextHolder
+                .getContext()
+                .getAuthentication()
+                .getPrincipal();
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
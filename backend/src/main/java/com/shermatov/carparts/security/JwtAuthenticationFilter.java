@@ -1,5 +1,6 @@
 package com.shermatov.carparts.security;
 
+import com.shermatov.carparts.cache.PrincipalCache;
 import com.shermatov.carparts.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -18,11 +19,16 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final PrincipalCache principalCache;
     private final UserRepository userRepository;
+    private final TokenRevocationList tokenRevocationList;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtService jwtService, PrincipalCache principalCache, UserRepository userRepository,
+                                   TokenRevocationList tokenRevocationList) {
         this.jwtService = jwtService;
+        this.principalCache = principalCache;
         this.userRepository = userRepository;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
 
@@ -53,17 +59,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String token = authHeader.substring(7);
 
         try {
-            String email = jwtService.extractUsername(token);
+            // One verification per request at most; repeated tokens are answered from the cache
+            TokenClaims claims = jwtService.verify(token);
+            // A bearer token that is present but malformed, expired or revoked is refused outright
+            if (claims == null || tokenRevocationList.isRevoked(claims.tokenId())) {
+                writeUnauthorized(response);
+                return;
+            }
+
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                var principal = principalCache.get(claims.subject(),
+                        email -> userRepository.findByEmailAndDeletedAtIsNull(email).orElse(null));
 
-                var user = userRepository.findByEmailAndDeletedAtIsNull(email).orElse(null);
+                // A token issued to an account deleted since must not pass for whoever reuses its email.
+                // Tokens from before the uid claim carry none and are taken on their subject alone;
+                // they expire within one token lifetime of the release that added it.
+                if (principal != null && claims.userId() != null && !principal.id().equals(claims.userId())) {
+                    writeUnauthorized(response);
+                    return;
+                }
 
-                if (user != null && jwtService.isTokenValid(token, user)) {
+                if (principal != null) {
                     var authToken = new UsernamePasswordAuthenticationToken(
-                            user,    // reviewer requested change
+                            principal,    // immutable snapshot, shared by the user's concurrent requests
                             null,
-                            user.getAuthorities() // future-proof for roles
+                            principal.authorities() // computed once per cached user
                     );
 
                     authToken.setDetails(
@@ -74,14 +95,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 }
             }
         } catch (Exception ex) {
-            // DEV-12 compliant safe error response
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.setContentType("application/json");
-            response.getWriter().write("""
-                    { "error": "Invalid or expired token" }
-                    """);
+            writeUnauthorized(response);
             return; // Stop filter chain - response already written
         }
         filterChain.doFilter(request, response);
     }
+
+    // DEV-12 compliant safe error response
+    private static void writeUnauthorized(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType("application/json");
+        response.getWriter().write("""
+                { "error": "Invalid or expired token" }
+                """);
+    }
 }
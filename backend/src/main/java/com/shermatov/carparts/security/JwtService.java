@@ -1,20 +1,36 @@
 package com.shermatov.carparts.security;
 
+import com.shermatov.carparts.cache.ExpiringCache;
 import com.shermatov.carparts.domain.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class JwtService {
 
+    // Verified tokens are remembered by digest, so a client reusing its token skips the
+    // HMAC check and JSON parse. Entries never outlive the token itself.
+    private static final int MAX_CACHED_TOKENS = 10_000;
+    private static final Duration MAX_CACHE_TTL = Duration.ofMinutes(10);
+
+    // Emails can be reused once an account is deleted, so tokens are also bound to the user id
+    private static final String USER_ID_CLAIM = "uid";
+
     @Value("${jwt.secret}")
     private String secret;
 
@@ -22,45 +38,72 @@ public class JwtService {
     private static final long EXPIRATION_TIME = 30 * 60 * 1000;
     //                                           |______if you wanna change expiration time change this, ex: you wanna 5 min -> 5 * 60 * 1000 -> expiration time will be 5 min
 
-    public String extractUsername(String token) {
-        try {
-            return getClaims(token).getSubject();
-        } catch (Exception e) {
+    private final ExpiringCache<String, TokenClaims> verifiedTokens =
+            new ExpiringCache<>(MAX_CACHED_TOKENS, MAX_CACHE_TTL);
+
+    // Both are immutable and thread-safe, so they are built once instead of per request
+    private Key signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    /**
+     * Verifies the token at most once while it stays cached.
+     *
+     * @return the token's claims, or {@code null} when it is malformed, forged or expired
+     */
+    public TokenClaims verify(String token) {
+        if (token == null || token.isBlank()) {
             return null;
         }
-    }
+        String key = digest(token);
+        Instant now = Instant.now();
 
-    public boolean isTokenValid(String token, User user) {
+        TokenClaims cached = verifiedTokens.get(key);
+        if (cached != null) {
+            return cached.isExpired(now) ? null : cached;
+        }
+
+        TokenClaims claims;
         try {
-            String username = extractUsername(token);
-            if (username == null || !username.equals(user.getEmail())) {
-                return false;
+            Claims body = parser.parseClaimsJws(token).getBody();
+            if (body.getSubject() == null || body.getExpiration() == null) {
+                return null;
             }
-            Claims claims = getClaims(token);
-            return !claims.getExpiration().before(new Date());
-        } catch (Exception e) {
-            return false;
+            claims = new TokenClaims(body.getSubject(), body.get(USER_ID_CLAIM, Long.class), tokenId(body.getId()),
+                    body.getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
         }
+        verifiedTokens.put(key, claims, Duration.between(now, claims.expiresAt()));
+        return claims;
     }
 
-    private Claims getClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public String extractUsername(String token) {
+        TokenClaims claims = verify(token);
+        return claims != null ? claims.subject() : null;
     }
 
-    private Key getSignInKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    public boolean isTokenValid(String token, User user) {
+        TokenClaims claims = verify(token);
+        return claims != null && claims.subject().equals(user.getEmail());
     }
 
-
+    // Upper bound for how long any access token issued now stays valid
+    public Duration accessTokenLifetime() {
+        return Duration.ofMillis(EXPIRATION_TIME);
+    }
 
     public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", user.getRole().name());
+        claims.put(USER_ID_CLAIM, user.getId());
 
         Date now = new Date();
         Date expiry = new Date(now.getTime() + EXPIRATION_TIME);
@@ -68,9 +111,31 @@ public class JwtService {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(user.getEmail())
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(now)
                 .setExpiration(expiry)
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
-}
\ No newline at end of file
+
+    // Parsed here, once per token, so the revocation check per request works on a ready UUID
+    private static UUID tokenId(String jti) {
+        if (jti == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(jti);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.shermatov.carparts.security;
+
+import com.shermatov.carparts.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The only place password hashes are computed.
+ *
+ * <p>BCrypt is CPU-bound by design, so it runs on one thread per core behind a short queue
+ * instead of on request threads. When the queue is full new work is refused at once with
+ * {@link ServiceBusyException} (503 + Retry-After) rather than piling up, so a burst of
+ * logins cannot starve the rest of the API.</p>
+ *
+ * <p>Publishes {@code password.hash.queue}, {@code password.hash.active},
+ * {@code password.hash{operation}} latency and {@code password.hash.rejected}.</p>
+ */
+@Component
+public class PasswordHashingPool implements Executor {
+
+    private static final int RETRY_AFTER_SECONDS = 1;
+
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+
+    public PasswordHashingPool(@Value("${app.security.hashing.threads:0}") int threads,
+                               @Value("${app.security.hashing.queue-capacity:0}") int queueCapacity,
+                               MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        int capacity = queueCapacity > 0 ? queueCapacity : poolSize * 8;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity),
+                task -> {
+                    Thread thread = new HashingThread(task, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("password.hash.queue", executor, e -> e.getQueue().size())
+                .description("Hash operations waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("password.hash.rejected")
+                .description("Hash operations refused because the queue was full")
+                .register(meterRegistry);
+    }
+
+    public int parallelism() {
+        return executor.getCorePoolSize();
+    }
+
+    /**
+     * Runs one hash operation on the pool and waits for it. Already on a pool thread, it
+     * runs in place, so work fanned out to the pool may hash without re-queueing.
+     */
+    public <T> T call(String operation, Supplier<T> work) {
+        if (Thread.currentThread() instanceof HashingThread) {
+            return timed(operation, work);
+        }
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timed(operation, work));
+        } catch (RejectedExecutionException ex) {
+            throw busy();
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new CompletionException(ex.getCause());
+        }
+    }
+
+    // For fanning out batches, e.g. with CompletableFuture.runAsync(task, pool)
+    @Override
+    public void execute(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            throw busy();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T timed(String operation, Supplier<T> work) {
+        return Timer.builder("password.hash")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(work);
+    }
+
+    private ServiceBusyException busy() {
+        rejected.increment();
+        return new ServiceBusyException("Too many password operations in progress, please retry shortly.",
+                RETRY_AFTER_SECONDS);
+    }
+
+    private static final class HashingThread extends Thread {
+        HashingThread(Runnable task, String name) {
+            super(task, name);
+        }
+    }
+}
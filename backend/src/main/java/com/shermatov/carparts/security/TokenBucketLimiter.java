@@ -0,0 +1,166 @@
+package com.shermatov.carparts.security;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets keyed by string, for throttling by account or client address.
+ *
+ * <p>Each bucket is one {@link AtomicLong} packing its last refill time (high bits) and
+ * its tokens in thousandths (low 20 bits), so taking a token is a single compare-and-set
+ * with no lock and no allocation. Keys are spread over fixed stripes, each holding at most
+ * its share of {@code maxKeys}. A full bucket behaves exactly like a missing one, so idle
+ * buckets can be dropped at any time without changing any decision.</p>
+ */
+public final class TokenBucketLimiter {
+
+    private static final int TOKEN_BITS = 20;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long SCALE = 1000;
+    private static final int STRIPE_BITS = 6;
+    private static final long SWEEP_INTERVAL_MILLIS = 1000;
+
+    private final long capacity;
+    private final double refillPerMilli;
+    private final int maxKeysPerStripe;
+    private final LongSupplier clockMillis;
+    private final long origin;
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final AtomicLongArray lastSweep = new AtomicLongArray(1 << STRIPE_BITS);
+
+    /**
+     * @param capacity       attempts allowed in a burst, at most 1000
+     * @param refillPerToken time it takes to earn back one attempt
+     * @param maxKeys        keys tracked at most; keys beyond it are not throttled
+     * @param clockMillis    monotonic clock in milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    public TokenBucketLimiter(int capacity, Duration refillPerToken, int maxKeys, LongSupplier clockMillis) {
+        if (capacity < 1 || capacity * SCALE > TOKEN_MASK) {
+            throw new IllegalArgumentException("Bucket capacity must be between 1 and 1000.");
+        }
+        this.capacity = capacity * SCALE;
+        this.refillPerMilli = (double) SCALE / Math.max(1, refillPerToken.toMillis());
+        this.maxKeysPerStripe = Math.max(1, maxKeys >> STRIPE_BITS);
+        this.clockMillis = clockMillis;
+        this.origin = clockMillis.getAsLong();
+        this.stripes = new ConcurrentHashMap[1 << STRIPE_BITS];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Takes one token from the key's bucket.
+     *
+     * @return {@code 0} when the attempt may proceed, otherwise the milliseconds until it may
+     */
+    public long tryAcquire(String key) {
+        long now = clockMillis.getAsLong() - origin;
+        int index = stripeIndex(key);
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[index];
+
+        AtomicLong bucket = stripe.get(key);
+        if (bucket == null) {
+            if (stripe.size() >= maxKeysPerStripe) {
+                // At most one sweep per stripe and second, so a key flood cannot turn into scans
+                long last = lastSweep.get(index);
+                if (now - last >= SWEEP_INTERVAL_MILLIS && lastSweep.compareAndSet(index, last, now)) {
+                    evictIdle(stripe, now);
+                }
+                if (stripe.size() >= maxKeysPerStripe) {
+                    // Failing open keeps a key flood from locking everyone else out
+                    return 0;
+                }
+            }
+            bucket = stripe.computeIfAbsent(key, k -> new AtomicLong(pack(now, capacity)));
+        }
+
+        while (true) {
+            long state = bucket.get();
+            long refilled = refill(state, now);
+            long tokens = refilled & TOKEN_MASK;
+            if (tokens < SCALE) {
+                return (long) Math.ceil((SCALE - tokens) / refillPerMilli);
+            }
+            if (bucket.compareAndSet(state, refilled - SCALE)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Checks the key's bucket without taking a token.
+     *
+     * @return {@code 0} when a token is available, otherwise the milliseconds until one is
+     */
+    public long peek(String key) {
+        AtomicLong bucket = stripes[stripeIndex(key)].get(key);
+        if (bucket == null) {
+            return 0;
+        }
+        long tokens = refill(bucket.get(), clockMillis.getAsLong() - origin) & TOKEN_MASK;
+        return tokens < SCALE ? (long) Math.ceil((SCALE - tokens) / refillPerMilli) : 0;
+    }
+
+    /**
+     * Drops every bucket that has filled up again.
+     *
+     * @return number of keys dropped
+     */
+    public int evictIdle() {
+        long now = clockMillis.getAsLong() - origin;
+        int evicted = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            evicted += evictIdle(stripe, now);
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    // A token taken from a bucket in the instant it is dropped is forgiven; the bucket was full
+    private int evictIdle(ConcurrentHashMap<String, AtomicLong> stripe, long now) {
+        int evicted = 0;
+        Iterator<Map.Entry<String, AtomicLong>> entries = stripe.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, AtomicLong> entry = entries.next();
+            if ((refill(entry.getValue().get(), now) & TOKEN_MASK) >= capacity
+                    && stripe.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    // The refill time only moves when at least a thousandth of a token was earned, so
+    // frequent attempts cannot erase each other's partial progress
+    private long refill(long state, long now) {
+        long stamp = state >>> TOKEN_BITS;
+        long tokens = state & TOKEN_MASK;
+        long earned = (long) ((now - stamp) * refillPerMilli);
+        if (earned <= 0) {
+            return state;
+        }
+        return pack(now, Math.min(capacity, tokens + earned));
+    }
+
+    private static long pack(long stamp, long tokens) {
+        return (stamp << TOKEN_BITS) | tokens;
+    }
+
+    private static int stripeIndex(String key) {
+        return (key.hashCode() * 0x9E3779B9) >>> (Integer.SIZE - STRIPE_BITS);
+    }
+}
@@ -0,0 +1,21 @@
+package com.shermatov.carparts.security;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The parts of a verified access token the application uses. Immutable, so one instance
+ * can be shared by every request that presents the same token.
+ *
+ * @param subject   the user's email
+ * @param userId    the {@code uid} claim, or {@code null} for tokens issued before it was added;
+ *                  those are matched on the subject only
+ * @param tokenId   the {@code jti} claim, or {@code null} for tokens issued without one
+ * @param expiresAt when the token stops being accepted
+ */
+public record TokenClaims(String subject, Long userId, UUID tokenId, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,65 @@
+package com.shermatov.carparts.security;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over token ids. About ten bits per expected entry and seven
+ * probes keep false positives under 1% while it stays within {@link #capacity()}.
+ * Adds are lock-free, so it can be filled while requests read it.
+ */
+final class TokenIdBloomFilter {
+
+    private static final int BITS_PER_ENTRY = 10;
+    private static final int PROBES = 7;
+    private static final int MIN_BITS = 1 << 12;
+    private static final int MAX_BITS = 1 << 30;
+
+    private final AtomicLongArray words;
+    private final int mask;
+    private final int capacity;
+
+    TokenIdBloomFilter(int expectedEntries) {
+        long wanted = Math.max(MIN_BITS, (long) expectedEntries * BITS_PER_ENTRY);
+        int bits = (int) Math.min(MAX_BITS, Long.highestOneBit(wanted - 1) << 1);
+        this.words = new AtomicLongArray(bits >>> 6);
+        this.mask = bits - 1;
+        this.capacity = bits / BITS_PER_ENTRY;
+    }
+
+    void add(UUID tokenId) {
+        long h1 = mix(tokenId.getMostSignificantBits());
+        long h2 = mix(tokenId.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < PROBES; i++) {
+            int bit = (int) ((h1 + i * h2) & mask);
+            long flag = 1L << bit;
+            words.getAndAccumulate(bit >>> 6, flag, (word, f) -> word | f);
+        }
+    }
+
+    boolean mightContain(UUID tokenId) {
+        long h1 = mix(tokenId.getMostSignificantBits());
+        long h2 = mix(tokenId.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < PROBES; i++) {
+            int bit = (int) ((h1 + i * h2) & mask);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    // MurmurHash3 finalizer; UUIDv4 has fixed version bits that must not bias the probes
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,124 @@
+package com.shermatov.carparts.security;
+
+import com.shermatov.carparts.repository.RevokedTokenRepository;
+import com.shermatov.carparts.repository.projection.RevokedTokenRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory replica of revoked_tokens, consulted by every authenticated request.
+ *
+ * <p>A Bloom filter answers the common "not revoked" case with a few bit probes and no
+ * allocation; only its rare positives fall through to the exact set. Revocations made here
+ * apply at once; those made by other instances arrive with the next sync. The periodic
+ * rebuild drops expired ids, resizes the filter and purges the table.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationList {
+
+    // Rows committed by slow transactions can carry a timestamp older than the watermark
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private volatile Snapshot snapshot = Snapshot.of(List.of());
+    private LocalDateTime watermark;
+
+    public boolean isRevoked(UUID tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        return current.bloom.mightContain(tokenId) && current.exact.containsKey(tokenId);
+    }
+
+    public void revoke(UUID tokenId, LocalDateTime expiresAt) {
+        revokedTokenRepository.insert(tokenId, expiresAt);
+        add(tokenId, expiresAt);
+    }
+
+    public int size() {
+        return snapshot.exact.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        LocalDateTime now = LocalDateTime.now();
+        snapshot = Snapshot.of(revokedTokenRepository.findUnexpired(now));
+        watermark = now;
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.revocation-sync-ms:5000}")
+    public synchronized void sync() {
+        if (watermark == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (RevokedTokenRow row : revokedTokenRepository.findRevokedSince(watermark.minus(SYNC_OVERLAP))) {
+            if (row.expiresAt().isAfter(now)) {
+                add(row.tokenId(), row.expiresAt());
+            }
+            if (row.revokedAt().isAfter(watermark)) {
+                watermark = row.revokedAt();
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.security.revocation-rebuild-ms:600000}",
+            fixedDelayString = "${app.security.revocation-rebuild-ms:600000}")
+    public void rebuild() {
+        int purged = revokedTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (purged > 0) {
+            log.debug("Purged {} expired token revocations", purged);
+        }
+        load();
+    }
+
+    private synchronized void add(UUID tokenId, LocalDateTime expiresAt) {
+        Snapshot current = snapshot;
+        if (current.exact.containsKey(tokenId)) {
+            return;
+        }
+        if (current.exact.size() >= current.bloom.capacity()) {
+            // Full filters drift towards always answering "maybe", so grow before adding
+            current = Snapshot.grow(current);
+            snapshot = current;
+        }
+        // Exact set first: a reader that sees the new bits must also find the id
+        current.exact.put(tokenId, expiresAt);
+        current.bloom.add(tokenId);
+    }
+
+    private record Snapshot(TokenIdBloomFilter bloom, Map<UUID, LocalDateTime> exact) {
+
+        static Snapshot of(List<RevokedTokenRow> rows) {
+            Map<UUID, LocalDateTime> exact = new ConcurrentHashMap<>(Math.max(16, rows.size() * 2));
+            rows.forEach(row -> exact.put(row.tokenId(), row.expiresAt()));
+            return fill(exact);
+        }
+
+        static Snapshot grow(Snapshot current) {
+            return fill(new ConcurrentHashMap<>(current.exact));
+        }
+
+        // Sized for twice the current entries, so revocations until the next rebuild fit
+        private static Snapshot fill(Map<UUID, LocalDateTime> exact) {
+            TokenIdBloomFilter bloom = new TokenIdBloomFilter(exact.size() * 2);
+            exact.keySet().forEach(bloom::add);
+            return new Snapshot(bloom, exact);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.shermatov.carparts.service;
+
+import com.shermatov.carparts.dto.request.BrandRequest;
+import com.shermatov.carparts.dto.response.BrandResponse;
+
+import java.util.List;
+
+public interface BrandService {
+
+    BrandResponse createBrand(BrandRequest request);
+
+    BrandResponse updateBrand(Long brandId, BrandRequest request);
+
+    List<BrandResponse> getAllBrands();
+
+    BrandResponse getBrandById(Long brandId);
+
+    void deleteBrand(Long brandId);
+}
@@ -0,0 +1,19 @@
+package com.shermatov.carparts.service;
+
+import com.shermatov.carparts.dto.request.CategoryRequest;
+import com.shermatov.carparts.dto.response.CategoryResponse;
+
+import java.util.List;
+
+public interface CategoryService {
+
+    CategoryResponse createCategory(CategoryRequest request);
+
+    CategoryResponse updateCategory(Long categoryId, CategoryRequest request);
+
+    List<CategoryResponse> getAllCategories();
+
+    CategoryResponse getCategoryById(Long categoryId);
+
+    void deleteCategory(Long categoryId);
+}
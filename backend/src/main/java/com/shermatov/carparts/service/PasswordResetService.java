@@ -1,6 +1,6 @@
 package com.shermatov.carparts.service;
 
 public interface PasswordResetService {
-    void forgotPassword(String email);
+    void forgotPassword(String email, String clientAddress);
     void resetPassword(String token, String newPassword);
 }
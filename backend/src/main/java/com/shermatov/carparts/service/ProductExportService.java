@@ -0,0 +1,14 @@
+package com.shermatov.carparts.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ProductExportService {
+
+    /**
+     * Writes the whole catalog as newline-delimited JSON, one product per line.
+     *
+     * @return number of exported products
+     */
+    long exportCatalog(OutputStream out) throws IOException;
+}
@@ -0,0 +1,16 @@
+package com.shermatov.carparts.service;
+
+import com.shermatov.carparts.dto.response.ProductImportResponse;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+    /**
+     * Imports a CSV file or a JSON array of products into the shop.
+     * Invalid rows are reported and skipped; valid rows are written in chunks.
+     */
+    ProductImportResponse importProducts(Long shopId, MediaType contentType, InputStream in) throws IOException;
+}
@@ -1,8 +1,16 @@
 package com.shermatov.carparts.service;
 
 
+import com.shermatov.carparts.dto.request.ProductFilter;
 import com.shermatov.carparts.dto.request.ProductRequest;
+import com.shermatov.carparts.dto.response.CursorPageResponse;
+import com.shermatov.carparts.dto.response.FacetedProductResponse;
 import com.shermatov.carparts.dto.response.ProductResponse;
+import com.shermatov.carparts.pagination.ProductSortKey;
+import com.shermatov.carparts.repository.projection.ResourceVersion;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -18,5 +26,16 @@ public interface ProductService {
 
     List<ProductResponse> getProductsByShop(Long shopId);
 
+    ResourceVersion getShopProductsVersion(Long shopId);
+
+    ResourceVersion getProductVersion(Long productId);
+
     List<ProductResponse> getAllProducts();
+
+    CursorPageResponse<ProductResponse> getCatalogPage(String cursor, int size,
+                                                       ProductSortKey sortKey, Sort.Direction direction);
+
+    Page<ProductResponse> searchProducts(String query, Long shopId, Pageable pageable);
+
+    FacetedProductResponse filterProducts(ProductFilter filter, Pageable pageable);
 }
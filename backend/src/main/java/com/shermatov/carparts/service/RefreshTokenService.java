@@ -0,0 +1,30 @@
+package com.shermatov.carparts.service;
+
+import com.shermatov.carparts.domain.User;
+
+import java.time.LocalDateTime;
+
+public interface RefreshTokenService {
+
+    /**
+     * Starts a new session (token family) for the user and returns its first refresh token.
+     */
+    String issue(User user);
+
+    /**
+     * Spends the given refresh token and returns its successor. Presenting a token that was
+     * already spent revokes every token of its family.
+     */
+    Rotation rotate(String refreshToken);
+
+    /**
+     * Revokes the family of the given refresh token; unknown tokens are ignored.
+     */
+    void revoke(String refreshToken);
+
+    void revokeAll(Long userId);
+
+    int purgeExpired(LocalDateTime cutoff);
+
+    record Rotation(User user, String refreshToken) {}
+}
@@ -0,0 +1,21 @@
+package com.shermatov.carparts.service;
+
+import com.shermatov.carparts.dto.response.ShopDeletionResponse;
+
+public interface ShopDeletionService {
+
+    /**
+     * Hides the shop right away and queues the removal of its products. Requesting the
+     * deletion of a shop whose earlier attempt failed restarts it where it stopped.
+     */
+    ShopDeletionResponse requestDeletion(Long shopId);
+
+    ShopDeletionResponse getProgress(Long shopId);
+
+    /**
+     * Queues every deletion that is pending or whose worker stopped sending heartbeats.
+     *
+     * @return number of deletions queued
+     */
+    int resumeUnfinished();
+}
@@ -3,7 +3,10 @@ package com.shermatov.carparts.service;
 
 
 import com.shermatov.carparts.dto.request.ShopRequest;
+import com.shermatov.carparts.dto.response.ShopDeletionResponse;
+import com.shermatov.carparts.dto.response.ShopDetailResponse;
 import com.shermatov.carparts.dto.response.ShopResponse;
+import com.shermatov.carparts.repository.projection.ResourceVersion;
 
 import java.util.List;
 
@@ -15,8 +18,14 @@ public interface ShopService {
 
     List<ShopResponse> getAllShops();
 
+    ResourceVersion getShopsVersion();
+
+    ShopDetailResponse getShopById(Long shopId, boolean includeProducts, int productLimit);
+
     List<ShopResponse> getMyShops();
 
-    void deleteShop(Long shopId);
+    ShopDeletionResponse deleteShop(Long shopId);
+
+    ShopDeletionResponse getShopDeletion(Long shopId);
 }
 
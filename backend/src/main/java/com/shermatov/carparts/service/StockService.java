@@ -0,0 +1,26 @@
+package com.shermatov.carparts.service;
+
+import com.shermatov.carparts.dto.request.ReservationRequest;
+import com.shermatov.carparts.dto.request.StockUpdateRequest;
+import com.shermatov.carparts.dto.response.ReservationResponse;
+import com.shermatov.carparts.dto.response.StockUpdateResponse;
+
+import java.util.List;
+
+public interface StockService {
+
+    StockUpdateResponse updateStock(List<StockUpdateRequest> updates);
+
+    ReservationResponse reserve(ReservationRequest request);
+
+    ReservationResponse confirm(Long reservationId);
+
+    void release(Long reservationId);
+
+    /**
+     * Expires overdue reservations and puts their units back on stock.
+     *
+     * @return number of sweep batches that restored stock
+     */
+    int expireReservations();
+}
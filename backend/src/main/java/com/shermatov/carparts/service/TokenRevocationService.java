@@ -0,0 +1,16 @@
+package com.shermatov.carparts.service;
+
+import java.util.UUID;
+
+public interface TokenRevocationService {
+
+    /**
+     * Ends the session behind the given tokens. Either may be missing or already invalid.
+     */
+    void logout(String accessToken, String refreshToken);
+
+    /**
+     * Rejects the access token with this id from now on, wherever it was issued.
+     */
+    void revoke(UUID tokenId);
+}
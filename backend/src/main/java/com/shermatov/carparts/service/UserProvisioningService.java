@@ -0,0 +1,15 @@
+package com.shermatov.carparts.service;
+
+import com.shermatov.carparts.dto.request.UserCreateRequestDto;
+import com.shermatov.carparts.dto.response.BulkUserCreateResponse;
+
+import java.util.List;
+
+public interface UserProvisioningService {
+
+    /**
+     * Creates many users at once. Invalid and duplicate entries are reported per user and
+     * skipped; the rest are hashed in parallel and written in chunks.
+     */
+    BulkUserCreateResponse createUsers(List<UserCreateRequestDto> requests);
+}
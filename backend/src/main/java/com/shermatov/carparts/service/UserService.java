@@ -1,11 +1,15 @@
 package com.shermatov.carparts.service;
 
+import com.shermatov.carparts.domain.Role;
 import com.shermatov.carparts.domain.User;
 import com.shermatov.carparts.dto.request.UserCreateRequestDto;
 import com.shermatov.carparts.dto.request.UserUpdateRequestDto;
+import com.shermatov.carparts.dto.response.UserSliceResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+
 public interface UserService {
     User create(UserCreateRequestDto createRequestDto);
     User update(String email, UserUpdateRequestDto updateRequestDto);
@@ -15,5 +19,7 @@ public interface UserService {
     Page<User> getAdminsOnly(Pageable pageable);
     void delete(String email);
     Page<User> search(String query, Pageable pageable);
+    UserSliceResponse listUsers(String cursor, int size, Role role, boolean withTotal);
+    int archiveDeletedUsers(LocalDateTime deletedBefore);
 
 }
@@ -2,13 +2,16 @@ package com.shermatov.carparts.service.impl;
 
 import com.shermatov.carparts.domain.User;
 import com.shermatov.carparts.dto.request.LoginRequestDto;
+import com.shermatov.carparts.dto.request.RefreshTokenRequest;
 import com.shermatov.carparts.dto.request.RegisterRequest;
 import com.shermatov.carparts.dto.response.LoginResponseDto;
 import com.shermatov.carparts.dto.response.UserResponse;
 import com.shermatov.carparts.exception.EmailAlreadyUsedException;
 import com.shermatov.carparts.repository.UserRepository;
+import com.shermatov.carparts.security.AuthThrottle;
 import com.shermatov.carparts.security.JwtService;
 import com.shermatov.carparts.service.AuthService;
+import com.shermatov.carparts.service.RefreshTokenService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -22,6 +25,8 @@ public class AuthServiceImpl implements AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
+    private final AuthThrottle authThrottle;
 
     @Override
     @Transactional
@@ -41,15 +46,30 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    public LoginResponseDto login(LoginRequestDto request) {
-        User user = userRepository.findByEmailAndDeletedAtIsNull(request.getEmail())
-                .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
+    public LoginResponseDto login(LoginRequestDto request, String clientAddress) {
+        // Before the lookup and the BCrypt verify, so throttled attempts cost no hashing
+        authThrottle.checkLogin(request.getEmail(), clientAddress);
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        User user = userRepository.findByEmailAndDeletedAtIsNull(request.getEmail()).orElse(null);
+        if (user == null || !passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+            // Only failures count against the account, so a correct password is never locked out
+            authThrottle.loginFailed(request.getEmail(), clientAddress);
             throw new BadCredentialsException("Invalid credentials");
         }
+        // The raw password is only at hand here, so hashes made with an older cost are replaced now
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(request.getPassword()));
+            userRepository.save(user);
+        }
 
         String token = jwtService.generateToken(user);
-        return new LoginResponseDto(token);
+        return new LoginResponseDto(token, refreshTokenService.issue(user));
+    }
+
+    // Renews the access token from the refresh token alone: one indexed lookup, no password hashing
+    @Override
+    public LoginResponseDto refresh(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.refreshToken());
+        return new LoginResponseDto(jwtService.generateToken(rotation.user()), rotation.refreshToken());
     }
 }
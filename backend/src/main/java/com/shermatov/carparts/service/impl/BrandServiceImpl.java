@@ -0,0 +1,96 @@
+package com.shermatov.carparts.service.impl;
+
+import com.shermatov.carparts.cache.ReferenceDataCache;
+import com.shermatov.carparts.domain.Brand;
+import com.shermatov.carparts.dto.request.BrandRequest;
+import com.shermatov.carparts.dto.response.BrandResponse;
+import com.shermatov.carparts.exception.ReferenceDataConflictException;
+import com.shermatov.carparts.exception.ResourceNotFoundException;
+import com.shermatov.carparts.repository.BrandRepository;
+import com.shermatov.carparts.repository.ProductRepository;
+import com.shermatov.carparts.service.BrandService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class BrandServiceImpl implements BrandService {
+
+    private final BrandRepository brandRepository;
+    private final ProductRepository productRepository;
+    private final ReferenceDataCache referenceDataCache;
+
+    // Writes commit before the refresh so the new snapshot always reflects them
+    @Override
+    public BrandResponse createBrand(BrandRequest request) {
+        String name = request.getName().trim();
+        ensureNameAvailable(name, null);
+
+        Brand brand = new Brand();
+        brand.setName(name);
+        Brand saved = brandRepository.save(brand);
+
+        referenceDataCache.refresh();
+        return toResponse(saved);
+    }
+
+    @Override
+    public BrandResponse updateBrand(Long brandId, BrandRequest request) {
+        Brand brand = brandRepository.findById(brandId)
+                .orElseThrow(() -> new ResourceNotFoundException("Brand not found."));
+        String name = request.getName().trim();
+        ensureNameAvailable(name, brandId);
+
+        brand.setName(name);
+        Brand saved = brandRepository.save(brand);
+
+        referenceDataCache.refresh();
+        return toResponse(saved);
+    }
+
+    @Override
+    public List<BrandResponse> getAllBrands() {
+        return referenceDataCache.brands()
+                .stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @Override
+    public BrandResponse getBrandById(Long brandId) {
+        return referenceDataCache.resolveBrand(brandId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Brand not found."));
+    }
+
+    @Override
+    public void deleteBrand(Long brandId) {
+        if (!brandRepository.existsById(brandId)) {
+            throw new ResourceNotFoundException("Brand not found.");
+        }
+        if (productRepository.existsByBrandId(brandId)) {
+            throw new ReferenceDataConflictException("Brand is still used by products.");
+        }
+        brandRepository.deleteById(brandId);
+        referenceDataCache.refresh();
+    }
+
+    // Asks the database rather than the cache, which may not have seen another instance's write yet
+    private void ensureNameAvailable(String name, Long brandId) {
+        boolean taken = brandId == null
+                ? brandRepository.existsByNameIgnoreCase(name)
+                : brandRepository.existsByNameIgnoreCaseAndIdNot(name, brandId);
+        if (taken) {
+            throw new ReferenceDataConflictException("Brand already exists: " + name);
+        }
+    }
+
+    private BrandResponse toResponse(Brand brand) {
+        return BrandResponse.builder()
+                .id(brand.getId())
+                .name(brand.getName())
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.shermatov.carparts.service.impl;
+
+import com.shermatov.carparts.cache.ReferenceDataCache;
+import com.shermatov.carparts.domain.Category;
+import com.shermatov.carparts.dto.request.CategoryRequest;
+import com.shermatov.carparts.dto.response.CategoryResponse;
+import com.shermatov.carparts.exception.ReferenceDataConflictException;
+import com.shermatov.carparts.exception.ResourceNotFoundException;
+import com.shermatov.carparts.repository.CategoryRepository;
+import com.shermatov.carparts.repository.ProductRepository;
+import com.shermatov.carparts.service.CategoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class CategoryServiceImpl implements CategoryService {
+
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final ReferenceDataCache referenceDataCache;
+
+    // Writes commit before the refresh so the new snapshot always reflects them
+    @Override
+    public CategoryResponse createCategory(CategoryRequest request) {
+        String name = request.getName().trim();
+        ensureNameAvailable(name, null);
+
+        Category category = new Category();
+        category.setName(name);
+        Category saved = categoryRepository.save(category);
+
+        referenceDataCache.refresh();
+        return toResponse(saved);
+    }
+
+    @Override
+    public CategoryResponse updateCategory(Long categoryId, CategoryRequest request) {
+        Category category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found."));
+        String name = request.getName().trim();
+        ensureNameAvailable(name, categoryId);
+
+        category.setName(name);
+        Category saved = categoryRepository.save(category);
+
+        referenceDataCache.refresh();
+        return toResponse(saved);
+    }
+
+    @Override
+    public List<CategoryResponse> getAllCategories() {
+        return referenceDataCache.categories()
+                .stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @Override
+    public CategoryResponse getCategoryById(Long categoryId) {
+        return referenceDataCache.resolveCategory(categoryId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found."));
+    }
+
+    @Override
+    public void deleteCategory(Long categoryId) {
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Category not found.");
+        }
+        if (productRepository.existsByCategoryId(categoryId)) {
+            throw new ReferenceDataConflictException("Category is still used by products.");
+        }
+        categoryRepository.deleteById(categoryId);
+        referenceDataCache.refresh();
+    }
+
+    // Asks the database rather than the cache, which may not have seen another instance's write yet
+    private void ensureNameAvailable(String name, Long categoryId) {
+        boolean taken = categoryId == null
+                ? categoryRepository.existsByNameIgnoreCase(name)
+                : categoryRepository.existsByNameIgnoreCaseAndIdNot(name, categoryId);
+        if (taken) {
+            throw new ReferenceDataConflictException("Category already exists: " + name);
+        }
+    }
+
+    private CategoryResponse toResponse(Category category) {
+        return CategoryResponse.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .build();
+    }
+}
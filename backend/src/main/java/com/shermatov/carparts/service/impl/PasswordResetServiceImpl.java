@@ -1,6 +1,7 @@
 package com.shermatov.carparts.service.impl;
 
 import com.shermatov.emailsender.application.port.EmailSender;
+import com.shermatov.carparts.cache.PrincipalCache;
 import com.shermatov.carparts.domain.PasswordResetToken;
 import com.shermatov.carparts.domain.User;
 import com.shermatov.carparts.exception.InvalidTokenException;
@@ -8,8 +9,10 @@ import com.shermatov.carparts.exception.TokenAlreadyUsedException;
 import com.shermatov.carparts.exception.TokenExpiredException;
 import com.shermatov.carparts.repository.PasswordResetTokenRepository;
 import com.shermatov.carparts.repository.UserRepository;
+import com.shermatov.carparts.security.AuthThrottle;
 import com.shermatov.carparts.service.PasswordResetEmailComposer;
 import com.shermatov.carparts.service.PasswordResetService;
+import com.shermatov.carparts.service.RefreshTokenService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -26,12 +29,18 @@ public class PasswordResetServiceImpl implements PasswordResetService {
     private final UserRepository userRepository;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final RefreshTokenService refreshTokenService;
+    private final AuthThrottle authThrottle;
 
     private final EmailSender emailSender;
     private final PasswordResetEmailComposer emailComposer;
 
     @Override
-    public void forgotPassword(String email) {
+    public void forgotPassword(String email, String clientAddress) {
+        // Applies whether or not the account exists, so it reveals nothing about it
+        authThrottle.checkPasswordReset(email, clientAddress);
+
         userRepository.findByEmailAndDeletedAtIsNull(email).ifPresent(user -> {
             PasswordResetToken token = PasswordResetToken.builder()
                     .user(user)
@@ -74,6 +83,9 @@ public class PasswordResetServiceImpl implements PasswordResetService {
 
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        principalCache.evict(user.getEmail());
+        // A reset usually means the account was exposed, so existing sessions cannot be renewed
+        refreshTokenService.revokeAll(user.getId());
 
         prt.markUsed(now);
         passwordResetTokenRepository.save(prt);
@@ -0,0 +1,66 @@
+package com.shermatov.carparts.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shermatov.carparts.domain.Product;
+import com.shermatov.carparts.dto.response.ProductExportRow;
+import com.shermatov.carparts.mapper.ProductMapper;
+import com.shermatov.carparts.repository.ProductRepository;
+import com.shermatov.carparts.service.ProductExportService;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class ProductExportServiceImpl implements ProductExportService {
+
+    // Rows written between flushing the response and detaching entities from the session
+    private static final int CHUNK_SIZE = 500;
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportCatalog(OutputStream out) throws IOException {
+        // Flushing is left to the chunk boundary below instead of after every row
+        ObjectWriter writer = objectMapper.writerFor(ProductExportRow.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+
+        try (Stream<Product> products = productRepository.streamAllForExport();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // The servlet container owns the output stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, productMapper.toExportRow(iterator.next()));
+
+                if (++count % CHUNK_SIZE == 0) {
+                    generator.flush();
+                    entityManager.clear();
+                }
+            }
+            // The separator only goes between rows; NDJSON also ends the last line
+            if (count > 0) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+        return count;
+    }
+}
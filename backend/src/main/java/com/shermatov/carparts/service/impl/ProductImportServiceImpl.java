@@ -0,0 +1,213 @@
+package com.shermatov.carparts.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shermatov.carparts.cache.ReferenceDataCache;
+import com.shermatov.carparts.cache.ShopDetailCache;
+import com.shermatov.carparts.dto.request.ProductRequest;
+import com.shermatov.carparts.dto.response.ImportRowError;
+import com.shermatov.carparts.dto.response.ProductImportResponse;
+import com.shermatov.carparts.exception.BadRequestException;
+import com.shermatov.carparts.exception.ResourceNotFoundException;
+import com.shermatov.carparts.imports.ImportRow;
+import com.shermatov.carparts.imports.ProductCsvRowReader;
+import com.shermatov.carparts.imports.ProductJsonRowReader;
+import com.shermatov.carparts.imports.ProductRowReader;
+import com.shermatov.carparts.index.ProductNameIndex;
+import com.shermatov.carparts.repository.ProductRepository;
+import com.shermatov.carparts.repository.ShopRepository;
+import com.shermatov.carparts.repository.projection.ProductIdName;
+import com.shermatov.carparts.service.ProductImportService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ProductImportServiceImpl implements ProductImportService {
+
+    // Rows per transaction: large enough to amortise the round trip, small enough to keep locks short
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_NAME_LENGTH = 150;
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+    private static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
+    private final ProductRepository productRepository;
+    private final ShopRepository shopRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final ShopDetailCache shopDetailCache;
+    private final ProductNameIndex productNameIndex;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public ProductImportResponse importProducts(Long shopId, MediaType contentType, InputStream in) throws IOException {
+        if (!shopRepository.existsByIdAndDeletedAtIsNull(shopId)) {
+            throw new ResourceNotFoundException("Shop not found.");
+        }
+
+        long start = System.nanoTime();
+        Report report = new Report();
+
+        try (ProductRowReader reader = openReader(contentType, in)) {
+            List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    writeChunk(shopId, chunk, report);
+                    chunk.clear();
+                }
+            }
+            writeChunk(shopId, chunk, report);
+        } finally {
+            shopDetailCache.evict(shopId);
+        }
+
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long rowsPerSecond = durationMillis == 0 ? report.received : report.received * 1000 / durationMillis;
+
+        return new ProductImportResponse(
+                report.received,
+                report.imported,
+                report.failed,
+                report.errors,
+                report.failed > report.errors.size(),
+                durationMillis,
+                rowsPerSecond);
+    }
+
+    private ProductRowReader openReader(MediaType contentType, InputStream in) throws IOException {
+        if (contentType != null && contentType.isCompatibleWith(TEXT_CSV)) {
+            return new ProductCsvRowReader(in);
+        }
+        if (contentType != null && contentType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            return new ProductJsonRowReader(objectMapper, in);
+        }
+        throw new BadRequestException("Unsupported import format: " + contentType);
+    }
+
+    private void writeChunk(Long shopId, List<ImportRow> chunk, Report report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        report.received += chunk.size();
+
+        resolveUnknownReferences(chunk);
+        Set<Long> brandIds = referenceDataCache.brandIds();
+        Set<Long> categoryIds = referenceDataCache.categoryIds();
+
+        // Validation is CPU-bound and independent per row
+        List<String> problems = chunk.parallelStream()
+                .map(row -> validate(row, brandIds, categoryIds))
+                .toList();
+
+        List<ImportRow> validRows = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (problems.get(i) == null) {
+                validRows.add(chunk.get(i));
+            } else {
+                report.fail(chunk.get(i).rowNumber(), problems.get(i));
+            }
+        }
+        if (validRows.isEmpty()) {
+            return;
+        }
+
+        List<ProductRequest> products = validRows.stream().map(ImportRow::request).toList();
+        try {
+            List<ProductIdName> inserted = transactionTemplate.execute(status ->
+                    productRepository.insertAll(shopId, products));
+            inserted.forEach(product -> productNameIndex.put(product.id(), product.name()));
+            report.imported += inserted.size();
+        } catch (DataAccessException ex) {
+            String message = "Rejected by database: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+            validRows.forEach(row -> report.fail(row.rowNumber(), message));
+        }
+    }
+
+    // Brands and categories created on another instance since the last refresh are only in the
+    // database; each distinct unknown id is looked up once per chunk
+    private void resolveUnknownReferences(List<ImportRow> chunk) {
+        Set<Long> brandIds = referenceDataCache.brandIds();
+        Set<Long> categoryIds = referenceDataCache.categoryIds();
+        List<ProductRequest> requests = chunk.stream().map(ImportRow::request).filter(Objects::nonNull).toList();
+        requests.stream()
+                .map(ProductRequest::getBrandId)
+                .filter(id -> id != null && !brandIds.contains(id))
+                .distinct()
+                .forEach(referenceDataCache::resolveBrand);
+        requests.stream()
+                .map(ProductRequest::getCategoryId)
+                .filter(id -> id != null && !categoryIds.contains(id))
+                .distinct()
+                .forEach(referenceDataCache::resolveCategory);
+    }
+
+    private String validate(ImportRow row, Set<Long> brandIds, Set<Long> categoryIds) {
+        if (row.error() != null) {
+            return row.error();
+        }
+        ProductRequest request = row.request();
+
+        Set<ConstraintViolation<ProductRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (request.getName().length() > MAX_NAME_LENGTH) {
+            return "name: must be at most " + MAX_NAME_LENGTH + " characters";
+        }
+        if (request.getDescription() != null && request.getDescription().length() > MAX_DESCRIPTION_LENGTH) {
+            return "description: must be at most " + MAX_DESCRIPTION_LENGTH + " characters";
+        }
+        // NaN passes the sign check below and would break price sorting, cursors and facets
+        if (!Double.isFinite(request.getPrice())) {
+            return "price: must be a finite number";
+        }
+        if (request.getPrice() < 0) {
+            return "price: must not be negative";
+        }
+        if (request.getQuantity() < 0) {
+            return "quantity: must not be negative";
+        }
+        if (request.getBrandId() != null && !brandIds.contains(request.getBrandId())) {
+            return "brandId: unknown brand " + request.getBrandId();
+        }
+        if (request.getCategoryId() != null && !categoryIds.contains(request.getCategoryId())) {
+            return "categoryId: unknown category " + request.getCategoryId();
+        }
+        return null;
+    }
+
+    private static final class Report {
+        private long received;
+        private long imported;
+        private long failed;
+        private final List<ImportRowError> errors = new ArrayList<>();
+
+        void fail(long rowNumber, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportRowError(rowNumber, message));
+            }
+        }
+    }
+}
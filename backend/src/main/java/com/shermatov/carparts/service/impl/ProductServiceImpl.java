@@ -1,15 +1,37 @@
 package com.shermatov.carparts.service.impl;
 
+import com.shermatov.carparts.cache.ReferenceDataCache;
+import com.shermatov.carparts.cache.ShopDetailCache;
+import com.shermatov.carparts.domain.Brand;
+import com.shermatov.carparts.domain.Category;
 import com.shermatov.carparts.domain.Product;
 import com.shermatov.carparts.domain.Shop;
+import com.shermatov.carparts.dto.request.ProductFilter;
 import com.shermatov.carparts.dto.request.ProductRequest;
+import com.shermatov.carparts.dto.response.CursorPageResponse;
+import com.shermatov.carparts.dto.response.FacetedProductResponse;
 import com.shermatov.carparts.dto.response.ProductResponse;
+import com.shermatov.carparts.exception.InvalidCursorException;
+import com.shermatov.carparts.exception.ResourceNotFoundException;
+import com.shermatov.carparts.index.PartAvailabilityIndex;
+import com.shermatov.carparts.index.ProductNameIndex;
 import com.shermatov.carparts.mapper.ProductMapper;
+import com.shermatov.carparts.pagination.ProductCursor;
+import com.shermatov.carparts.pagination.ProductSortKey;
+import com.shermatov.carparts.repository.BrandRepository;
+import com.shermatov.carparts.repository.CategoryRepository;
 import com.shermatov.carparts.repository.ProductRepository;
 import com.shermatov.carparts.repository.ShopRepository;
+import com.shermatov.carparts.repository.StockReservationRepository;
+import com.shermatov.carparts.repository.projection.ProductFacetPage;
+import com.shermatov.carparts.repository.projection.ResourceVersion;
 import com.shermatov.carparts.service.ProductService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -18,20 +40,35 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ProductRepository productRepository;
     private final ShopRepository shopRepository;
     private final ProductMapper productMapper;
+    private final ProductNameIndex productNameIndex;
+    private final ReferenceDataCache referenceDataCache;
+    private final BrandRepository brandRepository;
+    private final CategoryRepository categoryRepository;
+    private final ShopDetailCache shopDetailCache;
+    private final PartAvailabilityIndex partAvailabilityIndex;
+    private final StockReservationRepository stockReservationRepository;
 
     @Transactional
     @Override
     public ProductResponse createProduct(Long shopId, ProductRequest request) {
-        Shop shop = shopRepository.findById(shopId)
+        Shop shop = shopRepository.findByIdAndDeletedAtIsNull(shopId)
                 .orElseThrow(() -> new RuntimeException("Shop not found"));
 
         Product product = productMapper.toEntity(request);
         product.setShop(shop);
+        applyReferences(product, request);
 
-        return productMapper.toResponse(productRepository.save(product));
+        Product saved = productRepository.save(product);
+        productNameIndex.put(saved.getId(), saved.getName());
+        partAvailabilityIndex.put(saved.getId(), saved.getShop().getId(),
+                saved.getName(), saved.getPrice(), saved.getQuantity());
+        shopDetailCache.evict(saved.getShop().getId());
+        return productMapper.toResponse(saved);
     }
 
     @Transactional
@@ -41,39 +78,150 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new RuntimeException("Product not found"));
 
         productMapper.updateEntity(product, request);
+        applyReferences(product, request);
 
-        return productMapper.toResponse(productRepository.save(product));
+        Product saved = productRepository.save(product);
+        productNameIndex.put(saved.getId(), saved.getName());
+        partAvailabilityIndex.put(saved.getId(), saved.getShop().getId(),
+                saved.getName(), saved.getPrice(), saved.getQuantity());
+        shopDetailCache.evict(saved.getShop().getId());
+        return productMapper.toResponse(saved);
     }
 
+    @Transactional
     @Override
     public void deleteProduct(Long productId) {
-        if (!productRepository.existsById(productId)) {
-            throw new RuntimeException("Product not found");
-        }
-        productRepository.deleteById(productId);
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new RuntimeException("Product not found"));
+        // Reservations reference the product without a cascade, so they go first
+        stockReservationRepository.deleteByProductId(productId);
+        productRepository.delete(product);
+        productNameIndex.remove(productId);
+        partAvailabilityIndex.remove(productId);
+        shopDetailCache.evict(product.getShop().getId());
     }
 
     @Override
     public ProductResponse getProductById(Long productId) {
         return  productMapper.
-                toResponse(productRepository.findById(productId)
+                toResponse(productRepository.findListingRowById(productId)
                         .orElseThrow(() -> new RuntimeException("Product not found")));
 
     }
 
     @Override
     public List<ProductResponse> getProductsByShop(Long shopId) {
-        return productRepository.findByShopId(shopId)
+        return productRepository.findListingRowsByShopId(shopId)
                 .stream()
                 .map(productMapper::toResponse)
                 .toList();
     }
 
+    @Override
+    public ResourceVersion getShopProductsVersion(Long shopId) {
+        return productRepository.findShopVersion(shopId);
+    }
+
+    @Override
+    public ResourceVersion getProductVersion(Long productId) {
+        return productRepository.findVersionById(productId).orElse(null);
+    }
+
     @Override
     public List<ProductResponse> getAllProducts() {
-        return productRepository.findAll()
+        return productRepository.findAllListingRows()
                 .stream()
                 .map(productMapper::toResponse)
                 .toList();
     }
+
+    @Override
+    public CursorPageResponse<ProductResponse> getCatalogPage(String cursor, int size,
+                                                              ProductSortKey sortKey, Sort.Direction direction) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        ProductCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = ProductCursor.decode(cursor);
+            if (after.sortKey() != sortKey || after.direction() != direction) {
+                throw new InvalidCursorException();
+            }
+        }
+
+        // Fetch one extra row to know whether another page exists without a COUNT(*)
+        List<Product> rows = productRepository.findCatalogPage(sortKey, direction, after, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<Product> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Product last = page.get(page.size() - 1);
+            nextCursor = new ProductCursor(sortKey, direction, last.getId(), sortValue(last, sortKey)).encode();
+        }
+
+        return new CursorPageResponse<>(
+                page.stream().map(productMapper::toResponse).toList(),
+                nextCursor,
+                hasNext);
+    }
+
+    @Override
+    public Page<ProductResponse> searchProducts(String query, Long shopId, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            return Page.empty(pageable);
+        }
+
+        // Results are always ordered by relevance, so any client-supplied sort is dropped
+        Pageable byRank = PageRequest.of(pageable.getPageNumber(), Math.min(pageable.getPageSize(), MAX_PAGE_SIZE));
+        return productRepository.search(query.trim(), shopId, byRank)
+                .map(productMapper::toResponse);
+    }
+
+    @Override
+    public FacetedProductResponse filterProducts(ProductFilter filter, Pageable pageable) {
+        int size = Math.min(pageable.getPageSize(), MAX_PAGE_SIZE);
+        ProductFacetPage result = productRepository.findFacetPage(filter, size, (long) pageable.getPageNumber() * size);
+
+        return new FacetedProductResponse(
+                result.rows().stream().map(productMapper::toResponse).toList(),
+                result.total(),
+                pageable.getPageNumber(),
+                size,
+                result.brands(),
+                result.categories());
+    }
+
+    private Object sortValue(Product product, ProductSortKey sortKey) {
+        return switch (sortKey) {
+            case ID -> product.getId();
+            case PRICE -> product.getPrice();
+            case NAME -> product.getName();
+            case UPDATED_AT -> product.getUpdatedAt();
+        };
+    }
+
+    // Ids are checked against the reference-data cache and linked as proxies, so no SELECT is issued
+    // unless the id is not cached yet
+    private void applyReferences(Product product, ProductRequest request) {
+        product.setBrand(resolveBrand(request.getBrandId()));
+        product.setCategory(resolveCategory(request.getCategoryId()));
+    }
+
+    private Brand resolveBrand(Long brandId) {
+        if (brandId == null) {
+            return null;
+        }
+        referenceDataCache.resolveBrand(brandId)
+                .orElseThrow(() -> new ResourceNotFoundException("Brand not found."));
+        return brandRepository.getReferenceById(brandId);
+    }
+
+    private Category resolveCategory(Long categoryId) {
+        if (categoryId == null) {
+            return null;
+        }
+        referenceDataCache.resolveCategory(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found."));
+        return categoryRepository.getReferenceById(categoryId);
+    }
 }
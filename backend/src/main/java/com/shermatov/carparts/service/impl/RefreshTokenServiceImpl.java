@@ -0,0 +1,99 @@
+package com.shermatov.carparts.service.impl;
+
+import com.shermatov.carparts.domain.RefreshToken;
+import com.shermatov.carparts.domain.User;
+import com.shermatov.carparts.exception.InvalidRefreshTokenException;
+import com.shermatov.carparts.repository.RefreshTokenRepository;
+import com.shermatov.carparts.service.RefreshTokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration ttl;
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository,
+                                   @Value("${app.security.refresh-token-ttl:14d}") Duration ttl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public String issue(User user) {
+        return store(user, UUID.randomUUID());
+    }
+
+    @Override
+    public Rotation rotate(String refreshToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(digest(refreshToken))
+                .orElseThrow(InvalidRefreshTokenException::new);
+
+        if (current.getRevokedAt() != null || current.isExpired(LocalDateTime.now())
+                || current.getUser().getDeletedAt() != null) {
+            throw new InvalidRefreshTokenException();
+        }
+        // A spent token coming back means two parties hold it, so the whole session is ended
+        if (current.getUsedAt() != null || refreshTokenRepository.markUsed(current.getId()) == 0) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            log.warn("Refresh token reuse detected for user {}, session revoked", current.getUser().getId());
+            throw new InvalidRefreshTokenException();
+        }
+
+        return new Rotation(current.getUser(), store(current.getUser(), current.getFamilyId()));
+    }
+
+    @Override
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(digest(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    @Override
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId);
+    }
+
+    @Override
+    public int purgeExpired(LocalDateTime cutoff) {
+        return refreshTokenRepository.deleteExpiredBefore(cutoff);
+    }
+
+    private String store(User user, UUID familyId) {
+        byte[] raw = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(raw);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(digest(token))
+                .familyId(familyId)
+                .user(user)
+                .expiresAt(LocalDateTime.now().plus(ttl))
+                .build());
+        return token;
+    }
+
+    // The token is 256 random bits, so a plain digest is enough and lookups need no BCrypt
+    private static byte[] digest(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.shermatov.carparts.service.impl;
+
+import com.shermatov.carparts.cache.ShopDetailCache;
+import com.shermatov.carparts.domain.Shop;
+import com.shermatov.carparts.domain.ShopDeletion;
+import com.shermatov.carparts.domain.ShopDeletionStatus;
+import com.shermatov.carparts.dto.response.ShopDeletionResponse;
+import com.shermatov.carparts.exception.ResourceNotFoundException;
+import com.shermatov.carparts.index.PartAvailabilityIndex;
+import com.shermatov.carparts.index.ProductNameIndex;
+import com.shermatov.carparts.index.ShopSpatialIndex;
+import com.shermatov.carparts.repository.ProductRepository;
+import com.shermatov.carparts.repository.ShopDeletionRepository;
+import com.shermatov.carparts.repository.ShopRepository;
+import com.shermatov.carparts.service.ShopDeletionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
+@Service
+public class ShopDeletionServiceImpl implements ShopDeletionService {
+
+    private static final int CHUNK_SIZE = 1000;
+    // A running deletion writes a heartbeat per chunk; without one for this long it is taken over
+    private static final int STALE_AFTER_MINUTES = 5;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ShopRepository shopRepository;
+    private final ShopDeletionRepository shopDeletionRepository;
+    private final ProductRepository productRepository;
+    private final ProductNameIndex productNameIndex;
+    private final PartAvailabilityIndex partAvailabilityIndex;
+    private final ShopDetailCache shopDetailCache;
+    private final ShopSpatialIndex shopSpatialIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+
+    public ShopDeletionServiceImpl(ShopRepository shopRepository,
+                                   ShopDeletionRepository shopDeletionRepository,
+                                   ProductRepository productRepository,
+                                   ProductNameIndex productNameIndex,
+                                   PartAvailabilityIndex partAvailabilityIndex,
+                                   ShopDetailCache shopDetailCache,
+                                   ShopSpatialIndex shopSpatialIndex,
+                                   TransactionTemplate transactionTemplate,
+                                   @Qualifier("shopDeletionExecutor") Executor executor) {
+        this.shopRepository = shopRepository;
+        this.shopDeletionRepository = shopDeletionRepository;
+        this.productRepository = productRepository;
+        this.productNameIndex = productNameIndex;
+        this.partAvailabilityIndex = partAvailabilityIndex;
+        this.shopDetailCache = shopDetailCache;
+        this.shopSpatialIndex = shopSpatialIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+    }
+
+    @Override
+    public ShopDeletionResponse requestDeletion(Long shopId) {
+        ShopDeletion deletion = transactionTemplate.execute(status -> {
+            ShopDeletion existing = shopDeletionRepository.findByShopId(shopId).orElse(null);
+            if (existing != null) {
+                if (existing.getStatus() == ShopDeletionStatus.FAILED) {
+                    existing.setStatus(ShopDeletionStatus.PENDING);
+                    existing.setLastError(null);
+                }
+                return existing;
+            }
+
+            Shop shop = shopRepository.findById(shopId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Shop not found."));
+            shop.setDeletedAt(LocalDateTime.now());
+
+            return shopDeletionRepository.save(ShopDeletion.builder()
+                    .shopId(shopId)
+                    .status(ShopDeletionStatus.PENDING)
+                    .totalProducts(productRepository.countByShopId(shopId))
+                    .deletedProducts(0L)
+                    .build());
+        });
+
+        // The shop is hidden from here on, even though its products are still being removed
+        shopDetailCache.evict(shopId);
+        shopSpatialIndex.refresh();
+        forget(productRepository.findIdsByShopId(shopId));
+        if (deletion.getStatus() == ShopDeletionStatus.PENDING) {
+            submit(deletion.getId());
+        }
+        return toResponse(deletion);
+    }
+
+    @Override
+    public ShopDeletionResponse getProgress(Long shopId) {
+        return shopDeletionRepository.findByShopId(shopId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Shop deletion not found."));
+    }
+
+    @Override
+    public int resumeUnfinished() {
+        List<Long> ids = shopDeletionRepository.findResumableIds(staleBefore());
+        int queued = 0;
+        for (Long id : ids) {
+            if (submit(id)) {
+                queued++;
+            }
+        }
+        return queued;
+    }
+
+    private boolean submit(Long deletionId) {
+        try {
+            executor.execute(() -> run(deletionId));
+            return true;
+        } catch (RejectedExecutionException ex) {
+            // Stays PENDING; the resume sweep queues it again later
+            log.warn("Shop deletion {} not queued, executor is full", deletionId);
+            return false;
+        }
+    }
+
+    void run(Long deletionId) {
+        Integer claimed = transactionTemplate.execute(status -> shopDeletionRepository.claim(deletionId, staleBefore()));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+        Long shopId = shopDeletionRepository.findById(deletionId)
+                .map(ShopDeletion::getShopId)
+                .orElseThrow();
+
+        try {
+            // Each chunk commits on its own, so an interrupted run resumes with whatever is left
+            List<Long> removed;
+            do {
+                removed = transactionTemplate.execute(status -> {
+                    List<Long> ids = productRepository.deleteChunkByShopId(shopId, CHUNK_SIZE);
+                    shopDeletionRepository.addProgress(deletionId, ids.size());
+                    return ids;
+                });
+                forget(removed);
+            } while (removed.size() == CHUNK_SIZE);
+
+            // An import that saw the shop before it was hidden may still have added products;
+            // with the shop row locked no more can arrive, so the rest goes with the shop
+            List<Long> stragglers = transactionTemplate.execute(status -> {
+                shopRepository.lockById(shopId);
+                List<Long> ids = new ArrayList<>();
+                List<Long> chunk;
+                do {
+                    chunk = productRepository.deleteChunkByShopId(shopId, CHUNK_SIZE);
+                    ids.addAll(chunk);
+                } while (chunk.size() == CHUNK_SIZE);
+                if (!ids.isEmpty()) {
+                    shopDeletionRepository.addProgress(deletionId, ids.size());
+                }
+                shopRepository.deleteById(shopId);
+                ShopDeletion deletion = shopDeletionRepository.findById(deletionId).orElseThrow();
+                deletion.setStatus(ShopDeletionStatus.COMPLETED);
+                deletion.setCompletedAt(LocalDateTime.now());
+                return ids;
+            });
+            forget(stragglers);
+            shopDetailCache.evict(shopId);
+            log.info("Deleted shop {}", shopId);
+        } catch (RuntimeException ex) {
+            log.error("Deletion of shop {} failed", shopId, ex);
+            transactionTemplate.executeWithoutResult(status ->
+                    shopDeletionRepository.findById(deletionId).ifPresent(deletion -> {
+                        deletion.setStatus(ShopDeletionStatus.FAILED);
+                        deletion.setLastError(truncate(String.valueOf(ex.getMessage())));
+                    }));
+        }
+    }
+
+    private void forget(List<Long> productIds) {
+        for (Long productId : productIds) {
+            productNameIndex.remove(productId);
+            partAvailabilityIndex.remove(productId);
+        }
+    }
+
+    private LocalDateTime staleBefore() {
+        return LocalDateTime.now().minusMinutes(STALE_AFTER_MINUTES);
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private ShopDeletionResponse toResponse(ShopDeletion deletion) {
+        return new ShopDeletionResponse(
+                deletion.getShopId(),
+                deletion.getStatus(),
+                deletion.getTotalProducts(),
+                deletion.getDeletedProducts(),
+                deletion.getCreatedAt(),
+                deletion.getCompletedAt(),
+                deletion.getLastError());
+    }
+}
@@ -1,41 +1,61 @@
 package com.shermatov.carparts.service.impl;
 
 
+import com.shermatov.carparts.cache.ShopDetailCache;
 import com.shermatov.carparts.domain.Shop;
-import com.shermatov.carparts.domain.User;
 import com.shermatov.carparts.dto.request.ShopRequest;
+import com.shermatov.carparts.dto.response.ProductResponse;
+import com.shermatov.carparts.dto.response.ShopDeletionResponse;
+import com.shermatov.carparts.dto.response.ShopDetailResponse;
 import com.shermatov.carparts.dto.response.ShopResponse;
+import com.shermatov.carparts.exception.BadRequestException;
 import com.shermatov.carparts.exception.ResourceNotFoundException;
+import com.shermatov.carparts.index.ShopSpatialIndex;
+import com.shermatov.carparts.mapper.ProductMapper;
 import com.shermatov.carparts.mapper.ShopMapper;
+import com.shermatov.carparts.repository.ProductRepository;
 import com.shermatov.carparts.repository.ShopRepository;
+import com.shermatov.carparts.repository.UserRepository;
+import com.shermatov.carparts.repository.projection.ProductListingRow;
+import com.shermatov.carparts.repository.projection.ResourceVersion;
+import com.shermatov.carparts.security.AuthenticatedUser;
+import com.shermatov.carparts.service.ShopDeletionService;
 import com.shermatov.carparts.service.ShopService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class ShopServiceImpl implements ShopService {
 
+    // Products embedded in a cached shop detail; smaller requests are sliced from it
+    private static final int MAX_EMBEDDED_PRODUCTS = 50;
+
     private final ShopRepository shopRepository;
+    private final UserRepository userRepository;
     private final ShopMapper shopMapper;
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final ShopDetailCache shopDetailCache;
+    private final ShopSpatialIndex shopSpatialIndex;
+    private final ShopDeletionService shopDeletionService;
 
     @Override
     public ShopResponse createShop(ShopRequest request) {
 
-        User owner = getCurrentUser();
-
         Shop shop = new Shop();
-        shop.setOwner(owner);
+        shop.setOwner(userRepository.getReferenceById(AuthenticatedUser.current().id()));
         shop.setName(request.getName());
         shop.setDescription(request.getDescription());
         shop.setAddress(request.getAddress());
         shop.setPhone(request.getPhone());
+        applyLocation(shop, request);
         shopRepository.save(shop);
+        shopSpatialIndex.refresh();
 
         return shopMapper.toResponse(shop);
     }
@@ -44,48 +64,98 @@ public class ShopServiceImpl implements ShopService {
     @Override
     public ShopResponse updateShop(Long shopId, ShopRequest request) {
 
-        Shop shop = shopRepository.findById(shopId)
+        Shop shop = shopRepository.findByIdAndDeletedAtIsNull(shopId)
                 .orElseThrow(() -> new RuntimeException("Shop not found"));
 
         shop.setName(request.getName());
         shop.setDescription(request.getDescription());
         shop.setAddress(request.getAddress());
         shop.setPhone(request.getPhone());
+        applyLocation(shop, request);
 
-        return shopMapper.toResponse(shopRepository.save(shop));
+        ShopResponse response = shopMapper.toResponse(shopRepository.save(shop));
+        shopDetailCache.evict(shopId);
+        shopSpatialIndex.refresh();
+        return response;
     }
 
 
     @Override
     public List<ShopResponse> getAllShops() {
-        return shopRepository.findAll()
+        return shopRepository.findAllByDeletedAtIsNull()
                 .stream()
                 .map(shopMapper::toResponse)
                 .toList();
     }
 
 
+    @Override
+    public ResourceVersion getShopsVersion() {
+        return shopRepository.findVersion();
+    }
+
+
+    @Override
+    public ShopDetailResponse getShopById(Long shopId, boolean includeProducts, int productLimit) {
+        ShopDetailResponse detail = shopDetailCache.get(shopId, this::loadShopDetail);
+
+        // Always hand out a copy so callers never touch the cached instance
+        if (!includeProducts) {
+            return detail.toBuilder().products(null).hasMoreProducts(null).build();
+        }
+        int limit = Math.max(1, Math.min(productLimit, MAX_EMBEDDED_PRODUCTS));
+        List<ProductResponse> products = detail.getProducts();
+        if (products.size() <= limit) {
+            return detail.toBuilder().build();
+        }
+        return detail.toBuilder()
+                .products(products.subList(0, limit))
+                .hasMoreProducts(true)
+                .build();
+    }
+
+
     @Override
     public List<ShopResponse> getMyShops() {
-        User user = getCurrentUser();
-        return shopRepository.findByOwnerId(user.getId())
+        return shopRepository.findByOwnerIdAndDeletedAtIsNull(AuthenticatedUser.current().id())
                 .stream()
                 .map(shopMapper::toResponse)
                 .toList();
     }
 
     @Override
-    public void deleteShop(Long shopId) {
-        Optional<Shop> optionalShop = shopRepository.findById(shopId);
-        if(optionalShop.isEmpty()) {throw new ResourceNotFoundException("Shop not found.");}
-        shopRepository.deleteById(shopId);
+    public ShopDeletionResponse deleteShop(Long shopId) {
+        return shopDeletionService.requestDeletion(shopId);
     }
 
+    @Override
+    public ShopDeletionResponse getShopDeletion(Long shopId) {
+        return shopDeletionService.getProgress(shopId);
+    }
 
-    private User getCurrentUser() {
-        return (User) SecurityContextHolder
-                .getContext()
-                .getAuthentication()
-                .getPrincipal();
+    private void applyLocation(Shop shop, ShopRequest request) {
+        if ((request.getLatitude() == null) != (request.getLongitude() == null)) {
+            throw new BadRequestException("Latitude and longitude must be given together.");
+        }
+        shop.setLatitude(request.getLatitude());
+        shop.setLongitude(request.getLongitude());
     }
+
+    // Two statements whatever the page holds: the shop, then products with brand/category names joined in
+    private ShopDetailResponse loadShopDetail(Long shopId) {
+        Shop shop = shopRepository.findByIdAndDeletedAtIsNull(shopId)
+                .orElseThrow(() -> new ResourceNotFoundException("Shop not found."));
+
+        // One extra row tells whether more products exist without a COUNT(*)
+        List<ProductListingRow> rows = productRepository.findListingRowsByShopId(
+                shopId, PageRequest.of(0, MAX_EMBEDDED_PRODUCTS + 1));
+        boolean hasMore = rows.size() > MAX_EMBEDDED_PRODUCTS;
+
+        List<ProductResponse> products = rows.stream()
+                .limit(MAX_EMBEDDED_PRODUCTS)
+                .map(productMapper::toResponse)
+                .toList();
+        return shopMapper.toDetailResponse(shop, products, hasMore);
+    }
+
 }
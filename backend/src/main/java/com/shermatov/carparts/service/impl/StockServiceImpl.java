@@ -0,0 +1,205 @@
+package com.shermatov.carparts.service.impl;
+
+import com.shermatov.carparts.cache.ShopDetailCache;
+import com.shermatov.carparts.domain.ReservationStatus;
+import com.shermatov.carparts.domain.Role;
+import com.shermatov.carparts.domain.StockReservation;
+import com.shermatov.carparts.dto.request.ReservationRequest;
+import com.shermatov.carparts.dto.request.StockUpdateRequest;
+import com.shermatov.carparts.dto.response.ReservationResponse;
+import com.shermatov.carparts.dto.response.StockLevel;
+import com.shermatov.carparts.dto.response.StockUpdateResponse;
+import com.shermatov.carparts.exception.BadRequestException;
+import com.shermatov.carparts.exception.InsufficientStockException;
+import com.shermatov.carparts.exception.ReservationNotActiveException;
+import com.shermatov.carparts.exception.ResourceNotFoundException;
+import com.shermatov.carparts.repository.ProductRepository;
+import com.shermatov.carparts.repository.StockReservationRepository;
+import com.shermatov.carparts.repository.UserRepository;
+import com.shermatov.carparts.repository.projection.StockChange;
+import com.shermatov.carparts.security.AuthenticatedUser;
+import com.shermatov.carparts.service.StockService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+public class StockServiceImpl implements StockService {
+
+    private static final int MAX_BATCH_SIZE = 10_000;
+    private static final int CHUNK_SIZE = 1000;
+    private static final int RESERVATION_EXPIRES_MINUTES = 15;
+    private static final int EXPIRY_BATCH_SIZE = 500;
+
+    private final ProductRepository productRepository;
+    private final StockReservationRepository reservationRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ShopDetailCache shopDetailCache;
+
+    @Override
+    public StockUpdateResponse updateStock(List<StockUpdateRequest> updates) {
+        if (updates == null || updates.isEmpty()) {
+            return new StockUpdateResponse(List.of(), List.of());
+        }
+        if (updates.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("At most " + MAX_BATCH_SIZE + " stock updates per request.");
+        }
+
+        // Fold repeated ids into one change, applied in request order. Sorted by id so that
+        // concurrent batches touching the same products lock them in the same order.
+        Map<Long, Change> changes = new TreeMap<>();
+        // Each update is bean-validated by the controller: a productId and exactly one of quantity or delta
+        for (StockUpdateRequest update : updates) {
+            changes.computeIfAbsent(update.productId(), id -> new Change()).apply(update);
+        }
+
+        List<StockLevel> updated = new ArrayList<>(changes.size());
+        List<Long> rejected = new ArrayList<>();
+        List<Map.Entry<Long, Change>> entries = new ArrayList<>(changes.entrySet());
+
+        for (int from = 0; from < entries.size(); from += CHUNK_SIZE) {
+            List<Map.Entry<Long, Change>> chunk = entries.subList(from, Math.min(from + CHUNK_SIZE, entries.size()));
+
+            Long[] ids = new Long[chunk.size()];
+            Integer[] absolutes = new Integer[chunk.size()];
+            Integer[] deltas = new Integer[chunk.size()];
+            for (int i = 0; i < chunk.size(); i++) {
+                ids[i] = chunk.get(i).getKey();
+                absolutes[i] = chunk.get(i).getValue().absolute;
+                deltas[i] = chunk.get(i).getValue().delta;
+            }
+
+            List<StockChange> levels = transactionTemplate.execute(status ->
+                    productRepository.updateQuantities(ids, absolutes, deltas));
+
+            // The chunk has committed, so the shops' cached first pages can be dropped right away
+            Set<Long> changed = new HashSet<>();
+            Set<Long> shopIds = new HashSet<>();
+            for (StockChange level : levels) {
+                changed.add(level.productId());
+                shopIds.add(level.shopId());
+                updated.add(new StockLevel(level.productId(), level.quantity()));
+            }
+            shopIds.forEach(shopDetailCache::evict);
+            for (Long id : ids) {
+                if (!changed.contains(id)) {
+                    rejected.add(id);
+                }
+            }
+        }
+
+        return new StockUpdateResponse(updated, rejected);
+    }
+
+    @Override
+    @Transactional
+    public ReservationResponse reserve(ReservationRequest request) {
+        if (productRepository.decrementStock(request.productId(), request.quantity()) == 0) {
+            if (!productRepository.existsById(request.productId())) {
+                throw new ResourceNotFoundException("Product not found.");
+            }
+            throw new InsufficientStockException("Not enough stock to reserve " + request.quantity() + " unit(s).");
+        }
+        evictShopOf(request.productId());
+
+        StockReservation reservation = StockReservation.builder()
+                .product(productRepository.getReferenceById(request.productId()))
+                .user(userRepository.getReferenceById(AuthenticatedUser.current().id()))
+                .quantity(request.quantity())
+                .status(ReservationStatus.ACTIVE)
+                .expiresAt(LocalDateTime.now().plusMinutes(RESERVATION_EXPIRES_MINUTES))
+                .build();
+
+        StockReservation saved = reservationRepository.save(reservation);
+        return toResponse(saved, request.productId(), saved.getStatus());
+    }
+
+    @Override
+    @Transactional
+    public ReservationResponse confirm(Long reservationId) {
+        StockReservation reservation = findOwnReservation(reservationId);
+        if (reservationRepository.transitionActive(reservationId, ReservationStatus.CONFIRMED.name()) == 0) {
+            throw new ReservationNotActiveException();
+        }
+        return toResponse(reservation, reservation.getProduct().getId(), ReservationStatus.CONFIRMED);
+    }
+
+    @Override
+    @Transactional
+    public void release(Long reservationId) {
+        StockReservation reservation = findOwnReservation(reservationId);
+        if (reservationRepository.transitionActive(reservationId, ReservationStatus.RELEASED.name()) == 0) {
+            throw new ReservationNotActiveException();
+        }
+        productRepository.incrementStock(reservation.getProduct().getId(), reservation.getQuantity());
+        evictShopOf(reservation.getProduct().getId());
+    }
+
+    @Override
+    public int expireReservations() {
+        int batches = 0;
+        // Each batch is its own short transaction so the sweep never holds many row locks at once
+        while (Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                reservationRepository.expireOverdue(EXPIRY_BATCH_SIZE) > 0))) {
+            batches++;
+        }
+        if (batches > 0) {
+            shopDetailCache.evictAll();
+        }
+        return batches;
+    }
+
+    // Deferred by the cache until the surrounding transaction commits
+    private void evictShopOf(Long productId) {
+        productRepository.findShopIdById(productId).ifPresent(shopDetailCache::evict);
+    }
+
+    private StockReservation findOwnReservation(Long reservationId) {
+        StockReservation reservation = reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found."));
+        AuthenticatedUser user = AuthenticatedUser.current();
+        if (user.role() != Role.ADMIN && !reservation.getUser().getId().equals(user.id())) {
+            throw new AccessDeniedException("Reservation belongs to another user.");
+        }
+        return reservation;
+    }
+
+    private ReservationResponse toResponse(StockReservation reservation, Long productId, ReservationStatus status) {
+        return new ReservationResponse(
+                reservation.getId(),
+                productId,
+                reservation.getQuantity(),
+                status,
+                reservation.getExpiresAt());
+    }
+
+    private static final class Change {
+        private Integer absolute;
+        private int delta;
+
+        void apply(StockUpdateRequest update) {
+            if (update.quantity() != null) {
+                absolute = update.quantity();
+                delta = 0;
+            } else {
+                long folded = (long) delta + update.delta();
+                if (folded != (int) folded) {
+                    throw new BadRequestException("Combined delta for product " + update.productId() + " is out of range.");
+                }
+                delta = (int) folded;
+            }
+        }
+    }
+}
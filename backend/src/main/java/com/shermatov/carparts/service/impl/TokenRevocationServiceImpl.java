@@ -0,0 +1,41 @@
+package com.shermatov.carparts.service.impl;
+
+import com.shermatov.carparts.security.JwtService;
+import com.shermatov.carparts.security.TokenClaims;
+import com.shermatov.carparts.security.TokenRevocationList;
+import com.shermatov.carparts.service.RefreshTokenService;
+import com.shermatov.carparts.service.TokenRevocationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private final JwtService jwtService;
+    private final TokenRevocationList tokenRevocationList;
+    private final RefreshTokenService refreshTokenService;
+
+    @Override
+    public void logout(String accessToken, String refreshToken) {
+        // Tokens that no longer verify cannot be used anyway, so there is nothing to record
+        TokenClaims claims = jwtService.verify(accessToken);
+        if (claims != null && claims.tokenId() != null) {
+            tokenRevocationList.revoke(claims.tokenId(),
+                    LocalDateTime.ofInstant(claims.expiresAt(), ZoneId.systemDefault()));
+        }
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+    }
+
+    // Only the id is known here, so the entry is kept for the longest lifetime a token can have
+    @Override
+    public void revoke(UUID tokenId) {
+        tokenRevocationList.revoke(tokenId, LocalDateTime.now().plus(jwtService.accessTokenLifetime()));
+    }
+}
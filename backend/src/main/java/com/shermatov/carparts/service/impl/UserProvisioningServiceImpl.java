@@ -0,0 +1,189 @@
+package com.shermatov.carparts.service.impl;
+
+import com.shermatov.carparts.dto.request.UserCreateRequestDto;
+import com.shermatov.carparts.dto.response.BulkUserCreateResponse;
+import com.shermatov.carparts.dto.response.BulkUserResult;
+import com.shermatov.carparts.exception.BadRequestException;
+import com.shermatov.carparts.repository.UserRepository;
+import com.shermatov.carparts.repository.projection.UserIdEmail;
+import com.shermatov.carparts.security.PasswordHashingPool;
+import com.shermatov.carparts.service.UserProvisioningService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+@Service
+public class UserProvisioningServiceImpl implements UserProvisioningService {
+
+    private static final int MAX_USERS = 1000;
+    private static final int CHUNK_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final Executor hashExecutor;
+    private final int hashParallelism;
+
+    public UserProvisioningServiceImpl(UserRepository userRepository,
+                                       PasswordEncoder passwordEncoder,
+                                       Validator validator,
+                                       PasswordHashingPool hashPool) {
+        this(userRepository, passwordEncoder, validator, hashPool, hashPool.parallelism());
+    }
+
+    UserProvisioningServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                                Validator validator, Executor hashExecutor, int hashParallelism) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.hashExecutor = hashExecutor;
+        this.hashParallelism = hashParallelism;
+    }
+
+    @Override
+    public BulkUserCreateResponse createUsers(List<UserCreateRequestDto> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return new BulkUserCreateResponse(0, 0, 0, List.of(), 0);
+        }
+        if (requests.size() > MAX_USERS) {
+            throw new BadRequestException("At most " + MAX_USERS + " users per request.");
+        }
+
+        long start = System.nanoTime();
+        BulkUserResult[] results = new BulkUserResult[requests.size()];
+
+        // First occurrence of each valid email wins; later ones are reported as duplicates
+        Map<String, Integer> indexByEmail = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            UserCreateRequestDto request = requests.get(i);
+            String error = validate(request);
+            if (error == null && indexByEmail.putIfAbsent(request.getEmail(), i) != null) {
+                error = "Duplicate email in request.";
+            }
+            if (error != null) {
+                results[i] = failed(i, request, error);
+            }
+        }
+
+        // One query for the whole request instead of an exists check per user
+        Set<String> taken = indexByEmail.isEmpty()
+                ? Set.of()
+                : new HashSet<>(userRepository.findExistingEmails(indexByEmail.keySet()));
+        List<Integer> accepted = new ArrayList<>(indexByEmail.size());
+        for (Map.Entry<String, Integer> entry : indexByEmail.entrySet()) {
+            if (taken.contains(entry.getKey())) {
+                results[entry.getValue()] = failed(entry.getValue(), requests.get(entry.getValue()), "User already exists.");
+            } else {
+                accepted.add(entry.getValue());
+            }
+        }
+
+        String[] hashes = hashAll(requests, accepted);
+
+        for (int from = 0; from < accepted.size(); from += CHUNK_SIZE) {
+            List<Integer> chunk = accepted.subList(from, Math.min(from + CHUNK_SIZE, accepted.size()));
+            insertChunk(requests, chunk, hashes, from, results);
+        }
+
+        int created = 0;
+        for (BulkUserResult result : results) {
+            if (result.error() == null) {
+                created++;
+            }
+        }
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        return new BulkUserCreateResponse(requests.size(), created, requests.size() - created,
+                List.of(results), durationMillis);
+    }
+
+    // BCrypt is deliberately slow, so the accepted users are split into slices that run on the
+    // hashing pool itself, where encode() hashes in place instead of re-queueing. One pool thread
+    // is always left free so logins and password resets are not stuck behind a bulk request.
+    private String[] hashAll(List<UserCreateRequestDto> requests, List<Integer> accepted) {
+        String[] hashes = new String[accepted.size()];
+        int slices = Math.min(hashParallelism - 1, accepted.size());
+        if (slices < 1) {
+            // A single-thread pool cannot be split; each encode() queues on its own and interleaves with logins
+            for (int i = 0; i < accepted.size(); i++) {
+                hashes[i] = passwordEncoder.encode(requests.get(accepted.get(i)).getPassword());
+            }
+            return hashes;
+        }
+        int sliceSize = (accepted.size() + slices - 1) / slices;
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(slices);
+        for (int from = 0; from < accepted.size(); from += sliceSize) {
+            int sliceStart = from;
+            int sliceEnd = Math.min(from + sliceSize, accepted.size());
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = sliceStart; i < sliceEnd; i++) {
+                    hashes[i] = passwordEncoder.encode(requests.get(accepted.get(i)).getPassword());
+                }
+            }, hashExecutor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        return hashes;
+    }
+
+    private void insertChunk(List<UserCreateRequestDto> requests, List<Integer> chunk, String[] hashes,
+                             int offset, BulkUserResult[] results) {
+        int size = chunk.size();
+        String[] emails = new String[size];
+        String[] passwords = new String[size];
+        String[] firstNames = new String[size];
+        String[] lastNames = new String[size];
+        for (int i = 0; i < size; i++) {
+            UserCreateRequestDto request = requests.get(chunk.get(i));
+            emails[i] = request.getEmail();
+            passwords[i] = hashes[offset + i];
+            firstNames[i] = request.getFirstName();
+            lastNames[i] = request.getLastName();
+        }
+
+        Map<String, Long> idByEmail = new HashMap<>();
+        for (UserIdEmail row : userRepository.insertAll(emails, passwords, firstNames, lastNames)) {
+            idByEmail.put(row.email(), row.id());
+        }
+        for (int index : chunk) {
+            UserCreateRequestDto request = requests.get(index);
+            Long id = idByEmail.get(request.getEmail());
+            // Missing from RETURNING: someone registered the email after the duplicate check
+            results[index] = id != null
+                    ? new BulkUserResult(index, request.getEmail(), id, null)
+                    : failed(index, request, "User already exists.");
+        }
+    }
+
+    private String validate(UserCreateRequestDto request) {
+        if (request == null) {
+            return "User must not be null.";
+        }
+        Set<ConstraintViolation<UserCreateRequestDto>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (request.getRole() != null && request.getRole().equalsIgnoreCase("ADMIN")) {
+            return "Admin role can not be assigned.";
+        }
+        return null;
+    }
+
+    private static BulkUserResult failed(int index, UserCreateRequestDto request, String error) {
+        return new BulkUserResult(index, request == null ? null : request.getEmail(), null, error);
+    }
+}
@@ -1,30 +1,45 @@
 package com.shermatov.carparts.service.impl;
 
+import com.shermatov.carparts.cache.PrincipalCache;
 import com.shermatov.carparts.domain.Role;
 import com.shermatov.carparts.domain.User;
 import com.shermatov.carparts.dto.request.UserCreateRequestDto;
 import com.shermatov.carparts.dto.request.UserUpdateRequestDto;
+import com.shermatov.carparts.dto.response.UserSliceResponse;
+import com.shermatov.carparts.exception.BadRequestException;
+import com.shermatov.carparts.exception.InvalidCursorException;
 import com.shermatov.carparts.exception.InvalidRoleAssignmentException;
 import com.shermatov.carparts.exception.ResourceNotFoundException;
 import com.shermatov.carparts.exception.UserAlreadyExistsException;
+import com.shermatov.carparts.pagination.UserCursor;
 import com.shermatov.carparts.repository.UserRepository;
+import com.shermatov.carparts.repository.projection.UserListRow;
+import com.shermatov.carparts.service.RefreshTokenService;
 import com.shermatov.carparts.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int ARCHIVE_BATCH_SIZE = 500;
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final RefreshTokenService refreshTokenService;
 
     @Override
     public User findByEmail(String email) {
@@ -62,7 +77,9 @@ public class UserServiceImpl implements UserService {
         }
         updated.setFirstName(request.getFirstName());
         updated.setLastName(request.getLastName());
-        return userRepository.save(updated);
+        User saved = userRepository.save(updated);
+        principalCache.evict(email);
+        return saved;
     }
 
     @Override
@@ -90,6 +107,9 @@ public class UserServiceImpl implements UserService {
         }
         user.setDeletedAt(LocalDateTime.now());
         userRepository.save(user);
+        // Refresh tokens would otherwise keep minting access tokens for the deleted account
+        refreshTokenService.revokeAll(user.getId());
+        principalCache.evict(email);
     }
     @Override
     public Page<User> search(String query,Pageable pageable) {
@@ -100,9 +120,50 @@ public class UserServiceImpl implements UserService {
         String trimmedQuery = query.trim();
 
         if (trimmedQuery.length() < 3){
-            throw new IllegalArgumentException("Search text must be at least 3 characters.");
+            throw new BadRequestException("Search text must be at least 3 characters.");
+        }
+        // Results are always ordered by relevance, so any client-supplied sort is dropped
+        String q = trimmedQuery.toLowerCase(Locale.ROOT);
+        Pageable byRank = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return userRepository.search("%" + escapeLike(q) + "%", q, Role.USER.name(), byRank);
+    }
+
+    @Override
+    public UserSliceResponse listUsers(String cursor, int size, Role role, boolean withTotal) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        UserCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = UserCursor.decode(cursor);
+            if (after.role() != role) {
+                throw new InvalidCursorException();
+            }
+        }
+
+        Slice<UserListRow> slice = userRepository.findListingSlice(role, after, pageSize);
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            UserListRow last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            nextCursor = new UserCursor(role, last.createdAt(), last.id()).encode();
         }
-        return userRepository.search(trimmedQuery, Role.USER, pageable);
+        Long approximateTotal = withTotal ? userRepository.estimateListingCount(role) : null;
+        return new UserSliceResponse(slice.getContent(), nextCursor, slice.hasNext(), approximateTotal);
+    }
+
+    // Batches keep each transaction and its row locks short while a backlog is worked off
+    @Override
+    public int archiveDeletedUsers(LocalDateTime deletedBefore) {
+        int total = 0;
+        int archived;
+        do {
+            archived = userRepository.archiveDeleted(deletedBefore, ARCHIVE_BATCH_SIZE);
+            total += archived;
+        } while (archived == ARCHIVE_BATCH_SIZE);
+        return total;
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
 
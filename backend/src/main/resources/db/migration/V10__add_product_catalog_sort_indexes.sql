@@ -0,0 +1,5 @@
+-- Composite indexes backing keyset pagination of the product catalog.
+-- Each sort key is paired with id so (column, id) is unique and seekable.
+CREATE INDEX idx_product_price_id ON products(price, id);
+CREATE INDEX idx_product_name_id ON products(name, id);
+CREATE INDEX idx_product_updated_at_id ON products(updated_at, id);
@@ -0,0 +1,10 @@
+-- Full-text search over product name (weight A) and description (weight B).
+-- The column is generated by PostgreSQL, so every write path keeps it in sync.
+ALTER TABLE products
+    ADD COLUMN search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+            setweight(to_tsvector('english', coalesce(description, '')), 'B')
+        ) STORED;
+
+CREATE INDEX idx_product_search_vector ON products USING GIN (search_vector);
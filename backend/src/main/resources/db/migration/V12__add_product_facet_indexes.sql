@@ -0,0 +1,7 @@
+-- Composite indexes backing faceted filtering by category/brand and price range.
+-- They cover the single-column foreign key indexes from V5, which are dropped.
+CREATE INDEX idx_product_category_price ON products(category_id, price);
+CREATE INDEX idx_product_brand_price ON products(brand_id, price);
+
+DROP INDEX IF EXISTS idx_product_category_id;
+DROP INDEX IF EXISTS idx_product_brand_id;
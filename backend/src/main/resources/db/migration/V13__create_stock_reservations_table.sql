@@ -0,0 +1,29 @@
+CREATE TABLE stock_reservations (
+    id BIGSERIAL PRIMARY KEY,
+
+    product_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    quantity INT NOT NULL CHECK (quantity > 0),
+    status VARCHAR(20) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    deleted_at TIMESTAMP NULL,
+
+    CONSTRAINT fk_stock_reservation_product
+        FOREIGN KEY (product_id)
+            REFERENCES products(id),
+
+    CONSTRAINT fk_stock_reservation_user
+        FOREIGN KEY (user_id)
+            REFERENCES users(id)
+);
+
+CREATE INDEX idx_stock_reservation_product_id ON stock_reservations(product_id);
+CREATE INDEX idx_stock_reservation_user_id ON stock_reservations(user_id);
+
+-- Only active reservations are ever swept for expiry
+CREATE INDEX idx_stock_reservation_active_expires_at
+    ON stock_reservations(expires_at)
+    WHERE status = 'ACTIVE';
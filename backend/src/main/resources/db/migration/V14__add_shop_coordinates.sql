@@ -0,0 +1,10 @@
+-- WGS84 coordinates of a shop; both are set or both are empty.
+ALTER TABLE shops
+    ADD COLUMN latitude DOUBLE PRECISION,
+    ADD COLUMN longitude DOUBLE PRECISION;
+
+ALTER TABLE shops
+    ADD CONSTRAINT chk_shop_coordinates CHECK (
+        (latitude IS NULL AND longitude IS NULL)
+        OR (latitude BETWEEN -90 AND 90 AND longitude BETWEEN -180 AND 180)
+    );
@@ -0,0 +1,58 @@
+-- Read model answering "which shops have this part in stock".
+-- One row per product keyed by a normalized part name. A trigger on products keeps
+-- it in sync for every write path, including set-based stock and import statements.
+-- Deleted products stay behind as tombstones so pollers can see the removal.
+CREATE TABLE part_availability (
+    product_id BIGINT PRIMARY KEY,
+    part_key VARCHAR(150) NOT NULL,
+    shop_id BIGINT NOT NULL,
+    price DOUBLE PRECISION NOT NULL,
+    quantity INT NOT NULL,
+    deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_part_availability_key_price
+    ON part_availability(part_key, price)
+    WHERE quantity > 0 AND NOT deleted;
+
+CREATE INDEX idx_part_availability_updated_at ON part_availability(updated_at);
+
+-- Must stay in line with PartKey.of on the Java side
+CREATE FUNCTION part_key(name TEXT) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE STRICT
+AS $$
+    SELECT regexp_replace(lower(name), '[^[:alnum:]]+', '', 'g')
+$$;
+
+CREATE FUNCTION sync_part_availability() RETURNS trigger
+    LANGUAGE plpgsql
+AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        UPDATE part_availability
+        SET quantity = 0, deleted = TRUE, updated_at = clock_timestamp()::timestamp
+        WHERE product_id = OLD.id;
+        RETURN OLD;
+    END IF;
+
+    INSERT INTO part_availability (product_id, part_key, shop_id, price, quantity, deleted, updated_at)
+    VALUES (NEW.id, part_key(NEW.name), NEW.shop_id, NEW.price, NEW.quantity, FALSE, clock_timestamp()::timestamp)
+    ON CONFLICT (product_id) DO UPDATE
+        SET part_key = EXCLUDED.part_key,
+            shop_id = EXCLUDED.shop_id,
+            price = EXCLUDED.price,
+            quantity = EXCLUDED.quantity,
+            deleted = FALSE,
+            updated_at = EXCLUDED.updated_at;
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER trg_products_part_availability
+    AFTER INSERT OR DELETE OR UPDATE OF name, price, quantity, shop_id ON products
+    FOR EACH ROW EXECUTE FUNCTION sync_part_availability();
+
+INSERT INTO part_availability (product_id, part_key, shop_id, price, quantity)
+SELECT id, part_key(name), shop_id, price, quantity
+FROM products;
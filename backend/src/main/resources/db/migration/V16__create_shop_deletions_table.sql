@@ -0,0 +1,20 @@
+-- Progress of asynchronous shop removals. Rows outlive the shop so progress stays
+-- queryable; RUNNING rows whose heartbeat (updated_at) stalls are picked up again.
+CREATE TABLE shop_deletions (
+    id BIGSERIAL PRIMARY KEY,
+
+    shop_id BIGINT NOT NULL UNIQUE,
+    status VARCHAR(20) NOT NULL,
+    total_products BIGINT NOT NULL DEFAULT 0,
+    deleted_products BIGINT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    completed_at TIMESTAMP NULL,
+
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    deleted_at TIMESTAMP NULL
+);
+
+CREATE INDEX idx_shop_deletions_unfinished
+    ON shop_deletions(updated_at)
+    WHERE status IN ('PENDING', 'RUNNING');
@@ -0,0 +1,11 @@
+-- Substring search over users. A trigram GIN index can answer LIKE '%q%' on the same
+-- expression, so the search query matches these expressions exactly. pg_trgm is a trusted
+-- extension, so the database owner can create it.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_user_first_name_trgm ON users USING GIN (lower(first_name) gin_trgm_ops)
+    WHERE deleted_at IS NULL;
+CREATE INDEX idx_user_last_name_trgm ON users USING GIN (lower(last_name) gin_trgm_ops)
+    WHERE deleted_at IS NULL;
+CREATE INDEX idx_user_email_trgm ON users USING GIN (lower(email) gin_trgm_ops)
+    WHERE deleted_at IS NULL;
@@ -0,0 +1,5 @@
+-- Keyset pagination of the admin user list, newest first, with and without a role filter.
+CREATE INDEX idx_user_created_at_id ON users (created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+CREATE INDEX idx_user_role_created_at_id ON users (role, created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
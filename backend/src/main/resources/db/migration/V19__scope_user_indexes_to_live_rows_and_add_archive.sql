@@ -0,0 +1,24 @@
+-- Soft-deleted users no longer block their email: uniqueness only applies to live rows,
+-- and the index stays as small as the live user base.
+ALTER TABLE users DROP CONSTRAINT IF EXISTS users_email_key;
+DROP INDEX IF EXISTS idx_user_email;
+CREATE UNIQUE INDEX idx_user_email_live ON users (email) WHERE deleted_at IS NULL;
+
+-- Finds archival candidates without touching live rows
+CREATE INDEX idx_user_deleted_at ON users (deleted_at) WHERE deleted_at IS NOT NULL;
+
+-- Users deleted long ago are moved here by the archival job. Password hashes are
+-- deliberately not kept.
+CREATE TABLE users_archive (
+    id BIGINT PRIMARY KEY,
+    email VARCHAR(255) NOT NULL,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    role VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE,
+    updated_at TIMESTAMP NOT NULL,
+    deleted_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_users_archive_email ON users_archive (email);
@@ -0,0 +1,10 @@
+-- Access tokens revoked before their expiry, by jti. Rows are useless once the token
+-- would have expired anyway and are purged from then on.
+CREATE TABLE revoked_tokens (
+    token_id UUID PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP
+);
+
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
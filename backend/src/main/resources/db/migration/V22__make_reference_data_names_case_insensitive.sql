@@ -0,0 +1,12 @@
+-- Brand and category names are looked up case-insensitively, so 'Bosch' and 'bosch'
+-- must not coexist. Rename any later duplicates before enforcing it.
+UPDATE brands b
+SET name = LEFT(b.name, 80) || ' (' || b.id || ')'
+WHERE EXISTS (SELECT 1 FROM brands o WHERE LOWER(o.name) = LOWER(b.name) AND o.id < b.id);
+
+UPDATE categories c
+SET name = LEFT(c.name, 80) || ' (' || c.id || ')'
+WHERE EXISTS (SELECT 1 FROM categories o WHERE LOWER(o.name) = LOWER(c.name) AND o.id < c.id);
+
+CREATE UNIQUE INDEX idx_brands_name_lower ON brands(LOWER(name));
+CREATE UNIQUE INDEX idx_categories_name_lower ON categories(LOWER(name));
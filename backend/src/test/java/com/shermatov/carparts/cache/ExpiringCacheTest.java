@@ -0,0 +1,97 @@
+package com.shermatov.carparts.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiringCacheTest {
+
+    @Test
+    void get_WhenLoadedOnce_ShouldServeFromCache() {
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, key -> "shop-" + key + "-" + loads.incrementAndGet());
+        String second = cache.get(1L, key -> "shop-" + key + "-" + loads.incrementAndGet());
+
+        assertThat(second).isEqualTo("shop-1-1");
+        assertThat(loads).hasValue(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void get_WhenEntryExpired_ShouldReload() {
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(10, Duration.ZERO);
+        cache.put(1L, "stale");
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(1L, key -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void put_WhenFull_ShouldStayWithinBound() {
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(3, Duration.ofMinutes(1));
+
+        for (long key = 0; key < 10; key++) {
+            cache.put(key, "value");
+        }
+
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.get(9L)).isEqualTo("value");
+    }
+
+    @Test
+    void put_WhenFull_ShouldKeepEntriesReadSinceTheLastEviction() {
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(10, Duration.ofMinutes(1));
+        for (long key = 0; key < 10; key++) {
+            cache.put(key, "value");
+        }
+
+        for (long key = 10; key < 20; key++) {
+            cache.get(0L);
+            cache.put(key, "value");
+        }
+
+        assertThat(cache.get(0L)).isEqualTo("value");
+        assertThat(cache.size()).isEqualTo(10);
+    }
+
+    @Test
+    void put_WhenFull_ShouldFreeABatchAtOnce() {
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(100, Duration.ofMinutes(1));
+        for (long key = 0; key < 100; key++) {
+            cache.put(key, "value");
+        }
+
+        cache.put(100L, "value");
+
+        // A tenth of the capacity is freed, so the next nine new keys need no scan
+        assertThat(cache.size()).isEqualTo(91);
+    }
+
+    @Test
+    void evict_ShouldDropEntry() {
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(10, Duration.ofMinutes(1));
+        cache.put(1L, "value");
+
+        cache.evict(1L);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void put_WhenEntryTtlAlreadyElapsed_ShouldNotStore() {
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(10, Duration.ofMinutes(1));
+
+        cache.put(1L, "expired", Duration.ofSeconds(-5));
+        cache.put(2L, "live", Duration.ofHours(1));
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(2L)).isEqualTo("live");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,104 @@
+package com.shermatov.carparts.cache;
+
+import com.shermatov.carparts.domain.User;
+import com.shermatov.carparts.security.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrincipalCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PrincipalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new PrincipalCache(100, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @Test
+    void get_WhenCachedUser_ShouldNotLoadAgainAndReuseAuthorities() {
+        AtomicInteger loads = new AtomicInteger();
+        User user = new User("joe@example.com", "secret", "Joe", "Duo");
+
+        AuthenticatedUser first = cache.get("joe@example.com", email -> {
+            loads.incrementAndGet();
+            return user;
+        });
+        AuthenticatedUser second = cache.get("joe@example.com", email -> {
+            loads.incrementAndGet();
+            return user;
+        });
+
+        assertThat(loads).hasValue(1);
+        assertThat(second.authorities()).isSameAs(first.authorities());
+        assertThat(first.authorities()).extracting("authority").containsExactly("ROLE_USER");
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void evict_ShouldForceReload() {
+        AtomicInteger loads = new AtomicInteger();
+        User user = new User("joe@example.com", "secret", "Joe", "Duo");
+
+        cache.get("joe@example.com", email -> { loads.incrementAndGet(); return user; });
+        cache.evict("joe@example.com");
+        cache.get("joe@example.com", email -> { loads.incrementAndGet(); return user; });
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_WhenUserMissing_ShouldNotRememberIt() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("ghost@example.com", email -> { loads.incrementAndGet(); return null; })).isNull();
+        assertThat(cache.get("ghost@example.com", email -> { loads.incrementAndGet(); return null; })).isNull();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_WhenEvictedWhileLoading_ShouldServeButNotKeepTheRow() {
+        AtomicInteger loads = new AtomicInteger();
+        User user = new User("joe@example.com", "secret", "Joe", "Duo");
+
+        cache.get("joe@example.com", email -> {
+            loads.incrementAndGet();
+            // The write commits and evicts after the row was read
+            cache.evict(email);
+            return user;
+        });
+        cache.get("joe@example.com", email -> { loads.incrementAndGet(); return user; });
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void evict_WhenInTransaction_ShouldEvictAgainAfterCommit() {
+        AtomicInteger loads = new AtomicInteger();
+        User user = new User("joe@example.com", "secret", "Joe", "Duo");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evict("joe@example.com");
+            // A request loads the pre-commit row between the write and the commit
+            cache.get("joe@example.com", email -> { loads.incrementAndGet(); return user; });
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        cache.get("joe@example.com", email -> { loads.incrementAndGet(); return user; });
+
+        assertThat(loads).hasValue(2);
+    }
+}
@@ -0,0 +1,112 @@
+package com.shermatov.carparts.cache;
+
+import com.shermatov.carparts.domain.Brand;
+import com.shermatov.carparts.domain.Category;
+import com.shermatov.carparts.repository.BrandRepository;
+import com.shermatov.carparts.repository.CategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataCacheTest {
+
+    @Mock
+    private BrandRepository brandRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @InjectMocks
+    private ReferenceDataCache referenceDataCache;
+
+    @Test
+    void refresh_ShouldServeLookupsByIdAndName() {
+        when(brandRepository.findAll()).thenReturn(List.of(brand(2L, "Mann"), brand(1L, "Bosch")));
+        when(categoryRepository.findAll()).thenReturn(List.of(category(5L, "Filters")));
+
+        referenceDataCache.refresh();
+
+        assertThat(referenceDataCache.brandName(2L)).isEqualTo("Mann");
+        assertThat(referenceDataCache.findBrandId(" bosch ")).contains(1L);
+        assertThat(referenceDataCache.categoryName(5L)).isEqualTo("Filters");
+        assertThat(referenceDataCache.brands()).extracting(Brand::getName).containsExactly("Bosch", "Mann");
+        assertThat(referenceDataCache.brandName(null)).isNull();
+    }
+
+    @Test
+    void refresh_ShouldReplaceTheWholeSnapshot() {
+        when(brandRepository.findAll())
+                .thenReturn(List.of(brand(1L, "Bosch")))
+                .thenReturn(List.of(brand(3L, "Denso")));
+        when(categoryRepository.findAll()).thenReturn(List.of());
+
+        referenceDataCache.refresh();
+        var before = referenceDataCache.brandIds();
+        referenceDataCache.refresh();
+
+        assertThat(before).containsExactly(1L);
+        assertThat(referenceDataCache.brandIds()).containsExactly(3L);
+        assertThat(referenceDataCache.findBrand(1L)).isEmpty();
+        assertThatThrownBy(() -> referenceDataCache.brandIds().add(4L))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void refresh_WhenNamesDifferOnlyInCase_ShouldResolveToTheOldest() {
+        when(brandRepository.findAll()).thenReturn(List.of(brand(7L, "bosch"), brand(3L, "Bosch")));
+        when(categoryRepository.findAll()).thenReturn(List.of());
+
+        referenceDataCache.refresh();
+
+        assertThat(referenceDataCache.findBrandId("BOSCH")).contains(3L);
+        assertThat(referenceDataCache.brandIds()).containsExactlyInAnyOrder(3L, 7L);
+    }
+
+    @Test
+    void resolveBrand_WhenCreatedElsewhereSinceLastRefresh_ShouldRefreshAndFindIt() {
+        when(brandRepository.findAll())
+                .thenReturn(List.of(brand(1L, "Bosch")))
+                .thenReturn(List.of(brand(1L, "Bosch"), brand(2L, "Mann")));
+        when(categoryRepository.findAll()).thenReturn(List.of());
+        when(brandRepository.existsById(2L)).thenReturn(true);
+        referenceDataCache.refresh();
+
+        assertThat(referenceDataCache.resolveBrand(2L)).map(Brand::getName).contains("Mann");
+        assertThat(referenceDataCache.brandName(2L)).isEqualTo("Mann");
+    }
+
+    @Test
+    void resolveBrand_WhenNotInDatabase_ShouldNotRefresh() {
+        when(brandRepository.findAll()).thenReturn(List.of(brand(1L, "Bosch")));
+        when(categoryRepository.findAll()).thenReturn(List.of());
+        referenceDataCache.refresh();
+
+        assertThat(referenceDataCache.resolveBrand(9L)).isEmpty();
+        verify(brandRepository, times(1)).findAll();
+    }
+
+    private static Brand brand(Long id, String name) {
+        Brand brand = new Brand();
+        brand.setId(id);
+        brand.setName(name);
+        return brand;
+    }
+
+    private static Category category(Long id, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+}
@@ -0,0 +1,56 @@
+package com.shermatov.carparts.cache;
+
+import com.shermatov.carparts.dto.response.ShopDetailResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShopDetailCacheTest {
+
+    @Test
+    void evict_WhenInsideTransaction_ShouldWaitForCommit() {
+        ShopDetailCache cache = new ShopDetailCache(10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        ShopDetailResponse detail = ShopDetailResponse.builder().id(1L).build();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.get(1L, id -> countLoad(loads, detail));
+            cache.evict(1L);
+
+            // A read racing the uncommitted write must not be able to refill the entry afterwards
+            cache.get(1L, id -> countLoad(loads, detail));
+            assertThat(loads).hasValue(1);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        cache.get(1L, id -> countLoad(loads, detail));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void evict_WhenNoTransaction_ShouldEvictImmediately() {
+        ShopDetailCache cache = new ShopDetailCache(10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        ShopDetailResponse detail = ShopDetailResponse.builder().id(1L).build();
+
+        cache.get(1L, id -> countLoad(loads, detail));
+        cache.evict(1L);
+        cache.get(1L, id -> countLoad(loads, detail));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private static ShopDetailResponse countLoad(AtomicInteger loads, ShopDetailResponse detail) {
+        loads.incrementAndGet();
+        return detail;
+    }
+}
@@ -0,0 +1,50 @@
+package com.shermatov.carparts.controller;
+
+import com.shermatov.carparts.repository.projection.ResourceVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalGetTest {
+
+    private static final ResourceVersion VERSION =
+            new ResourceVersion(LocalDateTime.of(2026, 3, 1, 10, 15, 30, 123_456_000), 42L);
+
+    @Test
+    void isNotModified_WhenEtagMatches_ShouldAnswer304() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/shops");
+        request.addHeader("If-None-Match", ConditionalGet.etag(VERSION, 7));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean notModified = ConditionalGet.isNotModified(new ServletWebRequest(request, response), VERSION, 7);
+
+        assertThat(notModified).isTrue();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader("Cache-Control")).contains("no-cache");
+    }
+
+    @Test
+    void isNotModified_WhenRowCountChanges_ShouldServeFreshBodyWithNewEtag() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/shops");
+        request.addHeader("If-None-Match", ConditionalGet.etag(VERSION, 7));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResourceVersion afterDelete = new ResourceVersion(VERSION.lastModified(), 41L);
+
+        boolean notModified = ConditionalGet.isNotModified(new ServletWebRequest(request, response), afterDelete, 7);
+
+        assertThat(notModified).isFalse();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("ETag")).isEqualTo(ConditionalGet.etag(afterDelete, 7));
+        assertThat(response.getHeader("Last-Modified")).isNotNull();
+    }
+
+    @Test
+    void etag_WhenReferenceDataChanges_ShouldChange() {
+        assertThat(ConditionalGet.etag(VERSION, 1)).isNotEqualTo(ConditionalGet.etag(VERSION, 2));
+    }
+}
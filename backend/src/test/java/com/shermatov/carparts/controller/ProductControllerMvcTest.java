@@ -0,0 +1,72 @@
+package com.shermatov.carparts.controller;
+
+import com.shermatov.carparts.cache.ReferenceDataCache;
+import com.shermatov.carparts.dto.response.CursorPageResponse;
+import com.shermatov.carparts.index.ProductNameIndex;
+import com.shermatov.carparts.pagination.ProductSortKey;
+import com.shermatov.carparts.security.JwtAuthenticationFilter;
+import com.shermatov.carparts.service.ProductExportService;
+import com.shermatov.carparts.service.ProductImportService;
+import com.shermatov.carparts.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ProductController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class ProductControllerMvcTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ProductService productService;
+
+    @MockitoBean
+    private ProductExportService productExportService;
+
+    @MockitoBean
+    private ProductImportService productImportService;
+
+    @MockitoBean
+    private ProductNameIndex productNameIndex;
+
+    @MockitoBean
+    private ReferenceDataCache referenceDataCache;
+
+    @MockitoBean
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Test
+    void getCatalogPage_WhenDirectionGiven_ShouldIgnoreCase() throws Exception {
+        when(productService.getCatalogPage(any(), anyInt(), eq(ProductSortKey.PRICE), eq(Sort.Direction.DESC)))
+                .thenReturn(new CursorPageResponse<>(List.of(), null, false));
+
+        mockMvc.perform(get("/api/products/catalog").param("sort", "price").param("direction", "Desc"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getCatalogPage_WhenDirectionInvalid_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/products/catalog").param("direction", "up"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unsupported sort direction: up"));
+
+        verifyNoInteractions(productService);
+    }
+}
@@ -0,0 +1,69 @@
+package com.shermatov.carparts.controller;
+
+import com.shermatov.carparts.dto.response.StockLevel;
+import com.shermatov.carparts.dto.response.StockUpdateResponse;
+import com.shermatov.carparts.security.JwtAuthenticationFilter;
+import com.shermatov.carparts.service.StockService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(StockController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class StockControllerMvcTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private StockService stockService;
+
+    @MockitoBean
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Test
+    void updateStock_WhenValid_ShouldReturnUpdatedLevels() throws Exception {
+        when(stockService.updateStock(any()))
+                .thenReturn(new StockUpdateResponse(List.of(new StockLevel(3L, 12)), List.of()));
+
+        mockMvc.perform(patch("/api/products/stock")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"productId\": 3, \"quantity\": 12}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated[0].quantity").value(12));
+    }
+
+    @Test
+    void updateStock_WhenBothQuantityAndDeltaGiven_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/products/stock")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"productId\": 3, \"quantity\": 12}, {\"productId\": 4, \"quantity\": 1, \"delta\": 2}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("[1].quantityOrDelta: exactly one of quantity or delta is required"));
+
+        verifyNoInteractions(stockService);
+    }
+
+    @Test
+    void updateStock_WhenProductIdMissingOrQuantityNegative_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/products/stock")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"delta\": 2}, {\"productId\": 4, \"quantity\": -1}]"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(stockService);
+    }
+}
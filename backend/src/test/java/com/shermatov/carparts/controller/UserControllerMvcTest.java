@@ -6,6 +6,8 @@ import com.shermatov.carparts.dto.request.UserCreateRequestDto;
 import com.shermatov.carparts.dto.request.UserUpdateRequestDto;
 import com.shermatov.carparts.exception.ResourceNotFoundException;
 import com.shermatov.carparts.security.JwtAuthenticationFilter;
+import com.shermatov.carparts.service.TokenRevocationService;
+import com.shermatov.carparts.service.UserProvisioningService;
 import com.shermatov.carparts.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,6 +43,12 @@ class UserControllerMvcTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private UserProvisioningService userProvisioningService;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
 //    @MockitoBean
 //    private JwtService jwtService;
 
@@ -0,0 +1,70 @@
+package com.shermatov.carparts.imports;
+
+import com.shermatov.carparts.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductCsvRowReaderTest {
+
+    @Test
+    void next_WhenColumnsReorderedAndQuoted_ShouldParseRows() throws IOException {
+        String csv = """
+                quantity,name,price,description,brandId
+                5,"Oil Filter, OC-90",12.5,"Fits ""all"" engines",3
+
+                0,Air Filter,8,,
+                """;
+
+        try (ProductCsvRowReader reader = reader(csv)) {
+            ImportRow first = reader.next();
+            assertThat(first.rowNumber()).isEqualTo(1);
+            assertThat(first.request().getName()).isEqualTo("Oil Filter, OC-90");
+            assertThat(first.request().getDescription()).isEqualTo("Fits \"all\" engines");
+            assertThat(first.request().getPrice()).isEqualTo(12.5);
+            assertThat(first.request().getQuantity()).isEqualTo(5);
+            assertThat(first.request().getBrandId()).isEqualTo(3L);
+
+            ImportRow second = reader.next();
+            assertThat(second.rowNumber()).isEqualTo(3);
+            assertThat(second.request().getDescription()).isNull();
+            assertThat(second.request().getBrandId()).isNull();
+
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void next_WhenNumberIsInvalid_ShouldReportRowError() throws IOException {
+        try (ProductCsvRowReader reader = reader("name,price,quantity\nPad,abc,1\n")) {
+            ImportRow row = reader.next();
+
+            assertThat(row.request()).isNull();
+            assertThat(row.error()).isEqualTo("Invalid number: abc");
+        }
+    }
+
+    @Test
+    void next_WhenPriceIsNotFinite_ShouldReportRowError() throws IOException {
+        try (ProductCsvRowReader reader = reader("name,price,quantity\nPad,NaN,1\nDisc,Infinity,1\n")) {
+            assertThat(reader.next().error()).isEqualTo("Invalid number: NaN");
+            assertThat(reader.next().error()).isEqualTo("Invalid number: Infinity");
+        }
+    }
+
+    @Test
+    void constructor_WhenRequiredColumnMissing_ShouldThrow() {
+        assertThatThrownBy(() -> reader("name,price\n"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("quantity");
+    }
+
+    private static ProductCsvRowReader reader(String csv) throws IOException {
+        return new ProductCsvRowReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
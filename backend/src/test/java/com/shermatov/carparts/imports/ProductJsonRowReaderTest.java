@@ -0,0 +1,65 @@
+package com.shermatov.carparts.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shermatov.carparts.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductJsonRowReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void next_WhenElementMalformedMidArray_ShouldFailOnlyThatRow() throws IOException {
+        String json = """
+                [
+                  {"name": "Oil Filter", "price": 12.5, "quantity": 5},
+                  {"name": "Air Filter", "price": "cheap", "quantity": 2, "brandId": 3, "description": "x"},
+                  {"name": "Brake Pad", "price": 30, "quantity": 1},
+                  42,
+                  {"name": "Wiper", "price": 7, "quantity": 9}
+                ]
+                """;
+
+        try (ProductJsonRowReader reader = reader(json)) {
+            ImportRow first = reader.next();
+            assertThat(first.rowNumber()).isEqualTo(1);
+            assertThat(first.request().getName()).isEqualTo("Oil Filter");
+
+            ImportRow malformed = reader.next();
+            assertThat(malformed.rowNumber()).isEqualTo(2);
+            assertThat(malformed.request()).isNull();
+            assertThat(malformed.error()).startsWith("Malformed product");
+
+            ImportRow third = reader.next();
+            assertThat(third.rowNumber()).isEqualTo(3);
+            assertThat(third.request().getName()).isEqualTo("Brake Pad");
+
+            ImportRow scalar = reader.next();
+            assertThat(scalar.rowNumber()).isEqualTo(4);
+            assertThat(scalar.error()).isEqualTo("Expected a product object");
+
+            ImportRow last = reader.next();
+            assertThat(last.rowNumber()).isEqualTo(5);
+            assertThat(last.request().getQuantity()).isEqualTo(9);
+
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void constructor_WhenRootIsNotArray_ShouldThrow() {
+        assertThatThrownBy(() -> reader("{\"name\": \"Oil Filter\"}"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private ProductJsonRowReader reader(String json) throws IOException {
+        return new ProductJsonRowReader(objectMapper, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
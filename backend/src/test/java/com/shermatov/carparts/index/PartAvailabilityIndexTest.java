@@ -0,0 +1,142 @@
+package com.shermatov.carparts.index;
+
+import com.shermatov.carparts.dto.response.PartAvailabilityResponse;
+import com.shermatov.carparts.exception.BadRequestException;
+import com.shermatov.carparts.repository.PartAvailabilityRepository;
+import com.shermatov.carparts.repository.projection.PartAvailabilityRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PartAvailabilityIndexTest {
+
+    private static final LocalDateTime LOADED_AT = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Mock
+    private PartAvailabilityRepository partAvailabilityRepository;
+
+    @Mock
+    private ShopSpatialIndex shopSpatialIndex;
+
+    @InjectMocks
+    private PartAvailabilityIndex partAvailabilityIndex;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(partAvailabilityRepository.findLatestUpdate()).thenReturn(LOADED_AT);
+        doAnswer(invocation -> {
+            Consumer<PartAvailabilityRow> consumer = invocation.getArgument(0);
+            consumer.accept(row(1L, "oilfilteroc90", 10L, 12.5, 3, false));
+            consumer.accept(row(2L, "oilfilteroc90", 11L, 9.0, 1, false));
+            consumer.accept(row(3L, "sparkplug", 10L, 4.0, 8, false));
+            return null;
+        }).when(partAvailabilityRepository).forEachInStock(any());
+
+        partAvailabilityIndex.load();
+    }
+
+    @Test
+    void findOffers_ShouldMatchNormalizedPartNameCheapestFirst() {
+        List<PartAvailabilityResponse> offers = partAvailabilityIndex.findOffers(
+                "Oil Filter OC-90", AvailabilitySort.PRICE, null, null, 10);
+
+        assertThat(offers).extracting(PartAvailabilityResponse::productId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void put_WhenStockRunsOut_ShouldDropOffer() {
+        partAvailabilityIndex.put(2L, 11L, "Oil filter OC 90", 9.0, 0);
+
+        assertThat(partAvailabilityIndex.findOffers("oil filter oc90", AvailabilitySort.PRICE, null, null, 10))
+                .extracting(PartAvailabilityResponse::productId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void put_WhenRenamed_ShouldMoveOfferToNewKey() {
+        partAvailabilityIndex.put(3L, 10L, "Oil filter OC-90", 1.0, 8);
+
+        assertThat(partAvailabilityIndex.findOffers("sparkplug", AvailabilitySort.PRICE, null, null, 10)).isEmpty();
+        assertThat(partAvailabilityIndex.findOffers("oilfilteroc90", AvailabilitySort.PRICE, null, null, 10))
+                .extracting(PartAvailabilityResponse::productId)
+                .containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void sync_ShouldApplyTombstonesAndNewStock() {
+        when(partAvailabilityRepository.findChangedSince(any())).thenReturn(List.of(
+                row(1L, "oilfilteroc90", 10L, 12.5, 0, true),
+                row(4L, "sparkplug", 12L, 3.5, 2, false)));
+
+        partAvailabilityIndex.sync();
+
+        assertThat(partAvailabilityIndex.findOffers("oilfilteroc90", AvailabilitySort.PRICE, null, null, 10))
+                .extracting(PartAvailabilityResponse::productId)
+                .containsExactly(2L);
+        assertThat(partAvailabilityIndex.findOffers("sparkplug", AvailabilitySort.PRICE, null, null, 10))
+                .extracting(PartAvailabilityResponse::productId)
+                .containsExactly(4L, 3L);
+    }
+
+    @Test
+    void reload_ShouldPickUpRowsCommittedTooLateForSync() {
+        // Stamped before the sync overlap, so no sync will ever return this row
+        when(partAvailabilityRepository.findChangedSince(any())).thenReturn(List.of());
+        doAnswer(invocation -> {
+            Consumer<PartAvailabilityRow> consumer = invocation.getArgument(0);
+            consumer.accept(row(2L, "oilfilteroc90", 11L, 9.0, 1, false));
+            consumer.accept(new PartAvailabilityRow(5L, "oilfilteroc90", 12L, 7.0, 4, false,
+                    LOADED_AT.minusMinutes(5)));
+            return null;
+        }).when(partAvailabilityRepository).forEachInStock(any());
+
+        partAvailabilityIndex.sync();
+        assertThat(partAvailabilityIndex.findOffers("oilfilteroc90", AvailabilitySort.PRICE, null, null, 10))
+                .extracting(PartAvailabilityResponse::productId)
+                .containsExactly(2L, 1L);
+
+        partAvailabilityIndex.reload();
+
+        assertThat(partAvailabilityIndex.findOffers("oilfilteroc90", AvailabilitySort.PRICE, null, null, 10))
+                .extracting(PartAvailabilityResponse::productId)
+                .containsExactly(5L, 2L);
+    }
+
+    @Test
+    void findOffers_WhenSortedByDistance_ShouldPutClosestFirstAndUnknownLast() {
+        when(shopSpatialIndex.distanceKm(10L, 41.3, 69.2)).thenReturn(2.0);
+        when(shopSpatialIndex.distanceKm(11L, 41.3, 69.2)).thenReturn(null);
+
+        List<PartAvailabilityResponse> offers = partAvailabilityIndex.findOffers(
+                "oilfilteroc90", AvailabilitySort.DISTANCE, 41.3, 69.2, 10);
+
+        assertThat(offers).extracting(PartAvailabilityResponse::productId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void findOffers_WhenDistanceSortWithoutLocation_ShouldThrow() {
+        assertThatThrownBy(() -> partAvailabilityIndex.findOffers(
+                "oilfilteroc90", AvailabilitySort.DISTANCE, null, null, 10))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private static PartAvailabilityRow row(long productId, String key, long shopId, double price,
+                                           int quantity, boolean deleted) {
+        return new PartAvailabilityRow(productId, key, shopId, price, quantity, deleted, LOADED_AT.plusSeconds(productId));
+    }
+}
@@ -0,0 +1,136 @@
+package com.shermatov.carparts.index;
+
+import com.shermatov.carparts.dto.response.ProductSuggestion;
+import com.shermatov.carparts.repository.ProductRepository;
+import com.shermatov.carparts.repository.projection.ProductNameView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductNameIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductNameIndex(productRepository);
+        index.put(1L, "Oil Filter OC-90");
+        index.put(2L, "Air Filter");
+        index.put(3L, "Brake Pad Set");
+        index.put(4L, "Oil");
+    }
+
+    @Test
+    void suggest_WhenQueryIsWordPrefix_ShouldReturnMatchesShortestFirst() {
+        List<ProductSuggestion> result = index.suggest("oi", 10);
+
+        assertThat(result).extracting(ProductSuggestion::id).containsExactly(4L, 1L);
+    }
+
+    @Test
+    void suggest_WhenSeveralTokens_ShouldRequireAllOfThem() {
+        List<ProductSuggestion> result = index.suggest("fil air", 10);
+
+        assertThat(result).extracting(ProductSuggestion::id).containsExactly(2L);
+    }
+
+    @Test
+    void suggest_WhenPartNumberTypedWithoutSeparator_ShouldMatch() {
+        assertThat(index.suggest("oc9", 10)).extracting(ProductSuggestion::id).containsExactly(1L);
+        assertThat(index.suggest("90", 10)).extracting(ProductSuggestion::id).containsExactly(1L);
+    }
+
+    @Test
+    void suggest_WhenProductRenamedOrRemoved_ShouldReflectChange() {
+        index.put(2L, "Cabin Filter");
+        index.remove(3L);
+
+        assertThat(index.suggest("air", 10)).isEmpty();
+        assertThat(index.suggest("cab", 10)).extracting(ProductSuggestion::id).containsExactly(2L);
+        assertThat(index.suggest("brake", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void suggest_WhenLimitIsSmallerThanMatches_ShouldKeepBestRanked() {
+        assertThat(index.suggest("filter", 1)).extracting(ProductSuggestion::id).containsExactly(2L);
+    }
+
+    @Test
+    void put_WhenTransactionRollsBack_ShouldNotBeSuggested() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.put(5L, "Spark Plug");
+            assertThat(index.suggest("spark", 10)).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(index.suggest("spark", 10)).isEmpty();
+    }
+
+    @Test
+    void put_WhenTransactionCommits_ShouldBeSuggestedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.put(5L, "Spark Plug");
+            assertThat(index.suggest("spark", 10)).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(index.suggest("spark", 10)).extracting(ProductSuggestion::id).containsExactly(5L);
+    }
+
+    @Test
+    void load_WhenWritesArriveDuringBuild_ShouldKeepThem() {
+        // The catalog snapshot still has product 3; it is removed and product 6 added mid-read
+        when(productRepository.streamAllNames()).thenReturn(Stream.of(
+                        nameView(1L, "Oil Filter OC-90"), nameView(3L, "Brake Pad Set"))
+                .peek(view -> {
+                    if (view.getId() == 3L) {
+                        index.remove(3L);
+                        index.put(6L, "Wiper Blade");
+                    }
+                }));
+
+        index.load();
+
+        assertThat(index.suggest("wiper", 10)).extracting(ProductSuggestion::id).containsExactly(6L);
+        assertThat(index.suggest("brake", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    private static ProductNameView nameView(Long id, String name) {
+        return new ProductNameView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package com.shermatov.carparts.index;
+
+import com.shermatov.carparts.dto.response.NearbyShopResponse;
+import com.shermatov.carparts.exception.BadRequestException;
+import com.shermatov.carparts.repository.ShopRepository;
+import com.shermatov.carparts.repository.projection.ShopLocationView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ShopSpatialIndexTest {
+
+    @Mock
+    private ShopRepository shopRepository;
+
+    @InjectMocks
+    private ShopSpatialIndex shopSpatialIndex;
+
+    @Test
+    void nearest_ShouldMatchBruteForce() {
+        Random random = new Random(42);
+        List<ShopLocationView> shops = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            shops.add(shop(id, random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180));
+        }
+        when(shopRepository.findAllLocations()).thenReturn(shops);
+        shopSpatialIndex.refresh();
+
+        for (int q = 0; q < 50; q++) {
+            double lat = random.nextDouble() * 180 - 90;
+            double lon = random.nextDouble() * 360 - 180;
+
+            List<Long> expected = shops.stream()
+                    .sorted(Comparator.comparingDouble(s -> haversineKm(lat, lon, s.latitude(), s.longitude())))
+                    .limit(10)
+                    .map(ShopLocationView::id)
+                    .toList();
+
+            assertThat(shopSpatialIndex.nearest(lat, lon, 10))
+                    .extracting(NearbyShopResponse::id)
+                    .containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void nearest_WhenAcrossAntimeridian_ShouldFindClosestShop() {
+        when(shopRepository.findAllLocations()).thenReturn(List.of(
+                shop(1L, 0, 179.9),
+                shop(2L, 0, -170.0)));
+        shopSpatialIndex.refresh();
+
+        List<NearbyShopResponse> nearest = shopSpatialIndex.nearest(0, -179.9, 1);
+
+        assertThat(nearest).extracting(NearbyShopResponse::id).containsExactly(1L);
+        assertThat(nearest.get(0).distanceKm()).isBetween(22.0, 23.0);
+    }
+
+    @Test
+    void nearest_WhenLimitExceedsShops_ShouldReturnAllSortedByDistance() {
+        when(shopRepository.findAllLocations()).thenReturn(List.of(
+                shop(1L, 41.3, 69.2),
+                shop(2L, 41.31, 69.28),
+                shop(3L, 39.65, 66.96)));
+        shopSpatialIndex.refresh();
+
+        List<NearbyShopResponse> nearest = shopSpatialIndex.nearest(41.311, 69.279, 10);
+
+        assertThat(nearest).extracting(NearbyShopResponse::id).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    void nearest_WhenCoordinatesOutOfRange_ShouldThrow() {
+        assertThatThrownBy(() -> shopSpatialIndex.nearest(91, 0, 1))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private static ShopLocationView shop(Long id, double latitude, double longitude) {
+        return new ShopLocationView(id, "Shop " + id, null, latitude, longitude);
+    }
+
+    private static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * ShopSpatialIndex.EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
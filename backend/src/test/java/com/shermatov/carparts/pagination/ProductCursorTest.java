@@ -0,0 +1,46 @@
+package com.shermatov.carparts.pagination;
+
+import com.shermatov.carparts.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductCursorTest {
+
+    @Test
+    void encodeDecode_WhenSortedByPrice_ShouldRoundTrip() {
+        ProductCursor cursor = new ProductCursor(ProductSortKey.PRICE, Sort.Direction.DESC, 42L, 19.99);
+
+        ProductCursor decoded = ProductCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodeDecode_WhenNameContainsSeparator_ShouldKeepWholeName() {
+        ProductCursor cursor = new ProductCursor(ProductSortKey.NAME, Sort.Direction.ASC, 7L, "Filter | oil");
+
+        ProductCursor decoded = ProductCursor.decode(cursor.encode());
+
+        assertThat(decoded.value()).isEqualTo("Filter | oil");
+        assertThat(decoded.id()).isEqualTo(7L);
+    }
+
+    @Test
+    void encodeDecode_WhenSortedByUpdatedAt_ShouldRestoreTimestamp() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123456000);
+        ProductCursor cursor = new ProductCursor(ProductSortKey.UPDATED_AT, Sort.Direction.ASC, 3L, updatedAt);
+
+        assertThat(ProductCursor.decode(cursor.encode()).value()).isEqualTo(updatedAt);
+    }
+
+    @Test
+    void decode_WhenCursorIsGarbage_ShouldThrowInvalidCursor() {
+        assertThatThrownBy(() -> ProductCursor.decode("not-a-cursor"))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
@@ -0,0 +1,36 @@
+package com.shermatov.carparts.pagination;
+
+import com.shermatov.carparts.domain.Role;
+import com.shermatov.carparts.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserCursorTest {
+
+    @Test
+    void encodeDecode_WhenRoleGiven_ShouldRoundTrip() {
+        UserCursor cursor = new UserCursor(Role.ADMIN, LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123456000), 42L);
+
+        assertThat(UserCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodeDecode_WhenNoRole_ShouldRoundTrip() {
+        UserCursor cursor = new UserCursor(null, LocalDateTime.of(2024, 12, 31, 23, 59), 7L);
+
+        assertThat(UserCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_WhenTampered_ShouldThrowInvalidCursor() {
+        String tampered = CursorCodec.encode(List.of("USER", "yesterday", "1"));
+
+        assertThatThrownBy(() -> UserCursor.decode(tampered))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
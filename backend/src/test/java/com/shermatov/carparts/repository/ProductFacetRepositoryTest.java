@@ -0,0 +1,123 @@
+package com.shermatov.carparts.repository;
+
+import com.shermatov.carparts.BaseIntegrationTest;
+import com.shermatov.carparts.domain.Brand;
+import com.shermatov.carparts.domain.Category;
+import com.shermatov.carparts.domain.Product;
+import com.shermatov.carparts.domain.Shop;
+import com.shermatov.carparts.dto.request.ProductFilter;
+import com.shermatov.carparts.dto.response.FacetCount;
+import com.shermatov.carparts.repository.projection.ProductFacetPage;
+import com.shermatov.carparts.repository.projection.ProductListingRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Each facet dimension is counted without its own filter, so picking a brand keeps the
+ * other brands visible.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ProductFacetRepositoryTest extends BaseIntegrationTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Brand bosch;
+    private Brand mann;
+    private Category filters;
+    private Category brakes;
+
+    @BeforeEach
+    void setUp() {
+        Shop shop = new Shop();
+        shop.setName("Facet Shop");
+        shop.setOwner(createTestUser());
+        shopRepository.save(shop);
+
+        bosch = brandRepository.save(brand("FC Brand Bosch"));
+        mann = brandRepository.save(brand("FC Brand Mann"));
+        filters = categoryRepository.save(category("FC Category Filters"));
+        brakes = categoryRepository.save(category("FC Category Brakes"));
+
+        save(shop, bosch, filters);
+        save(shop, bosch, brakes);
+        save(shop, mann, filters);
+        save(shop, mann, filters);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        productRepository.deleteAll();
+        shopRepository.deleteAll();
+        brandRepository.deleteAll(brandRepository.findAll().stream()
+                .filter(brand -> brand.getName().startsWith("FC Brand ")).toList());
+        categoryRepository.deleteAll(categoryRepository.findAll().stream()
+                .filter(category -> category.getName().startsWith("FC Category ")).toList());
+    }
+
+    @Test
+    void findFacetPage_WhenBrandSelected_ShouldStillCountOtherBrands() {
+        ProductFacetPage page = productRepository.findFacetPage(
+                new ProductFilter(bosch.getId(), null, null, null, null), 10, 0);
+
+        assertThat(page.total()).isEqualTo(2);
+        assertThat(page.rows()).extracting(ProductListingRow::brandId).containsOnly(bosch.getId());
+        assertThat(page.brands()).containsExactlyInAnyOrder(
+                new FacetCount(bosch.getId(), bosch.getName(), 2),
+                new FacetCount(mann.getId(), mann.getName(), 2));
+        // Categories are narrowed by the brand, which is not their own dimension
+        assertThat(page.categories()).containsExactlyInAnyOrder(
+                new FacetCount(filters.getId(), filters.getName(), 1),
+                new FacetCount(brakes.getId(), brakes.getName(), 1));
+    }
+
+    @Test
+    void findFacetPage_WhenBrandAndCategorySelected_ShouldCountEachDimensionUnderTheOther() {
+        ProductFacetPage page = productRepository.findFacetPage(
+                new ProductFilter(mann.getId(), filters.getId(), null, null, null), 10, 0);
+
+        assertThat(page.total()).isEqualTo(2);
+        assertThat(page.brands()).containsExactlyInAnyOrder(
+                new FacetCount(mann.getId(), mann.getName(), 2),
+                new FacetCount(bosch.getId(), bosch.getName(), 1));
+        assertThat(page.categories()).containsExactly(
+                new FacetCount(filters.getId(), filters.getName(), 2));
+    }
+
+    private void save(Shop shop, Brand brand, Category category) {
+        Product product = new Product();
+        product.setName("Facet part");
+        product.setPrice(10.0);
+        product.setQuantity(1);
+        product.setShop(shop);
+        product.setBrand(brand);
+        product.setCategory(category);
+        productRepository.save(product);
+    }
+
+    private static Brand brand(String name) {
+        Brand brand = new Brand();
+        brand.setName(name);
+        return brand;
+    }
+
+    private static Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return category;
+    }
+}
@@ -0,0 +1,121 @@
+package com.shermatov.carparts.repository;
+
+import com.shermatov.carparts.BaseIntegrationTest;
+import com.shermatov.carparts.domain.Brand;
+import com.shermatov.carparts.domain.Category;
+import com.shermatov.carparts.domain.Product;
+import com.shermatov.carparts.domain.Shop;
+import com.shermatov.carparts.dto.response.ProductResponse;
+import com.shermatov.carparts.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Product reads must cost one statement regardless of how many brands and categories
+ * the page touches.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProductListingQueryCountTest extends BaseIntegrationTest {
+
+    private static final int PRODUCTS = 20;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Shop shop;
+
+    @BeforeEach
+    void setUp() {
+        shop = new Shop();
+        shop.setName("Query Count Shop");
+        shop.setOwner(createTestUser());
+        shopRepository.save(shop);
+
+        // A distinct brand and category per product: the worst case for lazy loading
+        for (int i = 0; i < PRODUCTS; i++) {
+            Brand brand = new Brand();
+            brand.setName("QC Brand " + i);
+            Category category = new Category();
+            category.setName("QC Category " + i);
+
+            Product product = new Product();
+            product.setName("Part " + i);
+            product.setPrice(10.0 + i);
+            product.setQuantity(i);
+            product.setShop(shop);
+            product.setBrand(brandRepository.save(brand));
+            product.setCategory(categoryRepository.save(category));
+            productRepository.save(product);
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        productRepository.deleteAll();
+        shopRepository.deleteAll();
+        brandRepository.deleteAll(brandRepository.findAll().stream()
+                .filter(brand -> brand.getName().startsWith("QC Brand ")).toList());
+        categoryRepository.deleteAll(categoryRepository.findAll().stream()
+                .filter(category -> category.getName().startsWith("QC Category ")).toList());
+    }
+
+    @Test
+    void getProductsByShop_ShouldUseOneStatementWithFlatNames() {
+        List<ProductResponse> products = productService.getProductsByShop(shop.getId());
+
+        assertThat(products).hasSize(PRODUCTS);
+        assertThat(products).allSatisfy(product -> {
+            assertThat(product.getBrandName()).startsWith("QC Brand ");
+            assertThat(product.getCategoryName()).startsWith("QC Category ");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getAllProducts_ShouldUseOneStatement() {
+        assertThat(productService.getAllProducts()).hasSize(PRODUCTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getProductById_ShouldUseOneStatement() {
+        Long productId = productRepository.findListingRowsByShopId(shop.getId()).get(0).id();
+        statistics.clear();
+
+        ProductResponse product = productService.getProductById(productId);
+
+        assertThat(product.getBrandId()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,148 @@
+package com.shermatov.carparts.repository;
+
+import com.shermatov.carparts.BaseIntegrationTest;
+import com.shermatov.carparts.domain.User;
+import com.shermatov.carparts.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Admin user search over 1M users: the old {@code LOWER(...) LIKE '%q%'} query against the
+ * trigram-indexed one. The old plan is reproduced by running its query with index scans disabled,
+ * which is what PostgreSQL did before the indexes existed.
+ *
+ * <p>Opt-in: run with {@code mvn test -Dbenchmark=true -Dtest=UserSearchBenchmarkTest}
+ * on a machine with Docker.</p>
+ */
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UserSearchBenchmarkTest extends BaseIntegrationTest {
+
+    private static final int USERS = 1_000_000;
+    private static final int WARMUP = 20;
+    private static final int SAMPLES = 200;
+
+    private static final String[] FIRST_NAMES = {"Aziz", "Bekzod", "Dilnoza", "Farrukh", "Gulnora",
+            "Jasur", "Kamola", "Laziz", "Madina", "Nodir", "Otabek", "Rustam", "Sardor", "Timur", "Zarina"};
+    private static final String[] LAST_NAMES = {"Abdullaev", "Karimov", "Rakhimova", "Sharipov",
+            "Tursunov", "Usmonova", "Yusupov", "Ergashev", "Nazarova", "Khodjaev", "Mirzaev"};
+
+    // The query as it was before the trigram indexes
+    private static final String LEGACY_SEARCH_SQL = """
+            SELECT * FROM users u
+            WHERE u.deleted_at IS NULL AND
+            (
+               LOWER(u.first_name) LIKE LOWER(CONCAT('%', ?, '%'))
+               OR LOWER(u.last_name) LIKE LOWER(CONCAT('%', ?, '%'))
+               OR LOWER(u.email) LIKE LOWER(CONCAT('%', ?, '%'))
+            ) AND u.role = 'USER'
+            ORDER BY u.id
+            LIMIT 20
+            """;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void seedUsers() {
+        jdbcTemplate.update("""
+                INSERT INTO users (email, password, first_name, last_name, role, created_at, updated_at)
+                SELECT 'customer' || g || '@mail' || (g % 97) || '.example.com',
+                       'not-a-real-hash',
+                       (?::text[])[1 + g % ?] || (g % 1000),
+                       (?::text[])[1 + (g / 7) % ?],
+                       'USER', now(), now()
+                FROM generate_series(1, ?) g
+                """,
+                "{" + String.join(",", FIRST_NAMES) + "}", FIRST_NAMES.length,
+                "{" + String.join(",", LAST_NAMES) + "}", LAST_NAMES.length,
+                USERS);
+        jdbcTemplate.execute("ANALYZE users");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        // deleteAll() would load a million entities; the other tables hold nothing here
+        jdbcTemplate.execute("TRUNCATE users CASCADE");
+    }
+
+    @Test
+    void search_OnMillionUsers_ShouldBeFasterWithTrigramIndexes() {
+        List<String> queries = sampleQueries();
+
+        long[] before = measure(queries, q -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_indexscan = off");
+            jdbcTemplate.execute("SET LOCAL enable_bitmapscan = off");
+            jdbcTemplate.queryForList(LEGACY_SEARCH_SQL, q, q, q);
+        }));
+        long[] after = measure(queries, q -> {
+            Page<User> page = userService.search(q, PageRequest.of(0, 20));
+            assertThat(page.getContent()).isNotNull();
+        });
+
+        log.info("User search over {} users, {} queries: p50 {} ms -> {} ms, p99 {} ms -> {} ms",
+                USERS, SAMPLES, millis(percentile(before, 50)), millis(percentile(after, 50)),
+                millis(percentile(before, 99)), millis(percentile(after, 99)));
+        assertThat(percentile(after, 99)).isLessThan(percentile(before, 99));
+    }
+
+    // A mix of name fragments and email fragments, most of them selective
+    private static List<String> sampleQueries() {
+        Random random = new Random(42);
+        List<String> queries = new ArrayList<>();
+        for (int i = 0; i < WARMUP + SAMPLES; i++) {
+            switch (i % 3) {
+                case 0 -> queries.add(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + random.nextInt(1000));
+                case 1 -> queries.add(LAST_NAMES[random.nextInt(LAST_NAMES.length)].substring(0, 5));
+                default -> queries.add("customer" + (1 + random.nextInt(USERS)) + "@");
+            }
+        }
+        return queries;
+    }
+
+    private static long[] measure(List<String> queries, Consumer<String> search) {
+        long[] nanos = new long[SAMPLES];
+        for (int i = 0; i < queries.size(); i++) {
+            long start = System.nanoTime();
+            search.accept(queries.get(i));
+            if (i >= WARMUP) {
+                nanos[i - WARMUP] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,60 @@
+package com.shermatov.carparts.security;
+
+import com.shermatov.carparts.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthThrottleTest {
+
+    private final AuthThrottle throttle = new AuthThrottle(5, Duration.ofMinutes(1), 20, Duration.ofMinutes(1),
+            30, Duration.ofSeconds(2), 1000, new SimpleMeterRegistry());
+
+    @Test
+    void checkLogin_WhenAnotherAddressFailedRepeatedly_ShouldNotLockOutTheOwner() {
+        for (int i = 0; i < 10; i++) {
+            throttle.loginFailed("Victim@Example.com", "198.51.100.9");
+        }
+
+        assertThatThrownBy(() -> throttle.checkLogin("victim@example.com", "198.51.100.9"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> throttle.checkLogin("victim@example.com", "203.0.113.7"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkLogin_WhenFailuresSpreadOverManyAddresses_ShouldStillCapTheAccount() {
+        for (int i = 0; i < 20; i++) {
+            throttle.loginFailed("victim@example.com", "198.51.100." + i);
+        }
+
+        assertThatThrownBy(() -> throttle.checkLogin("victim@example.com", "203.0.113.7"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> throttle.checkLogin("other@example.com", "203.0.113.7"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkLogin_WhenAttemptsSucceed_ShouldNotChargeTheAccount() {
+        for (int i = 0; i < 10; i++) {
+            throttle.checkLogin("owner@example.com", "203.0.113.7");
+        }
+
+        assertThatCode(() -> throttle.checkLogin("owner@example.com", "203.0.113.7"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkPasswordReset_WhenAccountBurstUsed_ShouldReject() {
+        for (int i = 0; i < 5; i++) {
+            throttle.checkPasswordReset("owner@example.com", "198.51.100." + i);
+        }
+
+        assertThatThrownBy(() -> throttle.checkPasswordReset("owner@example.com", "203.0.113.7"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+}
@@ -0,0 +1,159 @@
+package com.shermatov.carparts.security;
+
+import com.shermatov.carparts.cache.PrincipalCache;
+import com.shermatov.carparts.domain.Role;
+import com.shermatov.carparts.domain.User;
+import com.shermatov.carparts.repository.RevokedTokenRepository;
+import com.shermatov.carparts.repository.UserRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "filter-test-jwt-secret-filter-test-jwt-secret-filter";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private JwtService jwtService;
+    private TokenRevocationList tokenRevocationList;
+    private JwtAuthenticationFilter filter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        jwtService.init();
+        tokenRevocationList = new TokenRevocationList(revokedTokenRepository);
+        filter = new JwtAuthenticationFilter(jwtService,
+                new PrincipalCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry()), userRepository,
+                tokenRevocationList);
+        user = new User("driver@example.com", "secret", "Dana", "Driver");
+        user.setId(7L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_WhenTokenValid_ShouldAuthenticateAndContinue() throws Exception {
+        when(userRepository.findByEmailAndDeletedAtIsNull("driver@example.com")).thenReturn(Optional.of(user));
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = filter(jwtService.generateToken(user), chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                .isEqualTo(new AuthenticatedUser(7L, "driver@example.com", Role.USER, List.copyOf(user.getAuthorities())));
+    }
+
+    @Test
+    void doFilter_WhenTokenMalformed_ShouldRespondUnauthorized() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = filter("not-a-jwt", chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getContentAsString()).contains("Invalid or expired token");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void doFilter_WhenTokenRevoked_ShouldRespondUnauthorized() throws Exception {
+        String token = jwtService.generateToken(user);
+        tokenRevocationList.revoke(jwtService.verify(token).tokenId(), LocalDateTime.now().plusHours(1));
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = filter(token, chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void doFilter_WhenEmailNowBelongsToAnotherAccount_ShouldRespondUnauthorized() throws Exception {
+        String token = jwtService.generateToken(user);
+        User successor = new User("driver@example.com", "other", "Dee", "Driver");
+        successor.setId(8L);
+        when(userRepository.findByEmailAndDeletedAtIsNull("driver@example.com")).thenReturn(Optional.of(successor));
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = filter(token, chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(chain.getRequest()).isNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void doFilter_WhenTokenHasNoUserIdClaim_ShouldAuthenticateOnTheSubject() throws Exception {
+        String legacy = Jwts.builder()
+                .setSubject("driver@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        when(userRepository.findByEmailAndDeletedAtIsNull("driver@example.com")).thenReturn(Optional.of(user));
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = filter(legacy, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(((AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).id())
+                .isEqualTo(7L);
+    }
+
+    @Test
+    void doFilter_WhenNoBearerToken_ShouldContinueUnauthenticated() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/shops");
+        request.setServletPath("/api/shops");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private MockHttpServletResponse filter(String token, MockFilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/shops");
+        request.setServletPath("/api/shops");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
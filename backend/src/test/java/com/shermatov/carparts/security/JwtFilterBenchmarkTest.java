@@ -0,0 +1,126 @@
+package com.shermatov.carparts.security;
+
+import com.shermatov.carparts.cache.PrincipalCache;
+import com.shermatov.carparts.domain.User;
+import com.shermatov.carparts.repository.RevokedTokenRepository;
+import com.shermatov.carparts.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Per-request cost of token handling in {@link JwtAuthenticationFilter}: the previous
+ * three-parse path against the filter with the verified-token cache. The user lookup is
+ * mocked so only the token work is measured.
+ *
+ * <p>JMH is not on this project's classpath, so this is a warmed-up wall-clock loop in the
+ * style of the other opt-in benchmarks. Run with
+ * {@code mvn test -Dbenchmark=true -Dtest=JwtFilterBenchmarkTest}.</p>
+ */
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtFilterBenchmarkTest {
+
+    private static final String SECRET = "benchmark-jwt-secret-benchmark-jwt-secret-benchmark";
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        jwtService.init();
+
+        User user = new User("bench@example.com", "secret", "Bench", "Mark");
+        user.setId(1L);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmailAndDeletedAtIsNull("bench@example.com")).thenReturn(Optional.of(user));
+
+        filter = new JwtAuthenticationFilter(jwtService,
+                new PrincipalCache(10_000, Duration.ofMinutes(1), new SimpleMeterRegistry()), userRepository,
+                new TokenRevocationList(mock(RevokedTokenRepository.class)));
+        token = jwtService.generateToken(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void filter_WhenTokenRepeats_ShouldBeCheaperThanParsingThreeTimes() throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            legacyVerify(token);
+            runFilter();
+        }
+
+        long legacyStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            legacyVerify(token);
+        }
+        long legacyNanos = (System.nanoTime() - legacyStart) / ITERATIONS;
+
+        long filterStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            runFilter();
+        }
+        long filterNanos = (System.nanoTime() - filterStart) / ITERATIONS;
+
+        log.info("Token handling per request: {} ns with three parses, {} ns through the filter with the cache",
+                legacyNanos, filterNanos);
+        assertThat(filterNanos).isLessThan(legacyNanos);
+    }
+
+    private void runFilter() throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.setServletPath("/api/products");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+    }
+
+    // What the filter used to do: extractUsername, then isTokenValid parsing twice more,
+    // each time with a freshly built key and parser
+    private static boolean legacyVerify(String token) {
+        String subject = legacyClaims(token).getSubject();
+        if (!subject.equals(legacyClaims(token).getSubject())) {
+            return false;
+        }
+        return !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,108 @@
+package com.shermatov.carparts.security;
+
+import com.shermatov.carparts.domain.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-jwt-secret-test-jwt-secret-test-jwt-secret";
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        jwtService.init();
+    }
+
+    @Test
+    void verify_WhenTokenIsValid_ShouldReturnClaims() {
+        String token = jwtService.generateToken(user("joe@example.com"));
+
+        TokenClaims claims = jwtService.verify(token);
+
+        assertThat(claims).isNotNull();
+        assertThat(claims.subject()).isEqualTo("joe@example.com");
+        assertThat(jwtService.isTokenValid(token, user("joe@example.com"))).isTrue();
+        assertThat(jwtService.isTokenValid(token, user("eve@example.com"))).isFalse();
+    }
+
+    @Test
+    void generateToken_ShouldGiveEveryTokenItsOwnId() {
+        TokenClaims first = jwtService.verify(jwtService.generateToken(user("joe@example.com")));
+        TokenClaims second = jwtService.verify(jwtService.generateToken(user("joe@example.com")));
+
+        assertThat(first.tokenId()).isNotNull();
+        assertThat(second.tokenId()).isNotNull().isNotEqualTo(first.tokenId());
+    }
+
+    @Test
+    void generateToken_ShouldCarryTheUserId() {
+        User user = user("joe@example.com");
+        user.setId(42L);
+
+        assertThat(jwtService.verify(jwtService.generateToken(user)).userId()).isEqualTo(42L);
+    }
+
+    @Test
+    void verify_WhenCalledAgain_ShouldReuseVerifiedClaims() {
+        String token = jwtService.generateToken(user("joe@example.com"));
+
+        assertThat(jwtService.verify(token)).isSameAs(jwtService.verify(token));
+    }
+
+    @Test
+    void verify_WhenSignatureTampered_ShouldReturnNull() {
+        String token = jwtService.generateToken(user("joe@example.com"));
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThat(jwtService.verify(tampered)).isNull();
+    }
+
+    @Test
+    void verify_WhenSignedWithOtherKey_ShouldReturnNull() {
+        String forged = Jwts.builder()
+                .setSubject("joe@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("another-secret-another-secret-another-secret".getBytes(StandardCharsets.UTF_8)),
+                        SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThat(jwtService.verify(forged)).isNull();
+    }
+
+    @Test
+    void verify_WhenExpired_ShouldReturnNull() {
+        String expired = Jwts.builder()
+                .setSubject("joe@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThat(jwtService.verify(expired)).isNull();
+        assertThat(jwtService.extractUsername(expired)).isNull();
+    }
+
+    @Test
+    void verify_WhenGarbage_ShouldReturnNull() {
+        assertThat(jwtService.verify("not-a-jwt")).isNull();
+        assertThat(jwtService.verify(" ")).isNull();
+        assertThat(jwtService.verify(null)).isNull();
+    }
+
+    private static User user(String email) {
+        return new User(email, "secret", "Joe", "Duo");
+    }
+}
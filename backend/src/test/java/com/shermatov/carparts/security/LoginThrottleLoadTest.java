@@ -0,0 +1,170 @@
+package com.shermatov.carparts.security;
+
+import com.shermatov.carparts.domain.User;
+import com.shermatov.carparts.dto.request.LoginRequestDto;
+import com.shermatov.carparts.repository.UserRepository;
+import com.shermatov.carparts.service.RefreshTokenService;
+import com.shermatov.carparts.service.impl.AuthServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Legitimate users log in while one address runs a credential-stuffing loop, once without
+ * and once with the login throttle. Every login runs a real BCrypt verify on the hashing pool.
+ *
+ * <p>Opt-in: run with {@code mvn test -Dbenchmark=true -Dtest=LoginThrottleLoadTest}.</p>
+ */
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LoginThrottleLoadTest {
+
+    // The attack runs alone first, so its initial burst allowance is spent before measuring
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration PHASE = Duration.ofSeconds(10);
+    private static final Duration ROUND_TRIP = Duration.ofMillis(1);
+    private static final String PASSWORD = "Secret123!";
+    private static final String ATTACKER = "198.51.100.66";
+
+    private final int cores = Runtime.getRuntime().availableProcessors();
+
+    @Test
+    void login_UnderStuffingAttack_ShouldKeepLegitimateLatencyWithThrottle() throws Exception {
+        PasswordHashingPool pool = new PasswordHashingPool(cores, cores * 8, new SimpleMeterRegistry());
+        try {
+            PasswordEncoder encoder = new PooledPasswordEncoder(new BCryptPasswordEncoder(10), pool);
+            User user = new User("user@example.com", encoder.encode(PASSWORD), "Load", "Test");
+
+            // Attack guesses hit existing accounts too, so every unthrottled attempt costs a verify
+            Phase quiet = run(authService(encoder, user, unlimited()), false);
+            Phase attacked = run(authService(encoder, user, unlimited()), true);
+            Phase throttled = run(authService(encoder, user, defaults()), true);
+
+            log.info("Legitimate logins, p50 / p99 ms (ok / failed), attacker attempts reaching BCrypt while measured:");
+            log.info("  no attack:             {}", quiet);
+            log.info("  attack, no throttle:   {}", attacked);
+            log.info("  attack, with throttle: {}", throttled);
+
+            assertThat(throttled.failed).isZero();
+            assertThat(throttled.percentile(0.5)).isLessThan(attacked.percentile(0.5));
+            assertThat(throttled.attackerVerifies).isLessThan(attacked.attackerVerifies);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Phase run(AuthServiceImpl authService, boolean attack) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger attackerVerifies = new AtomicInteger();
+        ExecutorService attackers = Executors.newFixedThreadPool(cores * 2);
+        if (attack) {
+            for (int t = 0; t < cores * 2; t++) {
+                int thread = t;
+                attackers.submit(() -> {
+                    for (int i = 0; running.get(); i++) {
+                        LoginRequestDto guess = request("victim" + thread + "-" + i + "@example.com", "guess" + i);
+                        try {
+                            authService.login(guess, ATTACKER);
+                        } catch (BadCredentialsException wrongPassword) {
+                            attackerVerifies.incrementAndGet();
+                        } catch (RuntimeException rejected) {
+                            // throttled or pool busy: no hash was computed
+                        }
+                        // A remote attacker waits at least a round trip per attempt; without it
+                        // the in-process loop itself would compete with the hashing threads
+                        LockSupport.parkNanos(ROUND_TRIP.toNanos());
+                    }
+                });
+            }
+        }
+
+        if (attack) {
+            Thread.sleep(WARMUP.toMillis());
+        }
+        int verifiesBefore = attackerVerifies.get();
+
+        List<Long> latencies = new ArrayList<>();
+        int failed = 0;
+        long end = System.nanoTime() + PHASE.toNanos();
+        for (int i = 0; System.nanoTime() < end; i++) {
+            long start = System.nanoTime();
+            try {
+                authService.login(request("user" + i + "@example.com", PASSWORD), "10.0." + (i / 250) + "." + (i % 250));
+                latencies.add(System.nanoTime() - start);
+            } catch (RuntimeException ex) {
+                failed++;
+            }
+            Thread.sleep(20);
+        }
+
+        running.set(false);
+        attackers.shutdown();
+        attackers.awaitTermination(30, TimeUnit.SECONDS);
+        return new Phase(latencies.stream().sorted().toList(), failed, attackerVerifies.get() - verifiesBefore);
+    }
+
+    private static AuthServiceImpl authService(PasswordEncoder encoder, User user, AuthThrottle throttle) {
+        // Stub-only mocks keep no invocation history, so the attack loop does not fill the heap
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.findByEmailAndDeletedAtIsNull(any())).thenReturn(Optional.of(user));
+        JwtService jwtService = mock(JwtService.class, withSettings().stubOnly());
+        when(jwtService.generateToken(any())).thenReturn("jwt");
+        RefreshTokenService refreshTokenService = mock(RefreshTokenService.class, withSettings().stubOnly());
+        when(refreshTokenService.issue(any())).thenReturn("refresh");
+        return new AuthServiceImpl(userRepository, encoder, jwtService, refreshTokenService, throttle);
+    }
+
+    private static AuthThrottle defaults() {
+        return new AuthThrottle(5, Duration.ofSeconds(60), 50, Duration.ofSeconds(20), 30, Duration.ofSeconds(2), 100_000, new SimpleMeterRegistry());
+    }
+
+    private static AuthThrottle unlimited() {
+        return new AuthThrottle(1000, Duration.ofMillis(1), 1000, Duration.ofMillis(1), 1000, Duration.ofMillis(1), 100_000, new SimpleMeterRegistry());
+    }
+
+    private static LoginRequestDto request(String email, String password) {
+        LoginRequestDto request = new LoginRequestDto();
+        request.setEmail(email);
+        request.setPassword(password);
+        return request;
+    }
+
+    private record Phase(List<Long> latencies, int failed, int attackerVerifies) {
+
+        long percentile(double p) {
+            if (latencies.isEmpty()) {
+                return Long.MAX_VALUE;
+            }
+            return latencies.get((int) Math.min(latencies.size() - 1, Math.floor(p * latencies.size())));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d / %d ms (%d ok / %d failed), %d", percentile(0.5) / 1_000_000,
+                    percentile(0.99) / 1_000_000, latencies.size(), failed, attackerVerifies);
+        }
+    }
+}
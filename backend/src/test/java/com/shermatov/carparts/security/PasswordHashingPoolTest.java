@@ -0,0 +1,82 @@
+package com.shermatov.carparts.security;
+
+import com.shermatov.carparts.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingPoolTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingPool pool;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pool = new PasswordHashingPool(1, 1, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void call_WhenQueueFull_ShouldFailFastWithServiceBusy() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        pool.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        pool.execute(() -> { });
+
+        assertThatThrownBy(() -> pool.call("encode", () -> "hash"))
+                .isInstanceOf(ServiceBusyException.class)
+                .extracting("retryAfterSeconds").isEqualTo(1);
+        assertThat(meterRegistry.get("password.hash.rejected").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("password.hash.queue").gauge().value()).isEqualTo(1.0);
+
+        release.countDown();
+    }
+
+    @Test
+    void call_WhenOnPoolThread_ShouldRunInPlace() {
+        String threadName = CompletableFuture.supplyAsync(
+                () -> pool.call("encode", () -> Thread.currentThread().getName()), pool).join();
+
+        assertThat(threadName).startsWith("password-hash-");
+        assertThat(meterRegistry.get("password.hash").tag("operation", "encode").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void pooledEncoder_ShouldHashOnPoolAndRecordLatency() {
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(new BCryptPasswordEncoder(4), pool);
+
+        String hash = encoder.encode("Secret123!");
+
+        assertThat(encoder.matches("Secret123!", hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+        assertThat(new PooledPasswordEncoder(new BCryptPasswordEncoder(5), pool).upgradeEncoding(hash)).isTrue();
+        assertThat(meterRegistry.get("password.hash").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hash").tag("operation", "matches").timer().count()).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.shermatov.carparts.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @Test
+    void tryAcquire_WhenBurstUsed_ShouldRejectUntilRefilled() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, Duration.ofSeconds(10), 1000, clock::get);
+
+        assertThat(limiter.tryAcquire("joe")).isZero();
+        assertThat(limiter.tryAcquire("joe")).isZero();
+        assertThat(limiter.tryAcquire("joe")).isZero();
+        assertThat(limiter.tryAcquire("joe")).isEqualTo(10_000);
+        assertThat(limiter.tryAcquire("eve")).isZero();
+
+        clock.addAndGet(4_000);
+        assertThat(limiter.tryAcquire("joe")).isEqualTo(6_000);
+
+        clock.addAndGet(6_000);
+        assertThat(limiter.tryAcquire("joe")).isZero();
+        assertThat(limiter.tryAcquire("joe")).isPositive();
+    }
+
+    @Test
+    void peek_ShouldReportWaitWithoutTakingTokens() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, Duration.ofSeconds(10), 1000, clock::get);
+
+        assertThat(limiter.peek("joe")).isZero();
+        assertThat(limiter.peek("joe")).isZero();
+        assertThat(limiter.tryAcquire("joe")).isZero();
+        assertThat(limiter.peek("joe")).isEqualTo(10_000);
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void tryAcquire_WhenPolledOften_ShouldStillRefillOnTime() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, Duration.ofSeconds(1), 1000, clock::get);
+        limiter.tryAcquire("joe");
+
+        for (int i = 0; i < 999; i++) {
+            clock.incrementAndGet();
+            assertThat(limiter.tryAcquire("joe")).isPositive();
+        }
+        clock.incrementAndGet();
+
+        assertThat(limiter.tryAcquire("joe")).isZero();
+    }
+
+    @Test
+    void evictIdle_ShouldDropOnlyRefilledBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, Duration.ofSeconds(10), 1000, clock::get);
+        limiter.tryAcquire("joe");
+        clock.addAndGet(10_000);
+        limiter.tryAcquire("eve");
+
+        assertThat(limiter.evictIdle()).isEqualTo(1);
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void tryAcquire_WhenKeyLimitReached_ShouldEvictIdleOrFailOpen() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, Duration.ofMinutes(1), 64, clock::get);
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("key-" + i);
+        }
+
+        assertThat(limiter.size()).isLessThanOrEqualTo(64);
+
+        clock.addAndGet(Duration.ofMinutes(1).toMillis());
+        assertThat(limiter.tryAcquire("newcomer")).isZero();
+        assertThat(limiter.tryAcquire("newcomer")).isPositive();
+    }
+
+    @Test
+    void tryAcquire_WhenContended_ShouldGrantExactlyTheBurst() throws Exception {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(100, Duration.ofHours(1), 1000, clock::get);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 1000; i++) {
+                    if (limiter.tryAcquire("shared") == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(granted).hasValue(100);
+    }
+}
@@ -0,0 +1,109 @@
+package com.shermatov.carparts.security;
+
+import com.shermatov.carparts.repository.RevokedTokenRepository;
+import com.shermatov.carparts.repository.projection.RevokedTokenRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new TokenRevocationList(revokedTokenRepository);
+    }
+
+    @Test
+    void revoke_ShouldPersistAndApplyImmediately() {
+        UUID revoked = UUID.randomUUID();
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(30);
+
+        revocationList.revoke(revoked, expiresAt);
+
+        verify(revokedTokenRepository).insert(revoked, expiresAt);
+        assertThat(revocationList.isRevoked(revoked)).isTrue();
+        assertThat(revocationList.isRevoked(UUID.randomUUID())).isFalse();
+        assertThat(revocationList.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    void revoke_WhenFilterFills_ShouldGrowAndKeepEveryId() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            revocationList.revoke(id, LocalDateTime.now().plusMinutes(30));
+        }
+
+        assertThat(ids).allMatch(revocationList::isRevoked);
+        assertThat(revocationList.size()).isEqualTo(5_000);
+    }
+
+    @Test
+    void sync_ShouldPickUpRevocationsFromOtherInstancesAndSkipExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        when(revokedTokenRepository.findUnexpired(any())).thenReturn(List.of());
+        revocationList.load();
+
+        UUID live = UUID.randomUUID();
+        UUID expired = UUID.randomUUID();
+        when(revokedTokenRepository.findRevokedSince(any())).thenReturn(List.of(
+                new RevokedTokenRow(live, now.plusMinutes(10), now),
+                new RevokedTokenRow(expired, now.minusMinutes(1), now)));
+
+        revocationList.sync();
+
+        assertThat(revocationList.isRevoked(live)).isTrue();
+        assertThat(revocationList.isRevoked(expired)).isFalse();
+    }
+
+    @Test
+    void rebuild_ShouldPurgeTableAndDropExpiredIds() {
+        UUID stale = UUID.randomUUID();
+        UUID live = UUID.randomUUID();
+        revocationList.revoke(stale, LocalDateTime.now().plusSeconds(1));
+        when(revokedTokenRepository.findUnexpired(any())).thenReturn(List.of(
+                new RevokedTokenRow(live, LocalDateTime.now().plusMinutes(10), LocalDateTime.now())));
+
+        revocationList.rebuild();
+
+        verify(revokedTokenRepository).deleteExpiredBefore(any());
+        assertThat(revocationList.isRevoked(live)).isTrue();
+        assertThat(revocationList.isRevoked(stale)).isFalse();
+    }
+
+    @Test
+    void bloomFilter_ShouldStayUnderOnePercentFalsePositivesAtCapacity() {
+        TokenIdBloomFilter bloom = new TokenIdBloomFilter(10_000);
+        for (int i = 0; i < bloom.capacity(); i++) {
+            bloom.add(UUID.randomUUID());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (bloom.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives).isLessThan(1_000);
+    }
+}
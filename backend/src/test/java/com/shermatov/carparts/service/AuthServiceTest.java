@@ -2,11 +2,15 @@ package com.shermatov.carparts.service;
 
 import com.shermatov.carparts.domain.User;
 import com.shermatov.carparts.dto.request.LoginRequestDto;
+import com.shermatov.carparts.dto.request.RefreshTokenRequest;
 import com.shermatov.carparts.dto.request.RegisterRequest;
 import com.shermatov.carparts.dto.response.LoginResponseDto;
 import com.shermatov.carparts.dto.response.UserResponse;
 import com.shermatov.carparts.exception.EmailAlreadyUsedException;
+import com.shermatov.carparts.exception.InvalidRefreshTokenException;
+import com.shermatov.carparts.exception.TooManyRequestsException;
 import com.shermatov.carparts.repository.UserRepository;
+import com.shermatov.carparts.security.AuthThrottle;
 import com.shermatov.carparts.security.JwtService;
 import com.shermatov.carparts.service.impl.AuthServiceImpl;
 import org.junit.jupiter.api.Test;
@@ -23,8 +27,10 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +45,12 @@ class AuthServiceTest {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private AuthThrottle authThrottle;
+
     @InjectMocks
     private AuthServiceImpl authService;
 
@@ -89,11 +101,37 @@ class AuthServiceTest {
         when(userRepository.findByEmailAndDeletedAtIsNull("test@example.com")).thenReturn(Optional.of(user));
         when(passwordEncoder.matches("Secret123!", "encodedSecret")).thenReturn(true);
         when(jwtService.generateToken(user)).thenReturn("jwt-token");
+        when(refreshTokenService.issue(user)).thenReturn("refresh-token");
 
-        LoginResponseDto response = authService.login(request);
+        LoginResponseDto response = authService.login(request, "203.0.113.7");
 
         assertThat(response.getToken()).isEqualTo("jwt-token");
+        assertThat(response.getRefreshToken()).isEqualTo("refresh-token");
         verify(jwtService).generateToken(user);
+        verify(userRepository, never()).save(any());
+        verify(authThrottle, never()).loginFailed(any(), any());
+    }
+
+    @Test
+    void login_whenHashUsesOlderCost_shouldRehashAndSave() {
+        User user = new User();
+        user.setEmail("test@example.com");
+        user.setPassword("oldHash");
+
+        LoginRequestDto request = new LoginRequestDto();
+        request.setEmail("test@example.com");
+        request.setPassword("Secret123!");
+
+        when(userRepository.findByEmailAndDeletedAtIsNull("test@example.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("Secret123!", "oldHash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("oldHash")).thenReturn(true);
+        when(passwordEncoder.encode("Secret123!")).thenReturn("newHash");
+        when(jwtService.generateToken(user)).thenReturn("jwt-token");
+
+        authService.login(request, "203.0.113.7");
+
+        assertThat(user.getPassword()).isEqualTo("newHash");
+        verify(userRepository).save(user);
     }
 
     @Test
@@ -104,12 +142,13 @@ class AuthServiceTest {
 
         when(userRepository.findByEmailAndDeletedAtIsNull("missing@example.com")).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> authService.login(request))
+        assertThatThrownBy(() -> authService.login(request, "203.0.113.7"))
                 .isInstanceOf(BadCredentialsException.class)
                 .hasMessage("Invalid credentials");
 
         verify(passwordEncoder, never()).matches(any(), any());
         verify(jwtService, never()).generateToken(any());
+        verify(authThrottle).loginFailed("missing@example.com", "203.0.113.7");
     }
 
     @Test
@@ -125,10 +164,52 @@ class AuthServiceTest {
         when(userRepository.findByEmailAndDeletedAtIsNull("test@example.com")).thenReturn(Optional.of(user));
         when(passwordEncoder.matches("WrongPass!", "encodedSecret")).thenReturn(false);
 
-        assertThatThrownBy(() -> authService.login(request))
+        assertThatThrownBy(() -> authService.login(request, "203.0.113.7"))
                 .isInstanceOf(BadCredentialsException.class)
                 .hasMessage("Invalid credentials");
 
         verify(jwtService, never()).generateToken(any());
+        verify(authThrottle).loginFailed("test@example.com", "203.0.113.7");
+    }
+
+    @Test
+    void login_whenThrottled_shouldRejectBeforeLookupAndHashing() {
+        LoginRequestDto request = new LoginRequestDto();
+        request.setEmail("test@example.com");
+        request.setPassword("Secret123!");
+
+        doThrow(new TooManyRequestsException("Too many attempts, please try again later.", 30))
+                .when(authThrottle).checkLogin("test@example.com", "203.0.113.7");
+
+        assertThatThrownBy(() -> authService.login(request, "203.0.113.7"))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        verifyNoInteractions(userRepository, passwordEncoder, jwtService);
+    }
+
+    @Test
+    void refresh_whenTokenValid_shouldReturnNewPairWithoutHashing() {
+        User user = new User();
+        user.setEmail("test@example.com");
+
+        when(refreshTokenService.rotate("old-refresh"))
+                .thenReturn(new RefreshTokenService.Rotation(user, "new-refresh"));
+        when(jwtService.generateToken(user)).thenReturn("jwt-token");
+
+        LoginResponseDto response = authService.refresh(new RefreshTokenRequest("old-refresh"));
+
+        assertThat(response.getToken()).isEqualTo("jwt-token");
+        assertThat(response.getRefreshToken()).isEqualTo("new-refresh");
+        verifyNoInteractions(passwordEncoder, userRepository);
+    }
+
+    @Test
+    void refresh_whenTokenRejected_shouldNotIssueAccessToken() {
+        when(refreshTokenService.rotate("reused")).thenThrow(new InvalidRefreshTokenException());
+
+        assertThatThrownBy(() -> authService.refresh(new RefreshTokenRequest("reused")))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        verify(jwtService, never()).generateToken(any());
     }
 }
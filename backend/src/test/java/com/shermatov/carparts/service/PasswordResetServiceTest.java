@@ -2,14 +2,17 @@ package com.shermatov.carparts.service;
 
 import com.shermatov.emailsender.application.port.EmailMessage;
 import com.shermatov.emailsender.application.port.EmailSender;
+import com.shermatov.carparts.cache.PrincipalCache;
 import com.shermatov.carparts.domain.PasswordResetToken;
 import com.shermatov.carparts.domain.Role;
 import com.shermatov.carparts.domain.User;
 import com.shermatov.carparts.exception.InvalidTokenException;
 import com.shermatov.carparts.exception.TokenAlreadyUsedException;
 import com.shermatov.carparts.exception.TokenExpiredException;
+import com.shermatov.carparts.exception.TooManyRequestsException;
 import com.shermatov.carparts.repository.PasswordResetTokenRepository;
 import com.shermatov.carparts.repository.UserRepository;
+import com.shermatov.carparts.security.AuthThrottle;
 import com.shermatov.carparts.service.impl.PasswordResetServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -45,6 +48,15 @@ class PasswordResetServiceTest {
     @Mock
     private PasswordResetEmailComposer emailComposer;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private AuthThrottle authThrottle;
+
     @InjectMocks
     private PasswordResetServiceImpl passwordResetService;
 
@@ -67,7 +79,7 @@ class PasswordResetServiceTest {
         EmailMessage emailMessage = mock(EmailMessage.class);
         when(emailComposer.compose(eq("example@gmail.com"), any(UUID.class))).thenReturn(emailMessage);
 
-        passwordResetService.forgotPassword("example@gmail.com");
+        passwordResetService.forgotPassword("example@gmail.com", "203.0.113.7");
         ArgumentCaptor<PasswordResetToken> captor = ArgumentCaptor.forClass(PasswordResetToken.class);
         verify(passwordResetTokenRepository, times(1)).save(captor.capture());
         PasswordResetToken saved = captor.getValue();
@@ -85,11 +97,22 @@ class PasswordResetServiceTest {
     void forgotPassword_userNotExists_doesNotSaveToken() {
         when(userRepository.findByEmailAndDeletedAtIsNull("missing@example.com")).thenReturn(Optional.empty());
 
-        passwordResetService.forgotPassword("missing@example.com");
+        passwordResetService.forgotPassword("missing@example.com", "203.0.113.7");
 
         verify(passwordResetTokenRepository, never()).save(any());
     }
 
+    @Test
+    void forgotPassword_throttled_doesNotLookUpOrSend() {
+        doThrow(new TooManyRequestsException("Too many attempts, please try again later.", 60))
+                .when(authThrottle).checkPasswordReset("example@gmail.com", "203.0.113.7");
+
+        assertThrows(TooManyRequestsException.class,
+                () -> passwordResetService.forgotPassword("example@gmail.com", "203.0.113.7"));
+
+        verifyNoInteractions(userRepository, passwordResetTokenRepository, emailSender);
+    }
+
     @Test
     void resetPassword_invalidUuid_throwsInvalidTokenException() {
         assertThrows(InvalidTokenException.class,
@@ -178,6 +201,8 @@ class PasswordResetServiceTest {
         verify(passwordResetTokenRepository, times(1)).findByToken(tokenValue);
         verify(passwordEncoder, times(1)).encode("NewPass123!");
         verify(userRepository, times(1)).save(user);
+        verify(principalCache).evict(user.getEmail());
+        verify(refreshTokenService).revokeAll(user.getId());
         verify(passwordResetTokenRepository, times(1)).save(token);
     }
 
@@ -0,0 +1,188 @@
+package com.shermatov.carparts.service;
+
+import com.shermatov.carparts.BaseIntegrationTest;
+import com.shermatov.carparts.domain.Product;
+import com.shermatov.carparts.domain.Shop;
+import com.shermatov.carparts.domain.User;
+import com.shermatov.carparts.dto.request.ReservationRequest;
+import com.shermatov.carparts.exception.InsufficientStockException;
+import com.shermatov.carparts.repository.ProductRepository;
+import com.shermatov.carparts.repository.ShopRepository;
+import com.shermatov.carparts.repository.StockReservationRepository;
+import com.shermatov.carparts.security.AuthenticatedUser;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 64 buyers race for the last units of one hot part, and reservation throughput on one hot
+ * part is measured as buyers are added.
+ *
+ * <p>Opt-in: run with {@code mvn test -Dbenchmark=true -Dtest=StockReservationContentionBenchmarkTest}
+ * on a machine with Docker.</p>
+ */
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StockReservationContentionBenchmarkTest extends BaseIntegrationTest {
+
+    private static final int BUYERS = 64;
+    private static final int ATTEMPTS_PER_BUYER = 50;
+    private static final int STOCK = 1000;
+    private static final int[] SCALING_BUYERS = {1, 2, 4, 8, 16, 32, 64};
+    private static final int SCALING_ATTEMPTS = 4000;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private StockReservationRepository reservationRepository;
+
+    @AfterEach
+    void cleanUp() {
+        reservationRepository.deleteAll();
+        productRepository.deleteAll();
+        shopRepository.deleteAll();
+    }
+
+    @Test
+    void reserve_WhenManyBuyersRaceForOnePart_ShouldNeverOversell() throws Exception {
+        User buyer = createTestUser();
+        Product product = productRepository.save(hotPart(buyer));
+
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(BUYERS);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            futures.add(pool.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(AuthenticatedUser.of(buyer), null, buyer.getAuthorities()));
+                start.await();
+                for (int attempt = 0; attempt < ATTEMPTS_PER_BUYER; attempt++) {
+                    try {
+                        stockService.reserve(new ReservationRequest(product.getId(), 1));
+                        reserved.incrementAndGet();
+                    } catch (InsufficientStockException ex) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                SecurityContextHolder.clearContext();
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+        pool.shutdown();
+
+        int attempts = BUYERS * ATTEMPTS_PER_BUYER;
+        log.info("{} reservation attempts by {} buyers in {} ms ({} ops/s): {} reserved, {} rejected",
+                attempts, BUYERS, elapsedMillis, attempts * 1000L / elapsedMillis, reserved.get(), rejected.get());
+
+        assertThat(reserved.get()).isEqualTo(STOCK);
+        assertThat(rejected.get()).isEqualTo(attempts - STOCK);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getQuantity()).isZero();
+        assertThat(reservationRepository.count()).isEqualTo(STOCK);
+    }
+
+    // Every reservation updates the same row, so the row lock serializes them; the single
+    // conditional UPDATE keeps that critical section short enough that adding buyers must not
+    // make total throughput collapse the way read-then-write with retries does
+    @Test
+    void reserve_WhenBuyersAdded_ShouldKeepThroughput() throws Exception {
+        User buyer = createTestUser();
+        Product part = hotPart(buyer);
+        part.setQuantity(Integer.MAX_VALUE / 2);
+        Product product = productRepository.save(part);
+
+        // Warm up connections and the JIT before the first measured round
+        runRound(buyer, product.getId(), 8, SCALING_ATTEMPTS);
+
+        long singleBuyer = 0;
+        StringBuilder table = new StringBuilder();
+        for (int buyers : SCALING_BUYERS) {
+            long opsPerSecond = runRound(buyer, product.getId(), buyers, SCALING_ATTEMPTS);
+            if (buyers == 1) {
+                singleBuyer = opsPerSecond;
+            }
+            table.append(String.format("%n%8d buyers: %7d ops/s (%.2fx)", buyers, opsPerSecond,
+                    (double) opsPerSecond / singleBuyer));
+            assertThat(opsPerSecond)
+                    .as("throughput with %d buyers against %d ops/s for one", buyers, singleBuyer)
+                    .isGreaterThanOrEqualTo(singleBuyer / 2);
+        }
+        log.info("Reservation throughput on one hot part:{}", table);
+    }
+
+    private long runRound(User buyer, Long productId, int buyers, int attempts) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger remaining = new AtomicInteger(attempts);
+        ExecutorService pool = Executors.newFixedThreadPool(buyers);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < buyers; i++) {
+            futures.add(pool.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(AuthenticatedUser.of(buyer), null, buyer.getAuthorities()));
+                start.await();
+                while (remaining.getAndDecrement() > 0) {
+                    stockService.reserve(new ReservationRequest(productId, 1));
+                }
+                SecurityContextHolder.clearContext();
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+        pool.shutdown();
+        return attempts * 1000L / elapsedMillis;
+    }
+
+    private Product hotPart(User owner) {
+        Shop shop = new Shop();
+        shop.setName("Benchmark Shop");
+        shop.setOwner(owner);
+        shopRepository.save(shop);
+
+        Product product = new Product();
+        product.setName("Oil filter OC-90");
+        product.setPrice(9.99);
+        product.setQuantity(STOCK);
+        product.setShop(shop);
+        return product;
+    }
+}
@@ -0,0 +1,72 @@
+package com.shermatov.carparts.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shermatov.carparts.domain.Product;
+import com.shermatov.carparts.dto.response.ProductExportRow;
+import com.shermatov.carparts.mapper.ProductMapper;
+import com.shermatov.carparts.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductExportServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ProductExportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ProductExportServiceImpl(productRepository, productMapper, new ObjectMapper(), entityManager);
+    }
+
+    @Test
+    void exportCatalog_ShouldWriteOneLinePerRowAndFlushOnlyPerChunk() throws Exception {
+        when(productRepository.streamAllForExport())
+                .thenReturn(IntStream.rangeClosed(1, 1200).mapToObj(i -> new Product()));
+        when(productMapper.toExportRow(any())).thenAnswer(invocation ->
+                new ProductExportRow(1L, "Filter", null, 9.5, 3, 2L, null, null, null, null, null));
+        CountingOutputStream out = new CountingOutputStream();
+
+        long count = service.exportCatalog(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertThat(count).isEqualTo(1200);
+        assertThat(lines).hasSize(1201);
+        assertThat(lines[1]).startsWith("{\"id\":1");
+        assertThat(lines[1200]).isEmpty();
+        // Two full chunks, the final flush and the one on closing the generator
+        assertThat(out.flushes).isEqualTo(4);
+        verify(entityManager, times(2)).clear();
+    }
+
+    private static final class CountingOutputStream extends ByteArrayOutputStream {
+        private int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
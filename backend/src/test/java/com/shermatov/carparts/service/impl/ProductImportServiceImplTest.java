@@ -0,0 +1,181 @@
+package com.shermatov.carparts.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shermatov.carparts.cache.ReferenceDataCache;
+import com.shermatov.carparts.cache.ShopDetailCache;
+import com.shermatov.carparts.dto.request.ProductRequest;
+import com.shermatov.carparts.dto.response.ImportRowError;
+import com.shermatov.carparts.dto.response.ProductImportResponse;
+import com.shermatov.carparts.index.ProductNameIndex;
+import com.shermatov.carparts.repository.ProductRepository;
+import com.shermatov.carparts.repository.ShopRepository;
+import com.shermatov.carparts.repository.projection.ProductIdName;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceImplTest {
+
+    private static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ShopRepository shopRepository;
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @Mock
+    private ShopDetailCache shopDetailCache;
+
+    @Mock
+    private ProductNameIndex productNameIndex;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ValidatorFactory validatorFactory;
+    private ProductImportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        service = new ProductImportServiceImpl(productRepository, shopRepository, referenceDataCache,
+                shopDetailCache, productNameIndex, new ObjectMapper(), validatorFactory.getValidator(),
+                transactionTemplate);
+
+        when(shopRepository.existsByIdAndDeletedAtIsNull(1L)).thenReturn(true);
+        when(referenceDataCache.brandIds()).thenReturn(Set.of(3L));
+        when(referenceDataCache.categoryIds()).thenReturn(Set.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void importProducts_WhenManyRows_ShouldInsertInChunksAndIndexEveryInsertedRow() throws Exception {
+        runTransactionsInline();
+        AtomicLong ids = new AtomicLong();
+        when(productRepository.insertAll(eq(1L), anyList())).thenAnswer(invocation -> {
+            List<ProductRequest> products = invocation.getArgument(1);
+            return products.stream().map(p -> new ProductIdName(ids.incrementAndGet(), p.getName())).toList();
+        });
+
+        StringBuilder csv = new StringBuilder("name,price,quantity,brandId\n");
+        for (int i = 1; i <= 2500; i++) {
+            csv.append("Part ").append(i).append(",9.5,1,3\n");
+        }
+
+        ProductImportResponse response = service.importProducts(1L, TEXT_CSV, stream(csv.toString()));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ProductRequest>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(productRepository, times(3)).insertAll(eq(1L), chunks.capture());
+        assertThat(chunks.getAllValues()).extracting(List::size).containsExactly(1000, 1000, 500);
+        verify(productNameIndex, times(2500)).put(anyLong(), anyString());
+        verify(productNameIndex).put(2500L, "Part 2500");
+        verify(shopDetailCache).evict(1L);
+        assertThat(response.received()).isEqualTo(2500);
+        assertThat(response.imported()).isEqualTo(2500);
+        assertThat(response.failed()).isZero();
+    }
+
+    @Test
+    void importProducts_WhenRowsInvalid_ShouldInsertOnlyValidRowsAndReportTheRest() throws Exception {
+        runTransactionsInline();
+        when(productRepository.insertAll(eq(1L), anyList()))
+                .thenReturn(List.of(new ProductIdName(10L, "Oil Filter")));
+        String json = """
+                [
+                  {"name": "Oil Filter", "price": 12.5, "quantity": 5},
+                  {"name": "Air Filter", "price": -1, "quantity": 2},
+                  {"name": "Wiper", "price": 7, "quantity": 1, "brandId": 99},
+                  {"name": "Brake Pad", "price": "NaN", "quantity": 1}
+                ]
+                """;
+
+        ProductImportResponse response = service.importProducts(1L, MediaType.APPLICATION_JSON, stream(json));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ProductRequest>> chunk = ArgumentCaptor.forClass(List.class);
+        verify(productRepository).insertAll(eq(1L), chunk.capture());
+        assertThat(chunk.getValue()).extracting(ProductRequest::getName).containsExactly("Oil Filter");
+        verify(productNameIndex).put(10L, "Oil Filter");
+        assertThat(response.imported()).isEqualTo(1);
+        assertThat(response.errors()).containsExactly(
+                new ImportRowError(2, "price: must not be negative"),
+                new ImportRowError(3, "brandId: unknown brand 99"),
+                new ImportRowError(4, "price: must be a finite number"));
+    }
+
+    @Test
+    void importProducts_WhenBrandNotCachedYet_ShouldResolveItOnce() throws Exception {
+        runTransactionsInline();
+        when(referenceDataCache.brandIds()).thenReturn(Set.of(3L), Set.of(3L, 8L));
+        when(productRepository.insertAll(eq(1L), anyList()))
+                .thenReturn(List.of(new ProductIdName(10L, "Oil Filter"), new ProductIdName(11L, "Air Filter")));
+
+        ProductImportResponse response = service.importProducts(1L, TEXT_CSV,
+                stream("name,price,quantity,brandId\nOil Filter,12.5,5,8\nAir Filter,8,1,8\n"));
+
+        verify(referenceDataCache).resolveBrand(8L);
+        assertThat(response.imported()).isEqualTo(2);
+        assertThat(response.failed()).isZero();
+    }
+
+    @Test
+    void importProducts_WhenDatabaseRejectsChunk_ShouldFailItsRowsAndLeaveIndexUntouched() throws Exception {
+        when(transactionTemplate.execute(any()))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+
+        ProductImportResponse response = service.importProducts(1L, TEXT_CSV,
+                stream("name,price,quantity\nOil Filter,12.5,5\nAir Filter,8,1\n"));
+
+        verify(productNameIndex, never()).put(anyLong(), anyString());
+        assertThat(response.imported()).isZero();
+        assertThat(response.failed()).isEqualTo(2);
+        assertThat(response.errors()).extracting(ImportRowError::message)
+                .allMatch(message -> message.startsWith("Rejected by database"));
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
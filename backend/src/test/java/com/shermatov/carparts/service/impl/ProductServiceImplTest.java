@@ -0,0 +1,62 @@
+package com.shermatov.carparts.service.impl;
+
+import com.shermatov.carparts.cache.ShopDetailCache;
+import com.shermatov.carparts.domain.Product;
+import com.shermatov.carparts.domain.Shop;
+import com.shermatov.carparts.index.PartAvailabilityIndex;
+import com.shermatov.carparts.index.ProductNameIndex;
+import com.shermatov.carparts.repository.ProductRepository;
+import com.shermatov.carparts.repository.StockReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
+    @Mock
+    private ProductNameIndex productNameIndex;
+
+    @Mock
+    private PartAvailabilityIndex partAvailabilityIndex;
+
+    @Mock
+    private ShopDetailCache shopDetailCache;
+
+    @InjectMocks
+    private ProductServiceImpl productService;
+
+    @Test
+    void deleteProduct_WhenReserved_ShouldDeleteReservationsBeforeProduct() {
+        Shop shop = new Shop();
+        shop.setId(4L);
+        Product product = new Product();
+        product.setId(7L);
+        product.setShop(shop);
+        when(productRepository.findById(7L)).thenReturn(Optional.of(product));
+
+        productService.deleteProduct(7L);
+
+        InOrder order = inOrder(stockReservationRepository, productRepository);
+        order.verify(stockReservationRepository).deleteByProductId(7L);
+        order.verify(productRepository).delete(product);
+        verify(productNameIndex).remove(7L);
+        verify(partAvailabilityIndex).remove(7L);
+        verify(shopDetailCache).evict(4L);
+    }
+}
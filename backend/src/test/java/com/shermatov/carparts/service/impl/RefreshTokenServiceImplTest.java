@@ -0,0 +1,121 @@
+package com.shermatov.carparts.service.impl;
+
+import com.shermatov.carparts.domain.RefreshToken;
+import com.shermatov.carparts.domain.User;
+import com.shermatov.carparts.exception.InvalidRefreshTokenException;
+import com.shermatov.carparts.repository.RefreshTokenRepository;
+import com.shermatov.carparts.service.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceImplTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenServiceImpl service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        service = new RefreshTokenServiceImpl(refreshTokenRepository, Duration.ofDays(14));
+        user = new User("joe@example.com", "hash", "Joe", "Duo");
+        user.setId(7L);
+    }
+
+    @Test
+    void issue_ShouldStoreOnlyDigestOfOpaqueToken() throws Exception {
+        String token = service.issue(user);
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(token).hasSize(43);
+        assertThat(saved.getValue().getTokenHash()).isEqualTo(sha256(token));
+        assertThat(saved.getValue().getFamilyId()).isNotNull();
+        assertThat(saved.getValue().getExpiresAt()).isAfter(LocalDateTime.now().plusDays(13));
+    }
+
+    @Test
+    void rotate_WhenTokenUnused_ShouldIssueSuccessorInSameFamily() throws Exception {
+        RefreshToken current = token(null);
+        when(refreshTokenRepository.findByTokenHash(sha256("current"))).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.markUsed(current.getId())).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = service.rotate("current");
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(rotation.user()).isSameAs(user);
+        assertThat(rotation.refreshToken()).isNotEqualTo("current");
+        assertThat(saved.getValue().getFamilyId()).isEqualTo(current.getFamilyId());
+        assertThat(saved.getValue().getTokenHash()).isEqualTo(sha256(rotation.refreshToken()));
+    }
+
+    @Test
+    void rotate_WhenTokenAlreadyUsed_ShouldRevokeFamily() throws Exception {
+        RefreshToken current = token(LocalDateTime.now().minusMinutes(5));
+        when(refreshTokenRepository.findByTokenHash(sha256("stolen"))).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> service.rotate("stolen"))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        verify(refreshTokenRepository).revokeFamily(current.getFamilyId());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_WhenConcurrentRefreshWonTheRace_ShouldRevokeFamily() throws Exception {
+        RefreshToken current = token(null);
+        when(refreshTokenRepository.findByTokenHash(sha256("current"))).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.markUsed(current.getId())).thenReturn(0);
+
+        assertThatThrownBy(() -> service.rotate("current"))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        verify(refreshTokenRepository).revokeFamily(current.getFamilyId());
+    }
+
+    @Test
+    void rotate_WhenTokenUnknown_ShouldThrow() {
+        when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.rotate("unknown"))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        verify(refreshTokenRepository, never()).markUsed(any());
+    }
+
+    private RefreshToken token(LocalDateTime usedAt) {
+        RefreshToken token = RefreshToken.builder()
+                .familyId(UUID.randomUUID())
+                .user(user)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .usedAt(usedAt)
+                .build();
+        token.setId(11L);
+        return token;
+    }
+
+    private static byte[] sha256(String value) throws Exception {
+        return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
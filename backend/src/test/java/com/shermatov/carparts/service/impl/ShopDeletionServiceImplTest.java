@@ -0,0 +1,223 @@
+package com.shermatov.carparts.service.impl;
+
+import com.shermatov.carparts.cache.ShopDetailCache;
+import com.shermatov.carparts.domain.Shop;
+import com.shermatov.carparts.domain.ShopDeletion;
+import com.shermatov.carparts.domain.ShopDeletionStatus;
+import com.shermatov.carparts.dto.response.ShopDeletionResponse;
+import com.shermatov.carparts.exception.ResourceNotFoundException;
+import com.shermatov.carparts.index.PartAvailabilityIndex;
+import com.shermatov.carparts.index.ProductNameIndex;
+import com.shermatov.carparts.index.ShopSpatialIndex;
+import com.shermatov.carparts.repository.ProductRepository;
+import com.shermatov.carparts.repository.ShopDeletionRepository;
+import com.shermatov.carparts.repository.ShopRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShopDeletionServiceImplTest {
+
+    @Mock
+    private ShopRepository shopRepository;
+
+    @Mock
+    private ShopDeletionRepository shopDeletionRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductNameIndex productNameIndex;
+
+    @Mock
+    private PartAvailabilityIndex partAvailabilityIndex;
+
+    @Mock
+    private ShopDetailCache shopDetailCache;
+
+    @Mock
+    private ShopSpatialIndex shopSpatialIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Runnable> queued = new ArrayList<>();
+
+    private ShopDeletionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ShopDeletionServiceImpl(shopRepository, shopDeletionRepository, productRepository,
+                productNameIndex, partAvailabilityIndex, shopDetailCache, shopSpatialIndex,
+                new TransactionTemplate(transactionManager), queued::add);
+    }
+
+    @Test
+    void requestDeletion_WhenShopExists_ShouldHideShopAndQueueJob() {
+        Shop shop = new Shop();
+        when(shopDeletionRepository.findByShopId(7L)).thenReturn(Optional.empty());
+        when(shopRepository.findById(7L)).thenReturn(Optional.of(shop));
+        when(productRepository.countByShopId(7L)).thenReturn(2500L);
+        when(productRepository.findIdsByShopId(7L)).thenReturn(List.of(11L, 12L));
+        when(shopDeletionRepository.save(any())).thenAnswer(invocation -> {
+            ShopDeletion deletion = invocation.getArgument(0);
+            deletion.setId(1L);
+            return deletion;
+        });
+
+        ShopDeletionResponse response = service.requestDeletion(7L);
+
+        assertThat(shop.getDeletedAt()).isNotNull();
+        assertThat(response.status()).isEqualTo(ShopDeletionStatus.PENDING);
+        assertThat(response.totalProducts()).isEqualTo(2500L);
+        assertThat(response.deletedProducts()).isZero();
+        assertThat(queued).hasSize(1);
+        verify(shopDetailCache).evict(7L);
+        verify(shopSpatialIndex).refresh();
+        verify(productNameIndex).remove(11L);
+        verify(partAvailabilityIndex).remove(12L);
+    }
+
+    @Test
+    void requestDeletion_WhenShopNotExist_ShouldThrow() {
+        when(shopDeletionRepository.findByShopId(7L)).thenReturn(Optional.empty());
+        when(shopRepository.findById(7L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.requestDeletion(7L))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(queued).isEmpty();
+    }
+
+    @Test
+    void requestDeletion_WhenPreviousAttemptFailed_ShouldRequeueIt() {
+        ShopDeletion failed = deletion(ShopDeletionStatus.FAILED);
+        failed.setLastError("boom");
+        when(shopDeletionRepository.findByShopId(7L)).thenReturn(Optional.of(failed));
+
+        ShopDeletionResponse response = service.requestDeletion(7L);
+
+        assertThat(response.status()).isEqualTo(ShopDeletionStatus.PENDING);
+        assertThat(response.lastError()).isNull();
+        assertThat(queued).hasSize(1);
+        verify(shopRepository, never()).findById(any());
+    }
+
+    @Test
+    void requestDeletion_WhenAlreadyRunning_ShouldNotQueueAgain() {
+        when(shopDeletionRepository.findByShopId(7L)).thenReturn(Optional.of(deletion(ShopDeletionStatus.RUNNING)));
+
+        service.requestDeletion(7L);
+
+        assertThat(queued).isEmpty();
+    }
+
+    @Test
+    void run_ShouldDeleteInChunksThenRemoveShop() {
+        ShopDeletion deletion = deletion(ShopDeletionStatus.RUNNING);
+        when(shopDeletionRepository.claim(eq(1L), any())).thenReturn(1);
+        when(shopDeletionRepository.findById(1L)).thenReturn(Optional.of(deletion));
+        List<Long> fullChunk = LongStream.rangeClosed(1, 1000).boxed().toList();
+        when(productRepository.deleteChunkByShopId(7L, 1000)).thenReturn(fullChunk, List.of(1001L), List.of());
+
+        service.run(1L);
+
+        verify(shopDeletionRepository).addProgress(1L, 1000);
+        verify(shopDeletionRepository).addProgress(1L, 1);
+        verify(productNameIndex).remove(1001L);
+        verify(partAvailabilityIndex).remove(1001L);
+        verify(shopRepository).deleteById(7L);
+        assertThat(deletion.getStatus()).isEqualTo(ShopDeletionStatus.COMPLETED);
+        assertThat(deletion.getCompletedAt()).isNotNull();
+    }
+
+    @Test
+    void run_WhenProductsArriveAfterLastChunk_ShouldDeleteThemWithTheShop() {
+        ShopDeletion deletion = deletion(ShopDeletionStatus.RUNNING);
+        when(shopDeletionRepository.claim(eq(1L), any())).thenReturn(1);
+        when(shopDeletionRepository.findById(1L)).thenReturn(Optional.of(deletion));
+        when(productRepository.deleteChunkByShopId(7L, 1000)).thenReturn(List.of(1L), List.of(2L, 3L));
+
+        service.run(1L);
+
+        var order = inOrder(shopRepository, productRepository);
+        order.verify(productRepository).deleteChunkByShopId(7L, 1000);
+        order.verify(shopRepository).lockById(7L);
+        order.verify(productRepository).deleteChunkByShopId(7L, 1000);
+        order.verify(shopRepository).deleteById(7L);
+        verify(shopDeletionRepository).addProgress(1L, 2);
+        verify(productNameIndex).remove(3L);
+        verify(partAvailabilityIndex).remove(2L);
+        assertThat(deletion.getStatus()).isEqualTo(ShopDeletionStatus.COMPLETED);
+    }
+
+    @Test
+    void run_WhenAlreadyClaimed_ShouldDoNothing() {
+        when(shopDeletionRepository.claim(eq(1L), any())).thenReturn(0);
+
+        service.run(1L);
+
+        verifyNoInteractions(productRepository);
+        verify(shopRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void run_WhenChunkFails_ShouldMarkFailed() {
+        ShopDeletion deletion = deletion(ShopDeletionStatus.RUNNING);
+        when(shopDeletionRepository.claim(eq(1L), any())).thenReturn(1);
+        when(shopDeletionRepository.findById(1L)).thenReturn(Optional.of(deletion));
+        when(productRepository.deleteChunkByShopId(7L, 1000)).thenThrow(new IllegalStateException("db down"));
+
+        service.run(1L);
+
+        assertThat(deletion.getStatus()).isEqualTo(ShopDeletionStatus.FAILED);
+        assertThat(deletion.getLastError()).isEqualTo("db down");
+        verify(shopDeletionRepository, never()).addProgress(any(), anyInt());
+        verify(shopRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void resumeUnfinished_WhenExecutorFull_ShouldCountOnlyQueued() {
+        List<Long> accepted = new ArrayList<>();
+        service = new ShopDeletionServiceImpl(shopRepository, shopDeletionRepository, productRepository,
+                productNameIndex, partAvailabilityIndex, shopDetailCache, shopSpatialIndex,
+                new TransactionTemplate(transactionManager), task -> {
+                    if (!accepted.isEmpty()) {
+                        throw new RejectedExecutionException();
+                    }
+                    accepted.add(1L);
+                });
+        when(shopDeletionRepository.findResumableIds(any())).thenReturn(List.of(1L, 2L));
+
+        assertThat(service.resumeUnfinished()).isEqualTo(1);
+    }
+
+    private ShopDeletion deletion(ShopDeletionStatus status) {
+        ShopDeletion deletion = ShopDeletion.builder()
+                .shopId(7L)
+                .status(status)
+                .totalProducts(1001L)
+                .deletedProducts(0L)
+                .build();
+        deletion.setId(1L);
+        return deletion;
+    }
+}
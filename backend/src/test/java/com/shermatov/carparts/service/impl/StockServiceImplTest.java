@@ -0,0 +1,175 @@
+package com.shermatov.carparts.service.impl;
+
+import com.shermatov.carparts.cache.ShopDetailCache;
+import com.shermatov.carparts.domain.Product;
+import com.shermatov.carparts.domain.ReservationStatus;
+import com.shermatov.carparts.domain.Role;
+import com.shermatov.carparts.domain.StockReservation;
+import com.shermatov.carparts.domain.User;
+import com.shermatov.carparts.dto.request.ReservationRequest;
+import com.shermatov.carparts.dto.request.StockUpdateRequest;
+import com.shermatov.carparts.dto.response.StockUpdateResponse;
+import com.shermatov.carparts.exception.BadRequestException;
+import com.shermatov.carparts.exception.InsufficientStockException;
+import com.shermatov.carparts.exception.ReservationNotActiveException;
+import com.shermatov.carparts.repository.ProductRepository;
+import com.shermatov.carparts.repository.StockReservationRepository;
+import com.shermatov.carparts.repository.UserRepository;
+import com.shermatov.carparts.repository.projection.StockChange;
+import com.shermatov.carparts.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockReservationRepository reservationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ShopDetailCache shopDetailCache;
+
+    private StockServiceImpl stockService;
+
+    @BeforeEach
+    void setUp() {
+        stockService = new StockServiceImpl(productRepository, reservationRepository, userRepository, transactionTemplate,
+                shopDetailCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void updateStock_WhenIdRepeated_ShouldFoldIntoOneChangeSortedById() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        when(productRepository.updateQuantities(any(), any(), any()))
+                .thenReturn(List.of(new StockChange(3L, 40L, 12), new StockChange(9L, 40L, 1)));
+
+        StockUpdateResponse response = stockService.updateStock(List.of(
+                new StockUpdateRequest(9L, null, -2),
+                new StockUpdateRequest(3L, 10, null),
+                new StockUpdateRequest(3L, null, 2),
+                new StockUpdateRequest(5L, null, -1)));
+
+        ArgumentCaptor<Long[]> ids = ArgumentCaptor.forClass(Long[].class);
+        ArgumentCaptor<Integer[]> absolutes = ArgumentCaptor.forClass(Integer[].class);
+        ArgumentCaptor<Integer[]> deltas = ArgumentCaptor.forClass(Integer[].class);
+        verify(productRepository).updateQuantities(ids.capture(), absolutes.capture(), deltas.capture());
+
+        assertThat(ids.getValue()).containsExactly(3L, 5L, 9L);
+        assertThat(absolutes.getValue()).containsExactly(10, null, null);
+        assertThat(deltas.getValue()).containsExactly(2, -1, -2);
+        assertThat(response.updated()).hasSize(2);
+        assertThat(response.rejected()).containsExactly(5L);
+        verify(shopDetailCache).evict(40L);
+    }
+
+    @Test
+    void updateStock_WhenFoldedDeltaOverflows_ShouldThrow() {
+        assertThatThrownBy(() -> stockService.updateStock(List.of(
+                new StockUpdateRequest(1L, null, Integer.MAX_VALUE),
+                new StockUpdateRequest(1L, null, 1))))
+                .isInstanceOf(BadRequestException.class);
+
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void reserve_WhenNotEnoughStock_ShouldThrowAndNotSaveReservation() {
+        when(productRepository.decrementStock(7L, 3)).thenReturn(0);
+        when(productRepository.existsById(7L)).thenReturn(true);
+
+        assertThatThrownBy(() -> stockService.reserve(new ReservationRequest(7L, 3)))
+                .isInstanceOf(InsufficientStockException.class);
+
+        verifyNoInteractions(reservationRepository);
+        verifyNoInteractions(shopDetailCache);
+    }
+
+    @Test
+    void release_WhenReservationNoLongerActive_ShouldNotRestoreStock() {
+        User owner = authenticate(5L);
+        when(reservationRepository.findById(11L)).thenReturn(Optional.of(reservation(owner)));
+        when(reservationRepository.transitionActive(11L, ReservationStatus.RELEASED.name())).thenReturn(0);
+
+        assertThatThrownBy(() -> stockService.release(11L))
+                .isInstanceOf(ReservationNotActiveException.class);
+
+        verify(productRepository, never()).incrementStock(any(), anyInt());
+    }
+
+    @Test
+    void release_WhenReservationActive_ShouldReturnUnitsToStock() {
+        User owner = authenticate(5L);
+        when(reservationRepository.findById(11L)).thenReturn(Optional.of(reservation(owner)));
+        when(reservationRepository.transitionActive(11L, ReservationStatus.RELEASED.name())).thenReturn(1);
+        when(productRepository.findShopIdById(7L)).thenReturn(Optional.of(40L));
+
+        stockService.release(11L);
+
+        verify(productRepository).incrementStock(7L, 2);
+        verify(shopDetailCache).evict(40L);
+    }
+
+    @Test
+    void expireReservations_WhenStockRestored_ShouldClearShopDetailCache() {
+        when(transactionTemplate.execute(any())).thenReturn(true, false);
+
+        assertThat(stockService.expireReservations()).isEqualTo(1);
+
+        verify(shopDetailCache).evictAll();
+    }
+
+    private User authenticate(Long userId) {
+        User user = new User();
+        user.setId(userId);
+        user.setRole(Role.USER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(AuthenticatedUser.of(user), null, user.getAuthorities()));
+        return user;
+    }
+
+    private StockReservation reservation(User owner) {
+        Product product = new Product();
+        product.setId(7L);
+        return StockReservation.builder()
+                .product(product)
+                .user(owner)
+                .quantity(2)
+                .status(ReservationStatus.ACTIVE)
+                .expiresAt(LocalDateTime.now().plusMinutes(5))
+                .build();
+    }
+}
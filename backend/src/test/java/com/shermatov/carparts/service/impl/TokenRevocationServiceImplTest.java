@@ -0,0 +1,74 @@
+package com.shermatov.carparts.service.impl;
+
+import com.shermatov.carparts.security.JwtService;
+import com.shermatov.carparts.security.TokenClaims;
+import com.shermatov.carparts.security.TokenRevocationList;
+import com.shermatov.carparts.service.RefreshTokenService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceImplTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @InjectMocks
+    private TokenRevocationServiceImpl service;
+
+    @Test
+    void logout_WhenTokensValid_ShouldRevokeBothUntilAccessTokenExpiry() {
+        UUID tokenId = UUID.randomUUID();
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        when(jwtService.verify("access")).thenReturn(new TokenClaims("joe@example.com", 1L, tokenId, expiresAt));
+
+        service.logout("access", "refresh");
+
+        verify(tokenRevocationList).revoke(tokenId, LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()));
+        verify(refreshTokenService).revoke("refresh");
+    }
+
+    @Test
+    void logout_WhenAccessTokenInvalid_ShouldRecordNothing() {
+        when(jwtService.verify("expired")).thenReturn(null);
+
+        service.logout("expired", null);
+
+        verifyNoInteractions(tokenRevocationList, refreshTokenService);
+    }
+
+    @Test
+    void revoke_ShouldKeepEntryForLongestTokenLifetime() {
+        UUID tokenId = UUID.randomUUID();
+        when(jwtService.accessTokenLifetime()).thenReturn(Duration.ofMinutes(30));
+
+        service.revoke(tokenId);
+
+        verify(tokenRevocationList).revoke(eq(tokenId),
+                argThat(expiresAt -> expiresAt.isAfter(LocalDateTime.now().plusMinutes(29))));
+        verify(refreshTokenService, never()).revoke(any());
+    }
+}
@@ -0,0 +1,189 @@
+package com.shermatov.carparts.service.impl;
+
+import com.shermatov.carparts.dto.request.UserCreateRequestDto;
+import com.shermatov.carparts.dto.response.BulkUserCreateResponse;
+import com.shermatov.carparts.dto.response.BulkUserResult;
+import com.shermatov.carparts.exception.BadRequestException;
+import com.shermatov.carparts.repository.UserRepository;
+import com.shermatov.carparts.repository.projection.UserIdEmail;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserProvisioningServiceImplTest {
+
+    private static final String PASSWORD = "Secret123!";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private ValidatorFactory validatorFactory;
+    private ExecutorService hashPool;
+    private UserProvisioningServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        Validator validator = validatorFactory.getValidator();
+        hashPool = Executors.newFixedThreadPool(4);
+        service = new UserProvisioningServiceImpl(userRepository, passwordEncoder, validator, hashPool, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashPool.shutdownNow();
+        validatorFactory.close();
+    }
+
+    @Test
+    void createUsers_ShouldReportInvalidDuplicateAndExistingPerUser() {
+        List<UserCreateRequestDto> requests = List.of(
+                user("new@example.com"),
+                user("not-an-email"),
+                user("new@example.com"),
+                user("taken@example.com"),
+                new UserCreateRequestDto("boss@example.com", PASSWORD, "Big", "Boss", "ADMIN"));
+        when(userRepository.findExistingEmails(any())).thenReturn(List.of("taken@example.com"));
+        when(passwordEncoder.encode(PASSWORD)).thenReturn("hashed");
+        when(userRepository.insertAll(any(), any(), any(), any()))
+                .thenReturn(List.of(new UserIdEmail(10L, "new@example.com")));
+
+        BulkUserCreateResponse response = service.createUsers(requests);
+
+        assertThat(response.received()).isEqualTo(5);
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.failed()).isEqualTo(4);
+        List<BulkUserResult> results = response.results();
+        assertThat(results.get(0)).isEqualTo(new BulkUserResult(0, "new@example.com", 10L, null));
+        assertThat(results.get(1).error()).contains("email");
+        assertThat(results.get(2).error()).isEqualTo("Duplicate email in request.");
+        assertThat(results.get(3).error()).isEqualTo("User already exists.");
+        assertThat(results.get(4).error()).isEqualTo("Admin role can not be assigned.");
+        verify(passwordEncoder, times(1)).encode(PASSWORD);
+    }
+
+    @Test
+    void createUsers_ShouldHashOnExecutorAndInsertInChunks() {
+        List<UserCreateRequestDto> requests = IntStream.range(0, 1000)
+                .mapToObj(i -> user("mechanic" + i + "@fleet.example.com"))
+                .toList();
+        Set<String> hashingThreads = ConcurrentHashMap.newKeySet();
+        when(userRepository.findExistingEmails(any())).thenReturn(List.of());
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            hashingThreads.add(Thread.currentThread().getName());
+            return "hashed";
+        });
+        when(userRepository.insertAll(any(), any(), any(), any())).thenAnswer(invocation -> {
+            String[] emails = invocation.getArgument(0);
+            List<UserIdEmail> rows = new ArrayList<>();
+            for (String email : emails) {
+                rows.add(new UserIdEmail((long) rows.size(), email));
+            }
+            return rows;
+        });
+
+        BulkUserCreateResponse response = service.createUsers(requests);
+
+        assertThat(response.created()).isEqualTo(1000);
+        assertThat(hashingThreads).noneMatch(name -> name.equals(Thread.currentThread().getName()));
+        ArgumentCaptor<String[]> emails = ArgumentCaptor.forClass(String[].class);
+        ArgumentCaptor<String[]> passwords = ArgumentCaptor.forClass(String[].class);
+        verify(userRepository, times(2)).insertAll(emails.capture(), passwords.capture(), any(), any());
+        assertThat(emails.getAllValues()).allMatch(chunk -> chunk.length == 500);
+        assertThat(passwords.getAllValues()).allMatch(chunk -> Arrays.stream(chunk).allMatch("hashed"::equals));
+        verify(userRepository, times(1)).findExistingEmails(any());
+    }
+
+    @Test
+    void createUsers_WhenBulkIsHashing_ShouldLeaveAThreadForLogins() throws Exception {
+        ExecutorService twoThreads = Executors.newFixedThreadPool(2);
+        UserProvisioningServiceImpl bulkService = new UserProvisioningServiceImpl(userRepository, passwordEncoder,
+                validatorFactory.getValidator(), twoThreads, 2);
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findExistingEmails(any())).thenReturn(List.of());
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            hashing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hashed";
+        });
+        when(userRepository.insertAll(any(), any(), any(), any())).thenReturn(List.of());
+        List<UserCreateRequestDto> requests = IntStream.range(0, 100)
+                .mapToObj(i -> user("mechanic" + i + "@fleet.example.com"))
+                .toList();
+
+        try {
+            CompletableFuture<BulkUserCreateResponse> bulk = CompletableFuture.supplyAsync(
+                    () -> bulkService.createUsers(requests));
+            assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // A login hash submitted mid-bulk runs at once instead of waiting for the whole batch
+            String login = CompletableFuture.supplyAsync(() -> "login", twoThreads).get(1, TimeUnit.SECONDS);
+
+            assertThat(login).isEqualTo("login");
+            assertThat(bulk).isNotDone();
+            release.countDown();
+            assertThat(bulk.get(5, TimeUnit.SECONDS).received()).isEqualTo(100);
+        } finally {
+            release.countDown();
+            twoThreads.shutdownNow();
+        }
+    }
+
+    @Test
+    void createUsers_WhenEmailRegisteredConcurrently_ShouldReportItAsExisting() {
+        when(userRepository.findExistingEmails(any())).thenReturn(List.of());
+        when(passwordEncoder.encode(PASSWORD)).thenReturn("hashed");
+        when(userRepository.insertAll(any(), any(), any(), any())).thenReturn(List.of());
+
+        BulkUserCreateResponse response = service.createUsers(List.of(user("race@example.com")));
+
+        assertThat(response.created()).isZero();
+        assertThat(response.results().get(0).error()).isEqualTo("User already exists.");
+    }
+
+    @Test
+    void createUsers_WhenTooMany_ShouldThrow() {
+        List<UserCreateRequestDto> requests = IntStream.range(0, 1001)
+                .mapToObj(i -> user("u" + i + "@example.com"))
+                .toList();
+
+        assertThatThrownBy(() -> service.createUsers(requests))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(userRepository);
+    }
+
+    private static UserCreateRequestDto user(String email) {
+        return new UserCreateRequestDto(email, PASSWORD, "Mechanic", "Fleet");
+    }
+}
@@ -1,13 +1,20 @@
 package com.shermatov.carparts.service.impl;
 
+import com.shermatov.carparts.cache.PrincipalCache;
 import com.shermatov.carparts.domain.Role;
 import com.shermatov.carparts.domain.User;
 import com.shermatov.carparts.dto.request.UserCreateRequestDto;
 import com.shermatov.carparts.dto.request.UserUpdateRequestDto;
+import com.shermatov.carparts.dto.response.UserSliceResponse;
+import com.shermatov.carparts.exception.BadRequestException;
+import com.shermatov.carparts.exception.InvalidCursorException;
 import com.shermatov.carparts.exception.InvalidRoleAssignmentException;
 import com.shermatov.carparts.exception.ResourceNotFoundException;
 import com.shermatov.carparts.exception.UserAlreadyExistsException;
+import com.shermatov.carparts.pagination.UserCursor;
 import com.shermatov.carparts.repository.UserRepository;
+import com.shermatov.carparts.repository.projection.UserListRow;
+import com.shermatov.carparts.service.RefreshTokenService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -18,8 +25,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,6 +47,12 @@ public class UserServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -96,6 +112,7 @@ public class UserServiceImplTest {
                 .extracting("firstName", "lastName")
                 .containsExactly("John", "Smith");
         verify(userRepository).save(existingUser);
+        verify(principalCache).evict(email);
     }
 
     @Test
@@ -134,6 +151,8 @@ public class UserServiceImplTest {
         //then
         assertThat(user.getDeletedAt()).isNotNull();
         verify(userRepository).save(user);
+        verify(refreshTokenService).revokeAll(1L);
+        verify(principalCache).evict(email);
     }
 
     @Test
@@ -193,4 +212,70 @@ public class UserServiceImplTest {
         assertThat(result.getContent()).containsExactly(user);
         verify(userRepository).findAllByDeletedAtIsNull(pageable);
     }
+
+    @Test
+    void search_shouldLowerCaseEscapeWildcardsAndDropSort() {
+        Pageable pageable = PageRequest.of(1, 10, Sort.by("email"));
+        when(userRepository.search(anyString(), anyString(), anyString(), any())).thenReturn(Page.empty());
+
+        userService.search("  Jo_h%N ", pageable);
+
+        verify(userRepository).search("%jo\\_h\\%n%", "jo_h%n", "USER", PageRequest.of(1, 10));
+    }
+
+    @Test
+    void search_WhenQueryTooShort_ShouldThrowException() {
+        assertThatThrownBy(() -> userService.search(" ab ", PageRequest.of(0, 10)))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void listUsers_WhenMoreRowsExist_ShouldReturnCursorOfLastRow() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 5, 1, 12, 0);
+        List<UserListRow> rows = List.of(
+                new UserListRow(9L, "b@example.com", "B", "B", Role.USER, createdAt.plusMinutes(1)),
+                new UserListRow(8L, "a@example.com", "A", "A", Role.USER, createdAt));
+        when(userRepository.findListingSlice(Role.USER, null, 2))
+                .thenReturn(new SliceImpl<>(rows, PageRequest.of(0, 2), true));
+
+        UserSliceResponse response = userService.listUsers(null, 2, Role.USER, false);
+
+        assertThat(response.items()).isEqualTo(rows);
+        assertThat(response.hasNext()).isTrue();
+        assertThat(UserCursor.decode(response.nextCursor())).isEqualTo(new UserCursor(Role.USER, createdAt, 8L));
+        assertThat(response.approximateTotal()).isNull();
+        verify(userRepository, never()).estimateListingCount(any());
+    }
+
+    @Test
+    void listUsers_WhenTotalRequested_ShouldUseEstimate() {
+        when(userRepository.findListingSlice(null, null, 20))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 20), false));
+        when(userRepository.estimateListingCount(null)).thenReturn(1_000_000L);
+
+        UserSliceResponse response = userService.listUsers(" ", 20, null, true);
+
+        assertThat(response.nextCursor()).isNull();
+        assertThat(response.approximateTotal()).isEqualTo(1_000_000L);
+    }
+
+    @Test
+    void listUsers_WhenCursorFromOtherRole_ShouldThrowInvalidCursor() {
+        String cursor = new UserCursor(Role.ADMIN, LocalDateTime.now(), 1L).encode();
+
+        assertThatThrownBy(() -> userService.listUsers(cursor, 20, Role.USER, false))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void archiveDeletedUsers_ShouldRunBatchesUntilOneIsNotFull() {
+        LocalDateTime cutoff = LocalDateTime.of(2025, 1, 1, 0, 0);
+        when(userRepository.archiveDeleted(cutoff, 500)).thenReturn(500, 500, 42);
+
+        int archived = userService.archiveDeletedUsers(cutoff);
+
+        assertThat(archived).isEqualTo(1042);
+        verify(userRepository, times(3)).archiveDeleted(cutoff, 500);
+    }
 }
@@ -27,8 +27,8 @@ export default function ProductItem({ product, isAdmin, onDelete }) {
                 </div>
 
                 <div className="product-tags">
-                    {product.category && <span>{product.category}</span>}
-                    {product.brand && <span>{product.brand}</span>}
+                    {product.categoryName && <span>{product.categoryName}</span>}
+                    {product.brandName && <span>{product.brandName}</span>}
                 </div>
 
                 {isAdmin && (
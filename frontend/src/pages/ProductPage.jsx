@@ -111,11 +111,11 @@ function ProductPageContent({ isAdmin }) {
                 </Typography>
 
                 <Box sx={{ display: "flex", gap: 1, mb: 2 }}>
-                    {product.category && (
-                        <Chip label={product.category} />
+                    {product.categoryName && (
+                        <Chip label={product.categoryName} />
                     )}
-                    {product.brand && (
-                        <Chip label={product.brand} />
+                    {product.brandName && (
+                        <Chip label={product.brandName} />
                     )}
                 </Box>
 